@@ -0,0 +1,54 @@
+package dev.webfx.extras.benchmarks;
+
+import dev.webfx.extras.time.layout.MultilayerTimeLayout;
+import dev.webfx.extras.time.layout.TimeLayout;
+import javafx.application.Platform;
+
+import java.lang.reflect.Proxy;
+
+/**
+ * @author Bruno Salmon
+ */
+final class BenchmarkUtil {
+
+    private static boolean fxToolkitStarted;
+
+    /**
+     * A time layout normally postpones its layout to the next animation frame through the UiScheduler, which is not
+     * available in a benchmark (no application is running). So we attach it to a parent that ignores the layout
+     * requests, and the benchmarks call layout() explicitly (in the benchmark thread).
+     */
+    static <T> void detachFromUiScheduler(TimeLayout<?, T> timeLayout) {
+        timeLayout.setParent((MultilayerTimeLayout<T>) Proxy.newProxyInstance(
+            MultilayerTimeLayout.class.getClassLoader(),
+            new Class<?>[]{MultilayerTimeLayout.class},
+            (proxy, method, args) -> {
+                Class<?> returnType = method.getReturnType();
+                if (returnType == boolean.class)
+                    return false;
+                if (returnType == int.class)
+                    return method.getName().equals("hashCode") ? System.identityHashCode(proxy) : 0;
+                if (returnType == double.class)
+                    return 0d;
+                return null;
+            }));
+    }
+
+    /**
+     * Starts the JavaFX toolkit if not already done. Required by the benchmarks using JavaFX images. The toolkit needs
+     * a display, so on a headless machine (ex: CI), the benchmarks must be run with the Monocle headless platform.
+     */
+    static synchronized void startFxToolkit() {
+        if (!fxToolkitStarted) {
+            try {
+                Platform.startup(() -> {});
+            } catch (IllegalStateException e) {
+                // Already started
+            } catch (RuntimeException e) { // typically UnsupportedOperationException when no display is available
+                throw new IllegalStateException("Unable to start the JavaFX toolkit required by this benchmark. On a headless machine, "
+                    + "add Monocle to the classpath and run with -Dglass.platform=Monocle -Dmonocle.platform=Headless -Dprism.order=sw", e);
+            }
+            fxToolkitStarted = true;
+        }
+    }
+}
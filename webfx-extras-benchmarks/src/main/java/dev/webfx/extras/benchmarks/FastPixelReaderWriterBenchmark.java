@@ -0,0 +1,78 @@
+package dev.webfx.extras.benchmarks;
+
+import dev.webfx.extras.fastpixelreaderwriter.FastPixelReaderWriter;
+import dev.webfx.extras.fastpixelreaderwriter.spi.impl.openjfx.OpenJFXFastPixelReaderWriter;
+import javafx.scene.image.WritableImage;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full-image passes (inverting the colors of all pixels) with the OpenJFX fast pixel reader/writer, pixel by pixel
+ * (with and without cache) and with the bulk API. Note: this benchmark starts the JavaFX toolkit, so it requires a
+ * display (or a headless glass platform such as Monocle).
+ *
+ * @author Bruno Salmon
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FastPixelReaderWriterBenchmark {
+
+    @Param({"256", "1024"})
+    int imageSize;
+
+    private FastPixelReaderWriter pixelReaderWriter, cachedPixelReaderWriter;
+    private int[] argbPixels;
+
+    @Setup
+    public void setup() {
+        BenchmarkUtil.startFxToolkit();
+        argbPixels = new int[imageSize * imageSize];
+        // Both images are filled with the same opaque pixels, so all passes process the same (non-trivial) colors. Note:
+        // the cached reader/writer reads the pixels from its cache, so the pixels are written in its cache (and then
+        // in its image), otherwise the cached pass would just invert an all-zero (transparent) cache.
+        for (int i = 0; i < argbPixels.length; i++)
+            argbPixels[i] = 0xff000000 | (i * 0x9E3779B1) >>> 8;
+        pixelReaderWriter = new OpenJFXFastPixelReaderWriter(new WritableImage(imageSize, imageSize));
+        pixelReaderWriter.writeArgbPixels(argbPixels);
+        pixelReaderWriter.goToPixel(-1, 0); // applying the last pixel changes to the image
+        cachedPixelReaderWriter = new OpenJFXFastPixelReaderWriter(new WritableImage(imageSize, imageSize));
+        cachedPixelReaderWriter.createCache(true);
+        cachedPixelReaderWriter.writeArgbPixels(argbPixels);
+        cachedPixelReaderWriter.goToPixel(-1, 0); // applying the last pixel changes to the cache
+        cachedPixelReaderWriter.writeCache();
+    }
+
+    @Benchmark
+    public void perPixelPass() {
+        invertPixelByPixel(pixelReaderWriter);
+    }
+
+    @Benchmark
+    public void cachedPerPixelPass() {
+        invertPixelByPixel(cachedPixelReaderWriter);
+        cachedPixelReaderWriter.writeCache();
+    }
+
+    @Benchmark
+    public int[] bulkArgbPass() {
+        pixelReaderWriter.readArgbPixels(0, 0, imageSize, imageSize, argbPixels, 0, imageSize);
+        for (int i = 0; i < argbPixels.length; i++)
+            argbPixels[i] ^= 0x00ffffff;
+        pixelReaderWriter.writeArgbPixels(0, 0, imageSize, imageSize, argbPixels, 0, imageSize);
+        return argbPixels;
+    }
+
+    private static void invertPixelByPixel(FastPixelReaderWriter pixelReaderWriter) {
+        pixelReaderWriter.goToPixel(-1, 0); // the next pixel will be the first one
+        while (pixelReaderWriter.gotToNextPixel()) {
+            pixelReaderWriter.setRed(255 - pixelReaderWriter.getRed());
+            pixelReaderWriter.setGreen(255 - pixelReaderWriter.getGreen());
+            pixelReaderWriter.setBlue(255 - pixelReaderWriter.getBlue());
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package dev.webfx.extras.benchmarks;
+
+import dev.webfx.extras.time.layout.gantt.LocalDateGanttLayout;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Layout of a gantt chart with and without tetris packing.
+ *
+ * @author Bruno Salmon
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GanttLayoutBenchmark {
+
+    static final LocalDate TIME_WINDOW_START = LocalDate.of(2024, 1, 1);
+    static final int TIME_WINDOW_DAYS = 365;
+    static final double LAYOUT_WIDTH = 2000;
+
+    static final class Task {
+        final Integer parent;
+        final LocalDate start, end;
+
+        Task(Integer parent, LocalDate start, LocalDate end) {
+            this.parent = parent;
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    @Param({"1000", "10000", "100000"})
+    int childCount;
+
+    @Param({"false", "true"})
+    boolean tetrisPacking;
+
+    private List<Task> tasks;
+    private LocalDateGanttLayout<Task> ganttLayout;
+
+    @Setup
+    public void setup() {
+        tasks = generateTasks(childCount);
+        ganttLayout = createGanttLayout(tasks, tetrisPacking);
+        ganttLayout.layout();
+    }
+
+    @Benchmark
+    public double relayout() {
+        ganttLayout.invalidateTimesReading();
+        ganttLayout.invalidateVerticalLayout();
+        ganttLayout.layout();
+        return sumChildrenMaxY(ganttLayout);
+    }
+
+    @Benchmark
+    public double setChildrenAndLayout() {
+        ganttLayout.getChildren().setAll(tasks);
+        ganttLayout.layout();
+        return sumChildrenMaxY(ganttLayout);
+    }
+
+    // Generates tasks of 1 to 14 days, spread over 1 parent row per 50 tasks
+    static List<Task> generateTasks(int count) {
+        Random random = new Random(42);
+        int parentCount = Math.max(1, count / 50);
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDate start = TIME_WINDOW_START.plusDays(random.nextInt(TIME_WINDOW_DAYS));
+            tasks.add(new Task(random.nextInt(parentCount), start, start.plusDays(random.nextInt(14))));
+        }
+        return tasks;
+    }
+
+    static LocalDateGanttLayout<Task> createGanttLayout(List<Task> tasks, boolean tetrisPacking) {
+        LocalDateGanttLayout<Task> ganttLayout = new LocalDateGanttLayout<>();
+        BenchmarkUtil.detachFromUiScheduler(ganttLayout);
+        ganttLayout
+            .setChildParentReader(task -> task.parent)
+            .setInclusiveChildStartTimeReader(task -> task.start)
+            .setInclusiveChildEndTimeReader(task -> task.end)
+            .setChildFixedHeight(20)
+            .setVSpacing(2)
+            .setTetrisPacking(tetrisPacking);
+        ganttLayout.setTimeWindow(TIME_WINDOW_START, TIME_WINDOW_START.plusDays(TIME_WINDOW_DAYS - 1));
+        ganttLayout.widthProperty().set(LAYOUT_WIDTH);
+        ganttLayout.getChildren().setAll(tasks);
+        return ganttLayout;
+    }
+
+    // Reading the bounds of all children, as they are computed lazily
+    static double sumChildrenMaxY(LocalDateGanttLayout<Task> ganttLayout) {
+        double sum = 0;
+        for (int i = 0, n = ganttLayout.getChildren().size(); i < n; i++)
+            sum += ganttLayout.getChildBounds(i).getMaxY();
+        return sum;
+    }
+}
@@ -0,0 +1,76 @@
+package dev.webfx.extras.benchmarks;
+
+import dev.webfx.extras.i18n.DefaultTokenKey;
+import dev.webfx.extras.i18n.Dictionary;
+import dev.webfx.extras.i18n.TokenKey;
+import dev.webfx.extras.i18n.spi.impl.I18nProviderImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token lookups of the i18n provider in an in-memory dictionary, mixing plain keys, keys whose value refers to another
+ * key in brackets, keys with a suffix (ex: "key:") and keys in a different case (ex: "KEY").
+ *
+ * @author Bruno Salmon
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class I18nProviderBenchmark {
+
+    private static final int MESSAGE_COUNT = 1000;
+    private static final int LOOKUP_COUNT = 1024; // power of 2
+
+    private static final class MapDictionary implements Dictionary {
+        private final Map<String, String> messages = new HashMap<>();
+        private final Map<String, String> lowerCaseMessages = new HashMap<>();
+
+        void put(String key, String value) {
+            messages.put(key, value);
+            lowerCaseMessages.put(key.toLowerCase(), value);
+        }
+
+        @Override
+        public <TK extends Enum<?> & TokenKey> Object getMessageTokenValue(Object messageKey, TK tokenKey, boolean ignoreCase) {
+            if (tokenKey != DefaultTokenKey.TEXT || !(messageKey instanceof String))
+                return null;
+            return ignoreCase ? lowerCaseMessages.get(((String) messageKey).toLowerCase()) : messages.get(messageKey);
+        }
+    }
+
+    private I18nProviderImpl i18nProvider;
+    private MapDictionary dictionary;
+    private final String[] lookupKeys = new String[LOOKUP_COUNT];
+    private int lookupIndex;
+
+    @Setup
+    public void setup() {
+        // No dictionary loader, as all the looked up keys are in the dictionary (so no loading is requested)
+        i18nProvider = new I18nProviderImpl(null, "en", "en");
+        dictionary = new MapDictionary();
+        dictionary.put(":", ":");
+        for (int i = 0; i < MESSAGE_COUNT; i++)
+            dictionary.put("key" + i, i % 10 == 0 ? "[key" + (i + 1) + "] and more" : "Value " + i);
+        for (int i = 0; i < LOOKUP_COUNT; i++) {
+            String key = "key" + (i * 7 % MESSAGE_COUNT);
+            switch (i % 4) {
+                case 1: key = key + ":"; break;
+                case 2: key = key.toUpperCase(); break;
+                case 3: key = "key" + (i * 10 % MESSAGE_COUNT); break; // bracket value
+            }
+            lookupKeys[i] = key;
+        }
+    }
+
+    @Benchmark
+    public Object getDictionaryTokenValue() {
+        int i = lookupIndex = (lookupIndex + 1) & (LOOKUP_COUNT - 1);
+        return i18nProvider.getDictionaryTokenValue(lookupKeys[i], DefaultTokenKey.TEXT, dictionary);
+    }
+}
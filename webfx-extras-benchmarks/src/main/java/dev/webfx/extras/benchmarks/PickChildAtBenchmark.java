@@ -0,0 +1,54 @@
+package dev.webfx.extras.benchmarks;
+
+import dev.webfx.extras.benchmarks.GanttLayoutBenchmark.Task;
+import dev.webfx.extras.time.layout.gantt.LocalDateGanttLayout;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hit-testing of a laid out gantt chart (as done on mouse moves), with and without the spatial index of the children.
+ *
+ * @author Bruno Salmon
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PickChildAtBenchmark {
+
+    private static final int POSITION_COUNT = 1024; // power of 2
+
+    @Param({"1000", "10000", "100000"})
+    int childCount;
+
+    @Param({"false", "true"})
+    boolean spatialIndex;
+
+    private LocalDateGanttLayout<Task> ganttLayout;
+    private final double[] xs = new double[POSITION_COUNT], ys = new double[POSITION_COUNT];
+    private int positionIndex;
+
+    @Setup
+    public void setup() {
+        ganttLayout = GanttLayoutBenchmark.createGanttLayout(GanttLayoutBenchmark.generateTasks(childCount), true);
+        ganttLayout.setSpatialIndexEnabled(spatialIndex);
+        ganttLayout.layout();
+        GanttLayoutBenchmark.sumChildrenMaxY(ganttLayout); // computing all children bounds
+        Random random = new Random(42);
+        double height = ganttLayout.getHeight();
+        for (int i = 0; i < POSITION_COUNT; i++) {
+            xs[i] = random.nextDouble() * GanttLayoutBenchmark.LAYOUT_WIDTH;
+            ys[i] = random.nextDouble() * height;
+        }
+    }
+
+    @Benchmark
+    public Task pickChildAt() {
+        int i = positionIndex = (positionIndex + 1) & (POSITION_COUNT - 1);
+        return ganttLayout.pickChildAt(xs[i], ys[i], false);
+    }
+}
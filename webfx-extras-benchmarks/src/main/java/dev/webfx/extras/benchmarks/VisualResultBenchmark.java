@@ -0,0 +1,65 @@
+package dev.webfx.extras.benchmarks;
+
+import dev.webfx.extras.type.PrimType;
+import dev.webfx.extras.visual.ColumnarVisualResultBuilder;
+import dev.webfx.extras.visual.VisualColumn;
+import dev.webfx.extras.visual.VisualResult;
+import dev.webfx.extras.visual.VisualResultBuilder;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Date;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversion of the values of a visual result (as done before displaying it in a grid or chart), from a row-based and
+ * from a columnar visual result.
+ *
+ * @author Bruno Salmon
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VisualResultBenchmark {
+
+    @Param({"1000", "100000"})
+    int rowCount;
+
+    private VisualResult visualResult, columnarVisualResult;
+
+    @Setup
+    public void setup() {
+        VisualColumn[] columns = {
+            VisualColumn.create("Id", PrimType.INTEGER),
+            VisualColumn.create("Name", PrimType.STRING),
+            VisualColumn.create("Amount", PrimType.DOUBLE),
+            VisualColumn.create("Date", PrimType.DATE),
+            VisualColumn.create("Active", PrimType.BOOLEAN),
+        };
+        VisualResultBuilder builder = VisualResultBuilder.create(rowCount, columns);
+        ColumnarVisualResultBuilder columnarBuilder = ColumnarVisualResultBuilder.create(rowCount, columns);
+        Random random = new Random(42);
+        for (int row = 0; row < rowCount; row++) {
+            Object[] values = {row, "Name " + row, random.nextDouble() * 1000, new Date(random.nextInt()), random.nextBoolean()};
+            for (int column = 0; column < values.length; column++) {
+                builder.setValue(row, column, values[column]);
+                columnarBuilder.setValue(row, column, values[column]);
+            }
+        }
+        visualResult = builder.build();
+        columnarVisualResult = columnarBuilder.build();
+    }
+
+    @Benchmark
+    public VisualResult convertVisualResult() {
+        return VisualResultBuilder.convertVisualResult(visualResult, value -> value);
+    }
+
+    @Benchmark
+    public VisualResult convertColumnarVisualResult() {
+        return VisualResultBuilder.convertVisualResult(columnarVisualResult, value -> value);
+    }
+}
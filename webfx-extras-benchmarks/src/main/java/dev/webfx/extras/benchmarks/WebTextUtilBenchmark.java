@@ -0,0 +1,66 @@
+package dev.webfx.extras.benchmarks;
+
+import dev.webfx.extras.webtext.util.HtmlTokenizer;
+import dev.webfx.extras.webtext.util.WebTextUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unescaping, plain text conversion and tokenization of an HTML text containing tags, entities and unicode escapes.
+ *
+ * @author Bruno Salmon
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WebTextUtilBenchmark {
+
+    private static final String HTML_PARAGRAPH =
+        "<p class=\"intro\">Caf&eacute; &amp; cr&egrave;me br&ucirc;l&eacute;e: <b>2 &lt; 3</b> &#8211; " +
+        "<a href=\"https://webfx.dev\">see&nbsp;more</a> \\u00e9t\\u00e9 &#x263A;<br/></p>\n";
+
+    @Param({"10", "1000"})
+    int paragraphCount;
+
+    private String html;
+    private final HtmlTokenizer tokenizer = new HtmlTokenizer(true, false);
+
+    @Setup
+    public void setup() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < paragraphCount; i++)
+            sb.append(HTML_PARAGRAPH);
+        html = sb.toString();
+    }
+
+    @Benchmark
+    public String unescapeHtml() {
+        return WebTextUtil.unescapeHtml(html);
+    }
+
+    @Benchmark
+    public String htmlToPlainText() {
+        return WebTextUtil.htmlToPlainText(html);
+    }
+
+    @Benchmark
+    public int tokenize() {
+        int[] runCount = { 0 };
+        tokenizer.tokenize(html, 0, new HtmlTokenizer.Listener<Integer>() {
+            @Override
+            public Integer onOpeningTag(HtmlTokenizer.HtmlTag tag, Integer parentDepth) {
+                return parentDepth + 1;
+            }
+
+            @Override
+            public void onText(String text, Integer depth) {
+                runCount[0]++;
+            }
+        });
+        return runCount[0];
+    }
+}
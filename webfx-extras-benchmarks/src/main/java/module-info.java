@@ -0,0 +1,22 @@
+// File managed by WebFX (DO NOT EDIT MANUALLY)
+
+module webfx.extras.benchmarks {
+
+    // Direct dependencies modules
+    requires javafx.base;
+    requires javafx.graphics;
+    requires jmh.core;
+    requires webfx.extras.fastpixelreaderwriter;
+    requires webfx.extras.fastpixelreaderwriter.openjfx;
+    requires webfx.extras.i18n;
+    requires webfx.extras.time.layout;
+    requires webfx.extras.time.layout.gantt;
+    requires webfx.extras.type;
+    requires webfx.extras.visual;
+    requires webfx.extras.webtext.util;
+    requires webfx.platform.util;
+
+    // Exported packages
+    exports dev.webfx.extras.benchmarks;
+
+}
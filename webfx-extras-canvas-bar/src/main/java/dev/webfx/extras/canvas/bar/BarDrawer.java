@@ -2,7 +2,6 @@ package dev.webfx.extras.canvas.bar;
 
 import dev.webfx.extras.geometry.Bounds;
 import dev.webfx.extras.geometry.FXBoundsWrapper;
-import dev.webfx.kit.launcher.WebFxKitLauncher;
 import javafx.geometry.HPos;
 import javafx.geometry.Pos;
 import javafx.geometry.VPos;
@@ -285,10 +284,11 @@ public class BarDrawer {
         double hTextPadding = 5; // hardcoded value for now
         gc.save();
         // clip makes canvas operations slower, so we do it only when necessary
-        javafx.geometry.Bounds textBounds = WebFxKitLauncher.measureText(text, gc.getFont());
+        // Note: the text width is cached, so the decisions below (clip & alignment) don't require any new measurement
+        double textWidth = TextMeasureCache.getSharedInstance().measureTextWidth(text, gc.getFont());
         double canvasWidth = gc.getCanvas().getWidth();
         double visibleBarWidth = Math.min(x + width, canvasWidth) - Math.max(x, 0);
-        boolean textWider = textBounds.getWidth() + 2 * hTextPadding > visibleBarWidth;
+        boolean textWider = textWidth + 2 * hTextPadding > visibleBarWidth;
         // Clipping the text when it is wider than the visible bar. Note: adding a clip path makes all canvas operation
         // much slower, so it's good to skip that step when not necessary (ie when the text is not wider than the bar).
         if (clipText && textWider)
@@ -0,0 +1,60 @@
+package dev.webfx.extras.canvas.bar;
+
+import dev.webfx.extras.util.LruCache;
+import dev.webfx.kit.launcher.WebFxKitLauncher;
+import javafx.scene.text.Font;
+
+import java.util.Objects;
+
+/**
+ * A bounded cache of text measurements, keyed by text and font. Drawing many bars on a canvas usually means measuring
+ * the same few texts again and again (ex: on a zoomed-out gantt chart), and WebFxKitLauncher.measureText() is costly,
+ * so the measured widths are kept in this cache, which evicts the least recently used ones when full (see LruCache).
+ *
+ * This cache is not thread-safe, and is meant to be used in the UI thread (where canvas drawing happens).
+ *
+ * @author Bruno Salmon
+ */
+public final class TextMeasureCache extends LruCache<TextMeasureCache.Key, Double> {
+
+    private static final TextMeasureCache SHARED_INSTANCE = new TextMeasureCache(4096);
+
+    public static TextMeasureCache getSharedInstance() {
+        return SHARED_INSTANCE;
+    }
+
+    static final class Key {
+        private final String text;
+        private final Font font;
+        private final int hashCode;
+
+        private Key(String text, Font font) {
+            this.text = text;
+            this.font = font;
+            hashCode = 31 * text.hashCode() + Objects.hashCode(font);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return hashCode == key.hashCode && text.equals(key.text) && Objects.equals(font, key.font);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    public TextMeasureCache(int maxSize) {
+        super(maxSize);
+    }
+
+    public double measureTextWidth(String text, Font font) {
+        if (text == null)
+            return 0;
+        return getOrCompute(new Key(text, font), key -> WebFxKitLauncher.measureText(key.text, key.font).getWidth());
+    }
+}
@@ -5,6 +5,7 @@ module webfx.extras.canvas.bar {
     // Direct dependencies modules
     requires javafx.graphics;
     requires webfx.extras.geometry;
+    requires webfx.extras.util;
     requires webfx.kit.launcher;
 
     // Exported packages
@@ -45,6 +45,8 @@ public class VirtualCanvasPane extends CanvasPane {
         this.vValue = vValue;
         // Moving the canvas vertically, so it finally doesn't scroll but stay immobile in the viewport
         double layoutY = vValue * (requestedCanvasHeight - viewportHeight);
+        // Rounded to whole pixels, so the scroll deltas can be blitted by the canvas drawer (see CanvasDrawerBase)
+        layoutY = Math.round(layoutY);
         canvas.setLayoutY(layoutY);
         // But moving its layoutOrigin, so when it will redraw, it will look like the scroll happened on the virtual canvas
         callCanvasRefresher(getWidth(), requestedCanvasHeight, false);
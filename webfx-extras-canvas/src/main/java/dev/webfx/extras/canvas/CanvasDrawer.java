@@ -8,6 +8,13 @@ public interface CanvasDrawer extends HasCanvas,
     HasOriginCoordinates,
     HasDrawAreaProperties {
 
+    /**
+     * @return the draw metrics of this drawer (disabled by default), or null if this drawer doesn't measure its draws.
+     */
+    default DrawMetrics getDrawMetrics() {
+        return null;
+    }
+
     default Bounds getDrawAreaOrCanvasBounds() {
         Bounds drawAreaBounds = getDrawAreaBounds();
         return drawAreaBounds != null ? drawAreaBounds : new BoundingBox(0, 0, getCanvas().getWidth(), getCanvas().getHeight());
@@ -0,0 +1,260 @@
+package dev.webfx.extras.canvas;
+
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Frame-level metrics of a canvas drawer: duration of each draw, number of children visited (i.e. tested for
+ * visibility) and drawn, number of GraphicsContext save / clip / restore calls, and sizes of the drawn layouts, plus
+ * rolling percentiles of the draw durations over the last draws. The metrics are opt-in (disabled by default), and slow
+ * draw listeners can be registered to log the draws exceeding a time budget (ex: 16 ms for 60 fps).
+ *
+ * The draws are measured by the drawer itself (see CanvasDrawerBase). The drawing code records the counters through
+ * the static methods below, including save(), clip() and restore() which wrap the GraphicsContext calls. They apply to
+ * the draw in progress in the UI thread, and are guarded by a single static check (isRecording()), so they cost almost
+ * nothing when the metrics are disabled.
+ *
+ * @author Bruno Salmon
+ */
+public final class DrawMetrics {
+
+    private static final int ROLLING_DRAW_COUNT = 128;
+
+    // The metrics of the draw in progress (null if none or if its metrics are not enabled)
+    private static DrawMetrics current;
+
+    // Static guard of the recording methods (true only during a draw whose metrics are enabled)
+    public static boolean isRecording() {
+        return current != null;
+    }
+
+    public static void recordChildVisited() {
+        if (current != null)
+            current.childrenVisited++;
+    }
+
+    public static void recordChildDrawn() {
+        if (current != null)
+            current.childrenDrawn++;
+    }
+
+    // To be called by the drawers for each layout they draw (only if isRecording(), as reading the sizes may cost)
+    public static void recordLayoutSize(int layoutChildrenCount, int layoutRowsCount) {
+        if (current != null) {
+            current.layoutChildrenCount += layoutChildrenCount;
+            current.layoutRowsCount += layoutRowsCount;
+        }
+    }
+
+    public static void save(GraphicsContext gc) {
+        gc.save();
+        if (current != null)
+            current.saveCount++;
+    }
+
+    public static void clip(GraphicsContext gc) {
+        gc.clip();
+        if (current != null)
+            current.clipCount++;
+    }
+
+    public static void restore(GraphicsContext gc) {
+        gc.restore();
+        if (current != null)
+            current.restoreCount++;
+    }
+
+    /**
+     * The metrics of a single draw.
+     */
+    public static final class Frame {
+        private final double durationMillis;
+        private final int childrenVisited, childrenDrawn, saveCount, clipCount, restoreCount;
+        private final double canvasWidth, canvasHeight;
+        private final int layoutChildrenCount, layoutRowsCount;
+
+        private Frame(double durationMillis, int childrenVisited, int childrenDrawn, int saveCount, int clipCount, int restoreCount, double canvasWidth, double canvasHeight, int layoutChildrenCount, int layoutRowsCount) {
+            this.durationMillis = durationMillis;
+            this.childrenVisited = childrenVisited;
+            this.childrenDrawn = childrenDrawn;
+            this.saveCount = saveCount;
+            this.clipCount = clipCount;
+            this.restoreCount = restoreCount;
+            this.canvasWidth = canvasWidth;
+            this.canvasHeight = canvasHeight;
+            this.layoutChildrenCount = layoutChildrenCount;
+            this.layoutRowsCount = layoutRowsCount;
+        }
+
+        public double getDurationMillis() {
+            return durationMillis;
+        }
+
+        public int getChildrenVisited() {
+            return childrenVisited;
+        }
+
+        public int getChildrenDrawn() {
+            return childrenDrawn;
+        }
+
+        public int getSaveCount() {
+            return saveCount;
+        }
+
+        public int getClipCount() {
+            return clipCount;
+        }
+
+        public int getRestoreCount() {
+            return restoreCount;
+        }
+
+        public double getCanvasWidth() {
+            return canvasWidth;
+        }
+
+        public double getCanvasHeight() {
+            return canvasHeight;
+        }
+
+        // Total number of children of the drawn layouts (not only the visible ones)
+        public int getLayoutChildrenCount() {
+            return layoutChildrenCount;
+        }
+
+        // Total number of rows of the drawn layouts
+        public int getLayoutRowsCount() {
+            return layoutRowsCount;
+        }
+
+        @Override
+        public String toString() {
+            return "draw " + durationMillis + " ms, canvas " + canvasWidth + "x" + canvasHeight
+                   + ", layout children = " + layoutChildrenCount + ", rows = " + layoutRowsCount
+                   + ", children visited = " + childrenVisited + ", drawn = " + childrenDrawn
+                   + ", save = " + saveCount + ", clip = " + clipCount + ", restore = " + restoreCount;
+        }
+    }
+
+    public interface SlowDrawListener {
+        void onSlowDraw(Frame frame);
+    }
+
+    private boolean enabled;
+    private double slowDrawThresholdMillis = 16;
+    private final List<SlowDrawListener> slowDrawListeners = new ArrayList<>();
+    // Counters of the draw in progress
+    private DrawMetrics previous; // metrics of the enclosing draw (if nested), restored at the end of this draw
+    private Canvas drawCanvas;
+    private long drawStartNanos;
+    private int drawDepth;
+    private int childrenVisited, childrenDrawn, saveCount, clipCount, restoreCount;
+    private int layoutChildrenCount, layoutRowsCount;
+    // Rolling draw durations (ring buffer)
+    private final double[] rollingDurations = new double[ROLLING_DRAW_COUNT];
+    private int rollingIndex, rollingSize;
+    private Frame lastFrame;
+    private long frameCount;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public DrawMetrics setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        return this;
+    }
+
+    public double getSlowDrawThresholdMillis() {
+        return slowDrawThresholdMillis;
+    }
+
+    public DrawMetrics setSlowDrawThresholdMillis(double slowDrawThresholdMillis) {
+        this.slowDrawThresholdMillis = slowDrawThresholdMillis;
+        return this;
+    }
+
+    // Note: adding a slow draw listener also enables the metrics
+    public DrawMetrics addSlowDrawListener(SlowDrawListener listener) {
+        slowDrawListeners.add(listener);
+        return setEnabled(true);
+    }
+
+    public void removeSlowDrawListener(SlowDrawListener listener) {
+        slowDrawListeners.remove(listener);
+    }
+
+    /**
+     * To be called by the drawer when starting a draw on the canvas. Nested calls (ex: a drawer hooked to another
+     * drawer of the same canvas) are merged into the outermost draw.
+     */
+    public void beginDraw(Canvas canvas) {
+        if (!enabled || drawDepth++ > 0)
+            return;
+        previous = current;
+        current = this;
+        drawCanvas = canvas;
+        childrenVisited = childrenDrawn = saveCount = clipCount = restoreCount = 0;
+        layoutChildrenCount = layoutRowsCount = 0;
+        drawStartNanos = System.nanoTime();
+    }
+
+    public void endDraw() {
+        if (drawDepth == 0 || --drawDepth > 0)
+            return;
+        double durationMillis = (System.nanoTime() - drawStartNanos) / 1_000_000d;
+        current = previous;
+        previous = null;
+        Frame frame = lastFrame = new Frame(durationMillis, childrenVisited, childrenDrawn, saveCount, clipCount, restoreCount, drawCanvas.getWidth(), drawCanvas.getHeight(), layoutChildrenCount, layoutRowsCount);
+        drawCanvas = null;
+        frameCount++;
+        rollingDurations[rollingIndex] = durationMillis;
+        rollingIndex = (rollingIndex + 1) % ROLLING_DRAW_COUNT;
+        if (rollingSize < ROLLING_DRAW_COUNT)
+            rollingSize++;
+        if (durationMillis > slowDrawThresholdMillis)
+            for (SlowDrawListener listener : slowDrawListeners.toArray(new SlowDrawListener[0]))
+                listener.onSlowDraw(frame);
+    }
+
+    public Frame getLastFrame() {
+        return lastFrame;
+    }
+
+    public long getFrameCount() {
+        return frameCount;
+    }
+
+    public double getP50DurationMillis() {
+        return getDurationPercentileMillis(50);
+    }
+
+    public double getP95DurationMillis() {
+        return getDurationPercentileMillis(95);
+    }
+
+    public double getMaxDurationMillis() {
+        return getDurationPercentileMillis(100);
+    }
+
+    // Percentile (nearest-rank method) of the durations of the last draws
+    public double getDurationPercentileMillis(double percentile) {
+        if (rollingSize == 0)
+            return 0;
+        double[] durations = Arrays.copyOf(rollingDurations, rollingSize);
+        Arrays.sort(durations);
+        int rank = (int) Math.ceil(percentile / 100 * rollingSize);
+        return durations[Math.max(0, Math.min(rollingSize, rank) - 1)];
+    }
+
+    public void reset() {
+        rollingIndex = rollingSize = 0;
+        frameCount = 0;
+        lastFrame = null;
+    }
+}
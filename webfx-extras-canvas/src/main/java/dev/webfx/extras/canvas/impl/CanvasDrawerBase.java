@@ -1,14 +1,21 @@
 package dev.webfx.extras.canvas.impl;
 
 import dev.webfx.extras.canvas.CanvasDrawer;
+import dev.webfx.extras.canvas.DrawMetrics;
 import dev.webfx.extras.util.DirtyMarker;
 import dev.webfx.kit.util.properties.FXProperties;
 import javafx.beans.property.*;
 import javafx.beans.value.ObservableIntegerValue;
+import javafx.geometry.BoundingBox;
 import javafx.geometry.Bounds;
+import javafx.scene.SnapshotParameters;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
 import javafx.scene.paint.Paint;
+import javafx.scene.transform.Transform;
+import javafx.stage.Screen;
 
 /**
  * @author Bruno Salmon
@@ -17,14 +24,23 @@ public abstract class CanvasDrawerBase implements CanvasDrawer {
 
     protected final Canvas canvas;
     protected final GraphicsContext gc;
-    private final DoubleProperty originLayoutXProperty = FXProperties.newDoubleProperty(this::markDrawAreaAsDirty);
-    private final DoubleProperty originLayoutYProperty = FXProperties.newDoubleProperty(this::markDrawAreaAsDirty);
+    // A change of the origin layout alone (ex: vertical scroll in a virtual canvas) doesn't require a full redraw when
+    // scroll blit is enabled, so these properties don't call markDrawAreaAsDirty()
+    private final DoubleProperty originLayoutXProperty = FXProperties.newDoubleProperty(this::markOriginLayoutAsDirty);
+    private final DoubleProperty originLayoutYProperty = FXProperties.newDoubleProperty(this::markOriginLayoutAsDirty);
     private final DoubleProperty originTranslateXProperty = FXProperties.newDoubleProperty(this::markDrawAreaAsDirty);
     private final DoubleProperty originTranslateYProperty = FXProperties.newDoubleProperty(this::markDrawAreaAsDirty);
     private final ObjectProperty<Bounds> drawAreaBoundsProperty = FXProperties.newObjectProperty(this::markDrawAreaAsDirty);
     private final ObjectProperty<Paint> drawAreaBackgroundFillProperty = FXProperties.newObjectProperty(this::markDrawAreaAsDirty);
     private final IntegerProperty drawCountProperty = new SimpleIntegerProperty();
-    private final DirtyMarker drawAreaDirtyMarker = new DirtyMarker(this::drawArea);
+    private final DirtyMarker drawAreaDirtyMarker = new DirtyMarker(this::drawDirtyArea);
+    private final DrawMetrics drawMetrics = new DrawMetrics();
+    // Scroll blit fields
+    private boolean scrollBlitEnabled;
+    private boolean fullDrawRequired = true;
+    private double lastDrawOriginLayoutX, lastDrawOriginLayoutY, lastDrawCanvasWidth, lastDrawCanvasHeight;
+    private Bounds exposedAreaBounds; // set only while drawing a newly exposed strip
+    private WritableImage scrollBlitImage;
 
     public CanvasDrawerBase() {
         this(new Canvas());
@@ -75,23 +91,166 @@ public abstract class CanvasDrawerBase implements CanvasDrawer {
         return drawCountProperty;
     }
 
+    @Override
+    public DrawMetrics getDrawMetrics() {
+        return drawMetrics;
+    }
+
+    @Override
+    public Bounds getDrawAreaOrCanvasBounds() {
+        // When drawing a strip exposed by a scroll, the subclasses draw only the objects visible in that strip
+        return exposedAreaBounds != null ? exposedAreaBounds : CanvasDrawer.super.getDrawAreaOrCanvasBounds();
+    }
+
+    // Returns true while drawing a strip exposed by a scroll (the rest of the draw area has been copied)
+    protected boolean isDrawingExposedArea() {
+        return exposedAreaBounds != null;
+    }
+
+    public boolean isScrollBlitEnabled() {
+        return scrollBlitEnabled;
+    }
+
+    /**
+     * When enabled, a change of the origin layout alone (typically a scroll) doesn't redraw the whole draw area, but
+     * copies the pixels that are still valid by the scroll delta, and then draws only the newly exposed strip(s) through
+     * drawObjectsInArea(). Any other change (layout, size, translation, draw area, background, etc...) still causes a
+     * full redraw. This should be enabled only if everything in the draw area is drawn by drawObjectsInArea() (and not
+     * by onBeforeDraw / onAfterDraw runnables, as they are still called but the blit would duplicate their drawing).
+     */
+    public void setScrollBlitEnabled(boolean scrollBlitEnabled) {
+        this.scrollBlitEnabled = scrollBlitEnabled;
+        if (!scrollBlitEnabled)
+            scrollBlitImage = null;
+    }
+
     @Override
     public void markDrawAreaAsDirty() {
+        fullDrawRequired = true;
         drawAreaDirtyMarker.markAsDirty();
     }
 
+    private void markOriginLayoutAsDirty() {
+        if (!scrollBlitEnabled)
+            fullDrawRequired = true;
+        drawAreaDirtyMarker.markAsDirty();
+    }
+
+    private void drawDirtyArea() {
+        drawMetrics.beginDraw(canvas); // so the possible fallback to drawArea() is measured in the same frame
+        try {
+            if (fullDrawRequired || !drawScrolledArea())
+                drawArea();
+            // If drawing the exposed strip caused a new layout pass, it's now necessary to redraw everything
+            else if (fullDrawRequired)
+                drawArea();
+        } finally {
+            drawMetrics.endDraw();
+        }
+    }
+
     @Override
     public void drawArea() {
-        int newDrawCount = getDrawCount() + 1;
-        // Ensuring we start with identity transform (if for some reason the previous draw left a non-identity transform)
+        drawMetrics.beginDraw(canvas);
+        try {
+            fullDrawRequired = false;
+            int newDrawCount = getDrawCount() + 1;
+            // Ensuring we start with identity transform (if for some reason the previous draw left a non-identity transform)
+            gc.setTransform(1,0,0,1,0,0);
+            clearArea();
+            drawCountProperty.set(-newDrawCount); // may trigger onBeforeDraw runnable(s)
+            drawObjectsInArea();
+            drawCountProperty.set(newDrawCount); // may trigger onAfterDraw runnable(s)
+            memorizeLastDrawState();
+        } finally {
+            drawMetrics.endDraw();
+        }
+    }
+
+    protected abstract void drawObjectsInArea();
+
+    private void memorizeLastDrawState() {
+        lastDrawOriginLayoutX = getOriginLayoutX();
+        lastDrawOriginLayoutY = getOriginLayoutY();
+        lastDrawCanvasWidth = canvas.getWidth();
+        lastDrawCanvasHeight = canvas.getHeight();
+    }
+
+    // Returns false if the scroll blit is not possible, in which case the caller should do a full redraw
+    private boolean drawScrolledArea() {
+        Bounds area = getDrawAreaOrCanvasBounds();
+        double areaWidth = area.getWidth(), areaHeight = area.getHeight();
+        // The objects move in the opposite direction of the origin
+        double dx = lastDrawOriginLayoutX - getOriginLayoutX(), dy = lastDrawOriginLayoutY - getOriginLayoutY();
+        double scale = Screen.getPrimary().getOutputScaleX();
+        if (canvas.getWidth() != lastDrawCanvasWidth || canvas.getHeight() != lastDrawCanvasHeight
+            || Math.abs(dx) >= areaWidth || Math.abs(dy) >= areaHeight // no pixels to keep
+            || !isWholeDevicePixels(dx, scale) || !isWholeDevicePixels(dy, scale)) // the copy would be blurry
+            return false;
+        if (dx == 0 && dy == 0) // ex: origin changed and then restored before the draw
+            return true;
+        double keptWidth = areaWidth - Math.abs(dx), keptHeight = areaHeight - Math.abs(dy);
+        double keptX = area.getMinX() + Math.max(dx, 0), keptY = area.getMinY() + Math.max(dy, 0);
         gc.setTransform(1,0,0,1,0,0);
-        clearArea();
+        if (!copyArea(keptX - dx, keptY - dy, keptWidth, keptHeight, keptX, keptY, scale))
+            return false;
+        int newDrawCount = getDrawCount() + 1;
         drawCountProperty.set(-newDrawCount); // may trigger onBeforeDraw runnable(s)
-        drawObjectsInArea();
+        if (dy != 0) // horizontal strip exposed at the top (dy > 0) or at the bottom (dy < 0)
+            drawExposedArea(area.getMinX(), dy > 0 ? area.getMinY() : area.getMaxY() + dy, areaWidth, Math.abs(dy));
+        if (dx != 0) // vertical strip exposed on the left (dx > 0) or on the right (dx < 0)
+            drawExposedArea(dx > 0 ? area.getMinX() : area.getMaxX() + dx, keptY, Math.abs(dx), keptHeight);
         drawCountProperty.set(newDrawCount); // may trigger onAfterDraw runnable(s)
+        memorizeLastDrawState();
+        return true;
     }
 
-    protected abstract void drawObjectsInArea();
+    private static boolean isWholeDevicePixels(double d, double scale) {
+        double devicePixels = d * scale;
+        return devicePixels == Math.rint(devicePixels);
+    }
+
+    private boolean copyArea(double srcX, double srcY, double width, double height, double destX, double destY, double scale) {
+        // The canvas pixels are captured at the device scale, so the copy is not blurry on HiDPI screens
+        SnapshotParameters parameters = new SnapshotParameters();
+        parameters.setFill(Color.TRANSPARENT);
+        if (scale != 1)
+            parameters.setTransform(Transform.scale(scale, scale));
+        int imageWidth = (int) Math.ceil(canvas.getWidth() * scale), imageHeight = (int) Math.ceil(canvas.getHeight() * scale);
+        if (scrollBlitImage == null || scrollBlitImage.getWidth() != imageWidth || scrollBlitImage.getHeight() != imageHeight)
+            scrollBlitImage = new WritableImage(imageWidth, imageHeight);
+        WritableImage snapshot;
+        try {
+            snapshot = canvas.snapshot(parameters, scrollBlitImage);
+        } catch (RuntimeException e) { // ex: snapshot not supported by the platform
+            snapshot = null;
+        }
+        // If the platform can't take the snapshot, it won't be able to do it next time either, so we remember that
+        // failure and fall back to full redraws from now on (rather than paying a failing snapshot on each scroll)
+        if (snapshot == null) {
+            setScrollBlitEnabled(false);
+            return false;
+        }
+        // Clearing first, as drawImage() blends the (possibly transparent) pixels with the existing ones
+        gc.clearRect(destX, destY, width, height);
+        gc.drawImage(snapshot, srcX * scale, srcY * scale, width * scale, height * scale, destX, destY, width, height);
+        return true;
+    }
+
+    private void drawExposedArea(double x, double y, double width, double height) {
+        DrawMetrics.save(gc);
+        gc.beginPath();
+        gc.rect(x, y, width, height);
+        DrawMetrics.clip(gc); // so objects partially in the strip don't overdraw the copied pixels
+        clearArea(x, y, width, height);
+        exposedAreaBounds = new BoundingBox(x, y, width, height);
+        try {
+            drawObjectsInArea();
+        } finally {
+            exposedAreaBounds = null;
+            DrawMetrics.restore(gc);
+        }
+    }
 
     public void clearArea() {
         Bounds area = getDrawAreaBounds();
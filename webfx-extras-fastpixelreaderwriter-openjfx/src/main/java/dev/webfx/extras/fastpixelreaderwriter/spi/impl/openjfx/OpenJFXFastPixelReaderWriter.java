@@ -112,22 +112,22 @@ public final class OpenJFXFastPixelReaderWriter implements FastPixelReaderWriter
 
     @Override
     public int getRed() {
-        return newR != -1 ? newR : cache != null ? cache[getCachePos() + RED_OFFSET] : readArgb() >> 16 & 0xff;
+        return newR != -1 ? newR : cache != null ? cache[getCachePos() + RED_OFFSET] & 0xff : readArgb() >> 16 & 0xff;
     }
 
     @Override
     public int getGreen() {
-        return newG != -1 ? newG : cache != null ? cache[getCachePos() + GREEN_OFFSET] :  readArgb() >> 8 & 0xff;
+        return newG != -1 ? newG : cache != null ? cache[getCachePos() + GREEN_OFFSET] & 0xff :  readArgb() >> 8 & 0xff;
     }
 
     @Override
     public int getBlue() {
-        return newB != -1 ? newB : cache != null ? cache[getCachePos() + BLUE_OFFSET] : readArgb() & 0xff;
+        return newB != -1 ? newB : cache != null ? cache[getCachePos() + BLUE_OFFSET] & 0xff : readArgb() & 0xff;
     }
 
     @Override
     public int getOpacity() {
-        return newA != -1 ? newA : cache != null ? cache[getCachePos() + ALPHA_OFFSET] : readArgb() >> 24 & 0xff;
+        return newA != -1 ? newA : cache != null ? cache[getCachePos() + ALPHA_OFFSET] & 0xff : readArgb() >> 24 & 0xff;
     }
 
     @Override
@@ -150,6 +150,94 @@ public final class OpenJFXFastPixelReaderWriter implements FastPixelReaderWriter
         newA = opacity;
     }
 
+    // Bulk API
+
+    private void flushPixelChanges() {
+        if (x != -1 && y < height)
+            applyPixelChanges();
+    }
+
+    @Override
+    public void readArgbPixels(int x, int y, int w, int h, int[] buffer, int offset, int scanlineStride) {
+        flushPixelChanges();
+        if (cache == null) {
+            pixelReader.getPixels(x, y, w, h, PixelFormat.getIntArgbInstance(), buffer, offset, scanlineStride);
+            return;
+        }
+        for (int j = 0; j < h; j++) {
+            int index = offset + j * scanlineStride, pos = 4 * (x + (y + j) * width);
+            for (int i = 0; i < w; i++, pos += 4)
+                buffer[index++] = (cache[pos + ALPHA_OFFSET] & 0xff) << 24 | (cache[pos + RED_OFFSET] & 0xff) << 16 | (cache[pos + GREEN_OFFSET] & 0xff) << 8 | cache[pos + BLUE_OFFSET] & 0xff;
+        }
+    }
+
+    @Override
+    public void readRgbaPixels(int x, int y, int w, int h, byte[] buffer, int offset, int scanlineStride) {
+        flushPixelChanges();
+        if (cache == null) // Reading in the BGRA format (the nearest available one), and then swapping red & blue
+            pixelReader.getPixels(x, y, w, h, PixelFormat.getByteBgraInstance(), buffer, offset, scanlineStride);
+        for (int j = 0; j < h; j++) {
+            int index = offset + j * scanlineStride, pos = 4 * (x + (y + j) * width);
+            for (int i = 0; i < w; i++, index += 4, pos += 4) {
+                if (cache == null) {
+                    byte b = buffer[index];
+                    buffer[index] = buffer[index + 2];
+                    buffer[index + 2] = b;
+                } else {
+                    buffer[index]     = cache[pos + RED_OFFSET];
+                    buffer[index + 1] = cache[pos + GREEN_OFFSET];
+                    buffer[index + 2] = cache[pos + BLUE_OFFSET];
+                    buffer[index + 3] = cache[pos + ALPHA_OFFSET];
+                }
+            }
+        }
+    }
+
+    @Override
+    public void writeArgbPixels(int x, int y, int w, int h, int[] buffer, int offset, int scanlineStride) {
+        if (pixelWriter == null)
+            return;
+        flushPixelChanges();
+        if (cache == null) {
+            pixelWriter.setPixels(x, y, w, h, PixelFormat.getIntArgbInstance(), buffer, offset, scanlineStride);
+            return;
+        }
+        for (int j = 0; j < h; j++) {
+            int index = offset + j * scanlineStride, pos = 4 * (x + (y + j) * width);
+            for (int i = 0; i < w; i++, pos += 4)
+                writeCachePixel(pos, buffer[index++]);
+        }
+    }
+
+    @Override
+    public void writeRgbaPixels(int x, int y, int w, int h, byte[] buffer, int offset, int scanlineStride) {
+        if (pixelWriter == null)
+            return;
+        flushPixelChanges();
+        int[] argbRow = cache != null ? null : new int[w];
+        for (int j = 0; j < h; j++) {
+            int index = offset + j * scanlineStride, pos = 4 * (x + (y + j) * width);
+            for (int i = 0; i < w; i++, index += 4, pos += 4) {
+                int argb = (buffer[index + 3] & 0xff) << 24 | (buffer[index] & 0xff) << 16 | (buffer[index + 1] & 0xff) << 8 | buffer[index + 2] & 0xff;
+                if (argbRow != null)
+                    argbRow[i] = argb;
+                else
+                    writeCachePixel(pos, argb);
+            }
+            if (argbRow != null)
+                pixelWriter.setPixels(x, y + j, w, 1, PixelFormat.getIntArgbInstance(), argbRow, 0, w);
+        }
+    }
+
+    private void writeCachePixel(int pos, int argb) {
+        int a = argb >>> 24;
+        boolean transparent = a == 0; // same as applyPixelChanges()
+        cache[pos + RED_OFFSET]   = transparent ? 0 : (byte) (argb >> 16);
+        cache[pos + GREEN_OFFSET] = transparent ? 0 : (byte) (argb >> 8);
+        cache[pos + BLUE_OFFSET]  = transparent ? 0 : (byte) argb;
+        cache[pos + ALPHA_OFFSET] = (byte) a;
+    }
+
     @Override
     public boolean createCache(boolean copyImageData) {
         if (cache == null && pixelWriter != null) {
@@ -158,6 +158,67 @@ public final class TeaVMWasmFastPixelReaderWriter implements FastPixelReaderWrit
         newA = opacity;
     }
 
+    // Bulk API. The pixels are accessed in the Java cache (created and filled with the image data on first need), so
+    // these loops run entirely in WebAssembly without any JS call. As with the per-pixel setters, writeCache() must be
+    // called after the changes to write the cache back to the image data.
+
+    private void flushPixelChanges() {
+        if (x != -1 && y < height)
+            applyPixelChanges();
+    }
+
+    @Override
+    public void readArgbPixels(int x, int y, int w, int h, int[] buffer, int offset, int scanlineStride) {
+        flushPixelChanges();
+        createCache(true);
+        for (int j = 0; j < h; j++) {
+            int index = offset + j * scanlineStride, pos = 4 * (x + (y + j) * width);
+            for (int i = 0; i < w; i++, pos += 4)
+                buffer[index++] = (cache[pos + ALPHA_OFFSET] & 0xff) << 24 | (cache[pos + RED_OFFSET] & 0xff) << 16 | (cache[pos + GREEN_OFFSET] & 0xff) << 8 | cache[pos + BLUE_OFFSET] & 0xff;
+        }
+    }
+
+    @Override
+    public void readRgbaPixels(int x, int y, int w, int h, byte[] buffer, int offset, int scanlineStride) {
+        flushPixelChanges();
+        createCache(true);
+        // The cache is already in the RGBA format, so each row is a simple array copy
+        for (int j = 0; j < h; j++)
+            System.arraycopy(cache, 4 * (x + (y + j) * width), buffer, offset + j * scanlineStride, 4 * w);
+    }
+
+    @Override
+    public void writeArgbPixels(int x, int y, int w, int h, int[] buffer, int offset, int scanlineStride) {
+        flushPixelChanges();
+        createCache(true);
+        for (int j = 0; j < h; j++) {
+            int index = offset + j * scanlineStride, pos = 4 * (x + (y + j) * width);
+            for (int i = 0; i < w; i++, pos += 4) {
+                int argb = buffer[index++];
+                int a = argb >>> 24;
+                boolean transparent = a == 0; // same as applyPixelChanges()
+                cache[pos + RED_OFFSET]   = transparent ? 0 : (byte) (argb >> 16);
+                cache[pos + GREEN_OFFSET] = transparent ? 0 : (byte) (argb >> 8);
+                cache[pos + BLUE_OFFSET]  = transparent ? 0 : (byte) argb;
+                cache[pos + ALPHA_OFFSET] = (byte) a;
+            }
+        }
+    }
+
+    @Override
+    public void writeRgbaPixels(int x, int y, int w, int h, byte[] buffer, int offset, int scanlineStride) {
+        flushPixelChanges();
+        createCache(true);
+        for (int j = 0; j < h; j++) {
+            int pos = 4 * (x + (y + j) * width);
+            System.arraycopy(buffer, offset + j * scanlineStride, cache, pos, 4 * w);
+            // Transparent pixels are written as transparent black (same as applyPixelChanges())
+            for (int end = pos + 4 * w; pos < end; pos += 4)
+                if (cache[pos + ALPHA_OFFSET] == 0)
+                    cache[pos + RED_OFFSET] = cache[pos + GREEN_OFFSET] = cache[pos + BLUE_OFFSET] = 0;
+        }
+    }
+
     @Override
     public boolean createCache(boolean copyImageData) {
         if (cache == null) {
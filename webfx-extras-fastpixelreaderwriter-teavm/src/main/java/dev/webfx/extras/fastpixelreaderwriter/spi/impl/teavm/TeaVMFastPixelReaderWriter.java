@@ -4,6 +4,7 @@ import dev.webfx.extras.fastpixelreaderwriter.FastPixelReaderWriter;
 import dev.webfx.kit.mapper.peers.javafxgraphics.elemental2.html.ImageDataHelper;
 import javafx.scene.image.Image;
 import org.teavm.jso.canvas.ImageData;
+import org.teavm.jso.typedarrays.Int32Array;
 import org.teavm.jso.typedarrays.Uint8ClampedArray;
 
 /**
@@ -22,6 +23,7 @@ public final class TeaVMFastPixelReaderWriter implements FastPixelReaderWriter {
     private final int maxIndex;
     private int index = -4;
     private boolean peerCanvasDirty;
+    private Int32Array pixels; // Lazily created int view of the data (1 int per pixel) used by the bulk API
 
     public TeaVMFastPixelReaderWriter(Image image) {
         this.image = image;
@@ -92,6 +94,69 @@ public final class TeaVMFastPixelReaderWriter implements FastPixelReaderWriter {
         data.set(index + ALPHA_OFFSET, opacity);
     }
 
+    // Bulk API. The pixels are accessed as ints through an Int32Array view of the image data, which reduces the number
+    // of JS calls to 1 per pixel (instead of 1 per channel). In the platform byte order (which is little-endian on all
+    // browsers), the RGBA bytes of a pixel read as an ABGR int.
+
+    private Int32Array getPixels() {
+        if (pixels == null)
+            pixels = new Int32Array(data.getBuffer(), data.getByteOffset(), data.getLength() / 4);
+        return pixels;
+    }
+
+    private static int swapRedAndBlue(int pixel) { // ABGR <-> ARGB
+        return pixel & 0xff00ff00 | pixel >> 16 & 0xff | (pixel & 0xff) << 16;
+    }
+
+    @Override
+    public void readArgbPixels(int x, int y, int w, int h, int[] buffer, int offset, int scanlineStride) {
+        Int32Array pixels = getPixels();
+        for (int j = 0; j < h; j++) {
+            int index = offset + j * scanlineStride, p = x + (y + j) * width;
+            for (int i = 0; i < w; i++)
+                buffer[index++] = swapRedAndBlue(pixels.get(p++));
+        }
+    }
+
+    @Override
+    public void readRgbaPixels(int x, int y, int w, int h, byte[] buffer, int offset, int scanlineStride) {
+        Int32Array pixels = getPixels();
+        for (int j = 0; j < h; j++) {
+            int index = offset + j * scanlineStride, p = x + (y + j) * width;
+            for (int i = 0; i < w; i++) {
+                int abgr = pixels.get(p++);
+                buffer[index++] = (byte) abgr;
+                buffer[index++] = (byte) (abgr >> 8);
+                buffer[index++] = (byte) (abgr >> 16);
+                buffer[index++] = (byte) (abgr >> 24);
+            }
+        }
+    }
+
+    @Override
+    public void writeArgbPixels(int x, int y, int w, int h, int[] buffer, int offset, int scanlineStride) {
+        Int32Array pixels = getPixels();
+        for (int j = 0; j < h; j++) {
+            int index = offset + j * scanlineStride, p = x + (y + j) * width;
+            for (int i = 0; i < w; i++) {
+                int argb = buffer[index++];
+                pixels.set(p++, argb >>> 24 == 0 ? 0 : swapRedAndBlue(argb)); // transparent => transparent black
+            }
+        }
+    }
+
+    @Override
+    public void writeRgbaPixels(int x, int y, int w, int h, byte[] buffer, int offset, int scanlineStride) {
+        Int32Array pixels = getPixels();
+        for (int j = 0; j < h; j++) {
+            int index = offset + j * scanlineStride, p = x + (y + j) * width;
+            for (int i = 0; i < w; i++, index += 4) {
+                int a = buffer[index + 3] & 0xff;
+                pixels.set(p++, a == 0 ? 0 : a << 24 | (buffer[index + 2] & 0xff) << 16 | (buffer[index + 1] & 0xff) << 8 | buffer[index] & 0xff); // transparent => transparent black
+            }
+        }
+    }
+
     @Override
     public void writeCache() {
         image.setPeerCanvasDirty(true);
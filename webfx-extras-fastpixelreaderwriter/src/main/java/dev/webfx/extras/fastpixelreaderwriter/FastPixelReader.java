@@ -21,4 +21,47 @@ public interface FastPixelReader {
 
     int getOpacity();
 
+    // Bulk API. The default implementations below iterate the pixels with the per-pixel API, but the platform
+    // implementations override them to access the image data directly, so image filters can run as tight array loops.
+
+    /**
+     * Reads the pixels of a rectangle of the image into an int buffer, each pixel being encoded in the non-premultiplied
+     * ARGB format (0xAARRGGBB, as with PixelReader.getArgb()). The pixel (x + i, y + j) is stored at the buffer index
+     * offset + i + j * scanlineStride.
+     */
+    default void readArgbPixels(int x, int y, int w, int h, int[] buffer, int offset, int scanlineStride) {
+        for (int j = 0; j < h; j++) {
+            int index = offset + j * scanlineStride;
+            for (int i = 0; i < w; i++) {
+                goToPixel(x + i, y + j);
+                buffer[index++] = getOpacity() << 24 | getRed() << 16 | getGreen() << 8 | getBlue();
+            }
+        }
+    }
+
+    /**
+     * Reads the pixels of a rectangle of the image into a byte buffer, each pixel being encoded by 4 bytes in the order
+     * red, green, blue, alpha (non-premultiplied, as in the HTML canvas ImageData). The pixel (x + i, y + j) starts at
+     * the buffer index offset + 4 * i + j * scanlineStride.
+     */
+    default void readRgbaPixels(int x, int y, int w, int h, byte[] buffer, int offset, int scanlineStride) {
+        for (int j = 0; j < h; j++) {
+            int index = offset + j * scanlineStride;
+            for (int i = 0; i < w; i++) {
+                goToPixel(x + i, y + j);
+                buffer[index++] = (byte) getRed();
+                buffer[index++] = (byte) getGreen();
+                buffer[index++] = (byte) getBlue();
+                buffer[index++] = (byte) getOpacity();
+            }
+        }
+    }
+
+    default int[] readArgbPixels() {
+        int width = (int) getImage().getWidth(), height = (int) getImage().getHeight();
+        int[] buffer = new int[width * height];
+        readArgbPixels(0, 0, width, height, buffer, 0, width);
+        return buffer;
+    }
+
 }
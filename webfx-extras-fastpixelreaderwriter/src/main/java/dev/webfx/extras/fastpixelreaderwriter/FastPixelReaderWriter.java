@@ -44,6 +44,43 @@ public interface FastPixelReaderWriter extends FastPixelReader {
         setBlue(blue);
     }
 
+    /**
+     * Writes the pixels of a rectangle of the image from an int buffer in the ARGB format (see readArgbPixels()). As with
+     * the per-pixel setters, writeCache() must be called after the changes. The transparent pixels (alpha = 0) are
+     * written as transparent black (i.e. their red, green and blue are set to 0) by all the implementations, as the
+     * images (premultiplied) don't keep these components anyway.
+     */
+    default void writeArgbPixels(int x, int y, int w, int h, int[] buffer, int offset, int scanlineStride) {
+        for (int j = 0; j < h; j++) {
+            int index = offset + j * scanlineStride;
+            for (int i = 0; i < w; i++) {
+                goToPixel(x + i, y + j);
+                int argb = buffer[index++];
+                setArgb(argb >>> 24, argb >> 16 & 0xff, argb >> 8 & 0xff, argb & 0xff);
+            }
+        }
+    }
+
+    /**
+     * Writes the pixels of a rectangle of the image from a byte buffer in the RGBA format (see readRgbaPixels()). As
+     * with the per-pixel setters, writeCache() must be called after the changes. The transparent pixels are written as
+     * transparent black (see writeArgbPixels()).
+     */
+    default void writeRgbaPixels(int x, int y, int w, int h, byte[] buffer, int offset, int scanlineStride) {
+        for (int j = 0; j < h; j++) {
+            int index = offset + j * scanlineStride;
+            for (int i = 0; i < w; i++, index += 4) {
+                goToPixel(x + i, y + j);
+                setArgb(buffer[index + 3] & 0xff, buffer[index] & 0xff, buffer[index + 1] & 0xff, buffer[index + 2] & 0xff);
+            }
+        }
+    }
+
+    default void writeArgbPixels(int[] buffer) {
+        int width = (int) getImage().getWidth(), height = (int) getImage().getHeight();
+        writeArgbPixels(0, 0, width, height, buffer, 0, width);
+    }
+
     default boolean createCache(boolean copyImageData) {
         // default implementations with no cache
         return false;
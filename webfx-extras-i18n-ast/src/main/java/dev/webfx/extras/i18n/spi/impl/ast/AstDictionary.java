@@ -8,22 +8,47 @@ import dev.webfx.platform.util.Strings;
 import dev.webfx.extras.i18n.DefaultTokenKey;
 import dev.webfx.extras.i18n.Dictionary;
 import dev.webfx.extras.i18n.I18n;
+import dev.webfx.extras.i18n.MessageTemplate;
 import dev.webfx.extras.i18n.TokenKey;
 import dev.webfx.extras.i18n.spi.impl.I18nProviderImpl;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * @author Bruno Salmon
  */
 final class AstDictionary implements Dictionary {
 
     private final ReadOnlyAstObject dictionary;
+    // The dictionary used to interpret the brackets in the multi-token messages (this one, or the sharded dictionary
+    // this one is a shard of)
+    private final Dictionary interpretationDictionary;
+    // Templates of the single-token messages (i.e. plain text values), compiled once when the dictionary is loaded
+    private final Map<String, MessageTemplate> textTemplates = new HashMap<>();
 
     AstDictionary(ReadOnlyAstObject dictionary) {
+        this(dictionary, null);
+    }
+
+    AstDictionary(ReadOnlyAstObject dictionary, Dictionary interpretationDictionary) {
         this.dictionary = dictionary;
+        this.interpretationDictionary = interpretationDictionary != null ? interpretationDictionary : this;
+        ReadOnlyAstArray keys = dictionary.keys();
+        for (int i = 0; i < keys.size(); i++) {
+            String key = Strings.toString(keys.getElement(i));
+            Object value = dictionary.get(key);
+            if (!(value instanceof ReadOnlyAstObject) && value != null)
+                textTemplates.put(key, MessageTemplate.compile(Strings.toString(value)));
+        }
     }
 
     AstDictionary(String text, String format) {
-        this(AST.parseObject(text, format));
+        this(text, format, null);
+    }
+
+    AstDictionary(String text, String format, Dictionary interpretationDictionary) {
+        this(AST.parseObject(text, format), interpretationDictionary);
     }
 
     @Override
@@ -55,6 +80,12 @@ final class AstDictionary implements Dictionary {
         return value;
     }
 
+    @Override
+    public <TK extends Enum<?> & TokenKey> MessageTemplate getMessageTokenTemplate(Object messageKey, TK tokenKey) {
+        // Note: the templates of multi-token messages are not precompiled (the i18n provider compiles them if needed)
+        return tokenKey == DefaultTokenKey.TEXT ? textTemplates.get(Strings.toString(messageKey)) : null;
+    }
+
     private void interpretBracketsAndDefaultInAstObjectValues(AstObject o, Object messageKey) {
         ReadOnlyAstArray keys = o.keys();
         for (int i = 0; i < keys.size(); i++) {
@@ -63,8 +94,13 @@ final class AstDictionary implements Dictionary {
             if (value instanceof ReadOnlyAstObject)
                 interpretBracketsAndDefaultInAstObjectValues((AstObject) value, messageKey);
             else if (value instanceof String) {
-                Object newTokenValue = ((I18nProviderImpl) I18n.getProvider()).interpretBracketsAndDefaultInTokenValue(value, messageKey, "", DefaultTokenKey.TEXT, this, false, this, true);
-                o.set(key, newTokenValue);
+                I18nProviderImpl i18nProvider = (I18nProviderImpl) I18n.getProvider();
+                int unresolvedCountBefore = i18nProvider.getUnresolvedTokenValueCount();
+                Object newTokenValue = i18nProvider.interpretBracketsAndDefaultInTokenValue(value, messageKey, "", DefaultTokenKey.TEXT, interpretationDictionary, false, interpretationDictionary, true);
+                // The value is replaced only if fully resolved. Otherwise (ex: a bracket referencing a message not loaded
+                // yet), it is kept as is, so its brackets will be interpreted again when read.
+                if (i18nProvider.getUnresolvedTokenValueCount() == unresolvedCountBefore)
+                    o.set(key, newTokenValue);
             }
         }
     }
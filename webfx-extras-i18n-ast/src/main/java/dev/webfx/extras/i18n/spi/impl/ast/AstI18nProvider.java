@@ -1,6 +1,7 @@
 package dev.webfx.extras.i18n.spi.impl.ast;
 
 
+import dev.webfx.extras.i18n.spi.impl.DictionaryLoader;
 import dev.webfx.extras.i18n.spi.impl.I18nProviderImpl;
 
 /**
@@ -25,7 +26,20 @@ public class AstI18nProvider extends I18nProviderImpl {
     }
 
     public AstI18nProvider(String resourcePathWithLangPattern, Object defaultLanguage, Object initialLanguage, String... supportedFormats) {
-        super(new ResourceAstDictionaryLoader(resourcePathWithLangPattern, supportedFormats), defaultLanguage, initialLanguage);
+        this(new ResourceAstDictionaryLoader(resourcePathWithLangPattern, supportedFormats), defaultLanguage, initialLanguage);
+    }
+
+    protected AstI18nProvider(DictionaryLoader dictionaryLoader, Object defaultLanguage, Object initialLanguage) {
+        super(dictionaryLoader, defaultLanguage, initialLanguage);
+    }
+
+    /**
+     * Returns a dictionary loader relying on an index resource file generated at build time (giving the format and
+     * possible shards of each language dictionary), which loads only the keys requested by the application instead of
+     * the whole dictionary. To be passed to the protected constructor by subclasses.
+     */
+    public static DictionaryLoader newIndexedDictionaryLoader(String indexResourcePath, String resourcePathWithLangPattern) {
+        return new IndexedResourceAstDictionaryLoader(indexResourcePath, resourcePathWithLangPattern);
     }
 
 }
@@ -0,0 +1,184 @@
+package dev.webfx.extras.i18n.spi.impl.ast;
+
+import dev.webfx.extras.i18n.Dictionary;
+import dev.webfx.extras.i18n.spi.impl.DictionaryLoader;
+import dev.webfx.platform.ast.AST;
+import dev.webfx.platform.ast.ReadOnlyAstObject;
+import dev.webfx.platform.async.Future;
+import dev.webfx.platform.async.Promise;
+import dev.webfx.platform.resource.Resource;
+import dev.webfx.platform.util.Strings;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Resource-based dictionary loader relying on an index resource file generated at build time, which tells for each
+ * language in which AST format its dictionary is, and possibly in how many shards its keys are split. Ex (json):
+ * <pre>
+ * {
+ *   "en": {"format": "properties", "shards": 16},
+ *   "fr": {"format": "json"}
+ * }
+ * </pre>
+ * Knowing the format avoids probing all supported formats (and the "... 404 (Not Found)" logs in the browser console).
+ * If the language has no shards, its whole dictionary file is loaded (as with ResourceAstDictionaryLoader). Otherwise,
+ * only the shards containing the requested keys are loaded and parsed, the shard resource path being the dictionary
+ * resource path with "{lang}" replaced by "{lang}-{shardIndex}" (ex: en-3.properties). The shard of a key is given by
+ * ShardedAstDictionary.shardIndex(), which must be the same computation as the one used by the build tool generating
+ * the shards. The loaded shards are added to the same dictionary instance per language, so the keys loaded in the
+ * previous frames remain available.
+ *
+ * @author Bruno Salmon
+ */
+final class IndexedResourceAstDictionaryLoader implements DictionaryLoader {
+
+    private final String indexResourcePath;
+    private final String astResourcePathWithLangPattern;
+    private Future<ReadOnlyAstObject> indexFuture;
+    private final Map<Object /* lang */, Dictionary> dictionaryCache = new HashMap<>();
+    // Loading in progress, to not load the same dictionary or shard twice when requested again in the meantime
+    private final Map<String /* resource path */, Future<Dictionary>> loadingFutures = new HashMap<>();
+
+    IndexedResourceAstDictionaryLoader(String indexResourcePath, String astResourcePathWithLangPattern) {
+        this.indexResourcePath = indexResourcePath;
+        this.astResourcePathWithLangPattern = astResourcePathWithLangPattern;
+    }
+
+    private String getDictionaryResourcePath(String lang, String format) {
+        String path = astResourcePathWithLangPattern;
+        path = Strings.replaceAll(path, "{lang}", lang);
+        path = Strings.replaceAll(path, "{format}", format);
+        return path;
+    }
+
+    private Future<ReadOnlyAstObject> loadIndex() {
+        if (indexFuture == null) {
+            Promise<ReadOnlyAstObject> promise = Promise.promise();
+            indexFuture = promise.future();
+            Resource.loadText(indexResourcePath, text -> {
+                if (text == null) { // null happens on JRE when resource doesn't exist
+                    promise.tryFail("No i18n dictionary index found at " + indexResourcePath);
+                    return;
+                }
+                try {
+                    String indexFormat = indexResourcePath.substring(indexResourcePath.lastIndexOf('.') + 1);
+                    promise.tryComplete(AST.parseObject(text, indexFormat));
+                } catch (Exception e) { // Can happen while parsing the text in the format
+                    promise.tryFail(new RuntimeException("⛔️ Format error in i18n dictionary index " + indexResourcePath + " - error: " + e.getMessage()));
+                }
+            }, promise::tryFail);
+        }
+        return indexFuture;
+    }
+
+    @Override
+    public Future<Dictionary> loadDictionary(Object lang, Set<Object> keys) {
+        return loadIndex().compose(index -> {
+            String sLang = Strings.toString(lang);
+            Object langEntry = index.get(sLang);
+            if (!(langEntry instanceof ReadOnlyAstObject))
+                return Future.failedFuture("No dictionary found for language " + lang);
+            ReadOnlyAstObject langIndex = (ReadOnlyAstObject) langEntry;
+            String format = Strings.toString(langIndex.get("format"));
+            Object shards = langIndex.get("shards");
+            int shardCount = shards instanceof Number ? ((Number) shards).intValue() : shards == null ? 0 : Integer.parseInt(Strings.toString(shards));
+            if (shardCount <= 0)
+                return loadWholeDictionary(lang, sLang, format);
+            return loadDictionaryShards(lang, sLang, format, shardCount, keys);
+        });
+    }
+
+    private Future<Dictionary> loadWholeDictionary(Object lang, String sLang, String format) {
+        Dictionary cachedDictionary = dictionaryCache.get(lang);
+        if (cachedDictionary != null)
+            return Future.succeededFuture(cachedDictionary);
+        String dictionaryResourcePath = getDictionaryResourcePath(sLang, format);
+        return loadAstDictionary(dictionaryResourcePath, format, null)
+            .map(dictionary -> {
+                dictionaryCache.put(lang, dictionary);
+                return dictionary;
+            });
+    }
+
+    private Future<Dictionary> loadDictionaryShards(Object lang, String sLang, String format, int shardCount, Set<Object> keys) {
+        ShardedAstDictionary dictionary = (ShardedAstDictionary) dictionaryCache.computeIfAbsent(lang, l -> new ShardedAstDictionary(shardCount));
+        // Collecting the shards to load for the requested keys (sorted for a deterministic loading order)
+        Set<Integer> shardIndexes = new TreeSet<>();
+        for (Object key : keys) {
+            String sKey = Strings.toString(key);
+            if (sKey == null)
+                continue;
+            addShardIndex(shardIndexes, dictionary, sKey);
+            // The i18n provider interprets some prefixes & suffixes (ex: "<<Key", "Key:", "Key?", "Key>>"), so we also
+            // load the shard of the key without them
+            String sStrippedKey = stripNonLetterOrDigitPrefixAndSuffix(sKey);
+            if (!sStrippedKey.isEmpty() && !sStrippedKey.equals(sKey))
+                addShardIndex(shardIndexes, dictionary, sStrippedKey);
+        }
+        if (shardIndexes.isEmpty())
+            return Future.succeededFuture(dictionary);
+        Promise<Dictionary> promise = Promise.promise();
+        AtomicInteger remainingCounter = new AtomicInteger(shardIndexes.size());
+        List<Object> failures = new ArrayList<>();
+        for (int shardIndex : shardIndexes) {
+            String shardResourcePath = getDictionaryResourcePath(sLang + "-" + shardIndex, format);
+            loadAstDictionary(shardResourcePath, format, dictionary)
+                .onSuccess(shard -> dictionary.setShard(shardIndex, (AstDictionary) shard))
+                .onFailure(failures::add)
+                .onComplete(ar -> {
+                    if (remainingCounter.decrementAndGet() == 0) {
+                        // Returning the dictionary even if some shards failed, so that the keys of the loaded shards
+                        // are displayed, unless nothing could be loaded at all.
+                        if (failures.size() == shardIndexes.size())
+                            promise.tryFail(ar.cause());
+                        else
+                            promise.tryComplete(dictionary);
+                    }
+                });
+        }
+        return promise.future();
+    }
+
+    private static void addShardIndex(Set<Integer> shardIndexes, ShardedAstDictionary dictionary, String key) {
+        int shardIndex = dictionary.shardIndex(key);
+        if (!dictionary.isShardLoaded(shardIndex))
+            shardIndexes.add(shardIndex);
+    }
+
+    private static String stripNonLetterOrDigitPrefixAndSuffix(String key) {
+        int start = 0, end = key.length();
+        while (start < end && !Character.isLetterOrDigit(key.charAt(start)))
+            start++;
+        while (end > start && !Character.isLetterOrDigit(key.charAt(end - 1)))
+            end--;
+        return key.substring(start, end);
+    }
+
+    private Future<Dictionary> loadAstDictionary(String dictionaryResourcePath, String format, Dictionary interpretationDictionary) {
+        Future<Dictionary> loadingFuture = loadingFutures.get(dictionaryResourcePath);
+        if (loadingFuture != null)
+            return loadingFuture;
+        Promise<Dictionary> promise = Promise.promise();
+        loadingFutures.put(dictionaryResourcePath, promise.future());
+        Resource.loadText(dictionaryResourcePath, text -> {
+            if (text == null) // null happens on JRE when resource doesn't exist
+                promise.tryFail("No i18n dictionary found at " + dictionaryResourcePath);
+            else {
+                try {
+                    promise.tryComplete(new AstDictionary(text, format, interpretationDictionary));
+                } catch (Exception e) { // Can happen while parsing the text in the format
+                    promise.tryFail(new RuntimeException("⛔️ Format error in i18n dictionary " + dictionaryResourcePath + " - error: " + e.getMessage()));
+                }
+            }
+        }, promise::tryFail);
+        // Once loaded, the dictionary is kept by the caller, so we don't need to keep its future (and on failure, this
+        // allows a later retry)
+        return promise.future().onComplete(ar -> loadingFutures.remove(dictionaryResourcePath));
+    }
+}
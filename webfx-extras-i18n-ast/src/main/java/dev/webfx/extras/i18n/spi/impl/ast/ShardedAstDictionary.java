@@ -0,0 +1,61 @@
+package dev.webfx.extras.i18n.spi.impl.ast;
+
+import dev.webfx.extras.i18n.Dictionary;
+import dev.webfx.extras.i18n.MessageTemplate;
+import dev.webfx.extras.i18n.TokenKey;
+import dev.webfx.platform.util.Strings;
+
+import java.util.Locale;
+
+/**
+ * Dictionary of a language split into shards, which are loaded on demand by IndexedResourceAstDictionaryLoader. Each
+ * key belongs to the shard given by shardIndex() (computed on the lower case key, so that the case variants of a key
+ * are in the same shard). The keys of the shards not loaded yet are simply not found (which makes the i18n provider
+ * request their loading).
+ *
+ * @author Bruno Salmon
+ */
+final class ShardedAstDictionary implements Dictionary {
+
+    private final AstDictionary[] shards;
+
+    ShardedAstDictionary(int shardCount) {
+        shards = new AstDictionary[shardCount];
+    }
+
+    int getShardCount() {
+        return shards.length;
+    }
+
+    boolean isShardLoaded(int shardIndex) {
+        return shards[shardIndex] != null;
+    }
+
+    void setShard(int shardIndex, AstDictionary shard) {
+        shards[shardIndex] = shard;
+    }
+
+    int shardIndex(Object messageKey) {
+        return shardIndex(Strings.toString(messageKey), shards.length);
+    }
+
+    // Must be the same computation as the one used by the build tool generating the shards. The lower case conversion
+    // is locale-insensitive, so the shard of a key doesn't depend on the user locale (ex: "TITLE" in Turkish).
+    static int shardIndex(String key, int shardCount) {
+        if (key == null)
+            return 0;
+        return Math.floorMod(key.toLowerCase(Locale.ROOT).hashCode(), shardCount);
+    }
+
+    @Override
+    public <TK extends Enum<?> & TokenKey> Object getMessageTokenValue(Object messageKey, TK tokenKey, boolean ignoreCase) {
+        AstDictionary shard = shards[shardIndex(messageKey)];
+        return shard == null ? null : shard.getMessageTokenValue(messageKey, tokenKey, ignoreCase);
+    }
+
+    @Override
+    public <TK extends Enum<?> & TokenKey> MessageTemplate getMessageTokenTemplate(Object messageKey, TK tokenKey) {
+        AstDictionary shard = shards[shardIndex(messageKey)];
+        return shard == null ? null : shard.getMessageTokenTemplate(messageKey, tokenKey);
+    }
+}
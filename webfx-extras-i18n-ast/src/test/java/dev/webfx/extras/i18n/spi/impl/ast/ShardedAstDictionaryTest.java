@@ -0,0 +1,47 @@
+package dev.webfx.extras.i18n.spi.impl.ast;
+
+import dev.webfx.extras.i18n.DefaultTokenKey;
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Bruno Salmon
+ */
+class ShardedAstDictionaryTest {
+
+    @Test
+    void caseVariantsAreInTheSameShard() {
+        for (String key : new String[] { "title", "Booking", "expression: venue.address" })
+            assertEquals(ShardedAstDictionary.shardIndex(key.toLowerCase(Locale.ROOT), 16), ShardedAstDictionary.shardIndex(key.toUpperCase(Locale.ROOT), 16));
+    }
+
+    @Test
+    void shardIndexIsInRange() {
+        for (int i = 0; i < 1000; i++) {
+            int shardIndex = ShardedAstDictionary.shardIndex("key" + i, 7);
+            assertTrue(shardIndex >= 0 && shardIndex < 7);
+        }
+    }
+
+    @Test
+    void shardIndexDoesNotDependOnDefaultLocale() {
+        Locale defaultLocale = Locale.getDefault();
+        try {
+            Locale.setDefault(new Locale("tr")); // in Turkish, "TITLE".toLowerCase() gives a dotless i
+            assertEquals(Math.floorMod("title".hashCode(), 16), ShardedAstDictionary.shardIndex("TITLE", 16));
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    @Test
+    void nullKeyIsInFirstShard() {
+        assertEquals(0, ShardedAstDictionary.shardIndex(null, 16));
+        ShardedAstDictionary dictionary = new ShardedAstDictionary(16);
+        assertEquals(0, dictionary.shardIndex(null));
+        assertNull(dictionary.getMessageTokenValue(null, DefaultTokenKey.TEXT, false));
+    }
+}
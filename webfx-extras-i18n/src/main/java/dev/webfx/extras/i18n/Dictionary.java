@@ -7,4 +7,10 @@ public interface Dictionary {
 
     <TK extends Enum<?> & TokenKey> Object getMessageTokenValue(Object messageKey, TK tokenKey, boolean ignoreCase);
 
+    // Returns the template precompiled by the dictionary for that message token (if it's a String), or null if the
+    // dictionary doesn't precompile its messages (the i18n provider will then compile it itself)
+    default <TK extends Enum<?> & TokenKey> MessageTemplate getMessageTokenTemplate(Object messageKey, TK tokenKey) {
+        return null;
+    }
+
 }
@@ -0,0 +1,185 @@
+package dev.webfx.extras.i18n;
+
+import dev.webfx.extras.fxraiser.impl.DefaultFXValueRaiser;
+import dev.webfx.extras.fxraiser.impl.NamedArgument;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A compiled i18n message, made of literal segments, key references (ex: [key]), argument slots (ex: {0} or {name})
+ * and argument key references (ex: [{1}], i.e. an argument whose value is a key to interpret). Compiling the message
+ * once avoids re-parsing it on each evaluation, and rendering it is then a simple concatenation. The referenced keys
+ * are also the dependency keys of the message: if one of them changes, the message needs to be rendered again.
+ *
+ * @author Bruno Salmon
+ */
+public final class MessageTemplate {
+
+    private static final int LITERAL = 0, KEY = 1, ARGUMENT = 2, ARGUMENT_KEY = 3;
+    private static final Part[] NO_PARTS = {};
+
+    private static final class Part {
+        private final int type;
+        private final String text; // literal text, key or argument name
+
+        private Part(int type, String text) {
+            this.type = type;
+            this.text = text;
+        }
+
+        private String toSource() {
+            switch (type) {
+                case KEY: return "[" + text + "]";
+                case ARGUMENT: return "{" + text + "}";
+                case ARGUMENT_KEY: return "[{" + text + "}]";
+                default: return text;
+            }
+        }
+    }
+
+    private final String source;
+    private final Part[] parts;
+    private final List<String> referencedKeys;
+    private final boolean hasArguments;
+
+    private MessageTemplate(String source, List<Part> parts) {
+        this.source = source;
+        this.parts = parts.toArray(NO_PARTS);
+        List<String> referencedKeys = null;
+        boolean hasArguments = false;
+        for (Part part : parts) {
+            if (part.type == KEY) {
+                if (referencedKeys == null)
+                    referencedKeys = new ArrayList<>();
+                referencedKeys.add(part.text);
+            } else if (part.type != LITERAL)
+                hasArguments = true;
+        }
+        this.referencedKeys = referencedKeys == null ? Collections.emptyList() : referencedKeys;
+        this.hasArguments = hasArguments;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public boolean isLiteral() {
+        return parts.length == 0 || parts.length == 1 && parts[0].type == LITERAL;
+    }
+
+    public boolean hasKeyReferences() {
+        return !referencedKeys.isEmpty();
+    }
+
+    public boolean hasArguments() {
+        return hasArguments;
+    }
+
+    // The keys referenced in brackets (ex: [key]), i.e. the keys this message depends on
+    public List<String> getReferencedKeys() {
+        return referencedKeys;
+    }
+
+    /**
+     * Renders this message. The key references are resolved with the passed resolver (kept as is if it returns null),
+     * and the argument slots are replaced with the passed arguments (kept as is if there is no matching argument, or
+     * if args is null, which is useful to resolve the keys only and keep the arguments for a later rendering). If the
+     * message is made of a single key reference, the resolved value is returned as is (possibly not a String).
+     */
+    public Object render(Function<String, Object> keyResolver, Object[] args) {
+        if (parts.length == 1 && parts[0].type == KEY && keyResolver != null) {
+            Object resolvedValue = keyResolver.apply(parts[0].text);
+            return resolvedValue != null ? resolvedValue : source;
+        }
+        if (isLiteral())
+            return source;
+        StringBuilder sb = new StringBuilder(source.length() + 16);
+        for (Part part : parts) {
+            switch (part.type) {
+                case LITERAL:
+                    sb.append(part.text);
+                    break;
+                case KEY:
+                    appendResolvedKey(sb, part.text, keyResolver);
+                    break;
+                case ARGUMENT:
+                case ARGUMENT_KEY:
+                    String arg = args == null ? null : findArgument(part.text, args);
+                    if (arg == null)
+                        sb.append(part.toSource());
+                    else if (part.type == ARGUMENT)
+                        sb.append(arg);
+                    else
+                        appendResolvedKey(sb, arg, keyResolver);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static void appendResolvedKey(StringBuilder sb, String key, Function<String, Object> keyResolver) {
+        Object resolvedValue = keyResolver == null ? null : keyResolver.apply(key);
+        if (resolvedValue != null)
+            sb.append(resolvedValue);
+        else
+            sb.append('[').append(key).append(']');
+    }
+
+    // Same argument matching as ArgumentsInStringReplacer: {i} for the i-th argument, or {name} for a named argument
+    private static String findArgument(String name, Object[] args) {
+        for (int i = 0; i < args.length; i++) {
+            Object arg = args[i];
+            if (arg instanceof NamedArgument) {
+                NamedArgument namedArgument = (NamedArgument) arg;
+                if (name.equals(namedArgument.getName()))
+                    return String.valueOf(DefaultFXValueRaiser.getValueOrPropertyValue(namedArgument.getArgument()));
+            } else if (name.equals(String.valueOf(i)))
+                return String.valueOf(DefaultFXValueRaiser.getValueOrPropertyValue(arg));
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+
+    public static MessageTemplate compile(String message) {
+        // Most messages are just literal, in which case the template is simply the message itself
+        if (message.indexOf('[') < 0 && message.indexOf('{') < 0)
+            return new MessageTemplate(message, Collections.emptyList());
+        List<Part> parts = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int length = message.length();
+        int i = 0;
+        while (i < length) {
+            char c = message.charAt(i);
+            int end;
+            if (c == '[' && (end = message.indexOf(']', i + 1)) > i + 1) {
+                String content = message.substring(i + 1, end);
+                boolean argumentKey = content.length() > 2 && content.startsWith("{") && content.endsWith("}");
+                addPart(parts, literal, argumentKey ? ARGUMENT_KEY : KEY, argumentKey ? content.substring(1, content.length() - 1) : content);
+                i = end + 1;
+            } else if (c == '{' && (end = message.indexOf('}', i + 1)) > i + 1 && message.lastIndexOf('{', end) == i) {
+                addPart(parts, literal, ARGUMENT, message.substring(i + 1, end));
+                i = end + 1;
+            } else {
+                literal.append(c);
+                i++;
+            }
+        }
+        if (literal.length() > 0)
+            parts.add(new Part(LITERAL, literal.toString()));
+        return new MessageTemplate(message, parts);
+    }
+
+    private static void addPart(List<Part> parts, StringBuilder literal, int type, String text) {
+        if (literal.length() > 0) {
+            parts.add(new Part(LITERAL, literal.toString()));
+            literal.setLength(0);
+        }
+        parts.add(new Part(type, text));
+    }
+}
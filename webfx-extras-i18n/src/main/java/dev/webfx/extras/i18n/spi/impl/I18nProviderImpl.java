@@ -8,10 +8,12 @@ import dev.webfx.platform.util.Strings;
 import dev.webfx.platform.util.collection.Collections;
 import dev.webfx.extras.i18n.DefaultTokenKey;
 import dev.webfx.extras.i18n.Dictionary;
+import dev.webfx.extras.i18n.MessageTemplate;
 import dev.webfx.extras.i18n.TokenKey;
 import dev.webfx.extras.i18n.spi.I18nProvider;
 import dev.webfx.extras.fxraiser.FXRaiser;
 import dev.webfx.extras.fxraiser.FXValueRaiser;
+import dev.webfx.extras.fxraiser.impl.DefaultFXValueRaiser;
 import dev.webfx.extras.fxraiser.impl.ValueConverterRegistry;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.Property;
@@ -46,6 +48,58 @@ public class I18nProviderImpl implements I18nProvider {
         }
     }
 
+    // Key of the token value resolution cache. The dictionaries are compared by identity. The message keys of the
+    // possible parents (when the i18n key is a sub key) are part of the key, because the resolution of a sub key may
+    // depend on its parents (ex: brackets interpreted in the context of the referencing message).
+    private static final class ResolutionKey {
+        private final Dictionary dictionary;
+        private final Dictionary originalDictionary;
+        private final Object messageKey;
+        private final List<Object> parentMessageKeys; // null if the i18n key is not a sub key
+        private final TokenKey tokenKey;
+        private final int hashCode;
+
+        private ResolutionKey(Dictionary dictionary, Dictionary originalDictionary, Object messageKey, List<Object> parentMessageKeys, TokenKey tokenKey) {
+            this.dictionary = dictionary;
+            this.originalDictionary = originalDictionary;
+            this.messageKey = messageKey;
+            this.parentMessageKeys = parentMessageKeys;
+            this.tokenKey = tokenKey;
+            hashCode = 31 * (31 * (31 * (31 * System.identityHashCode(dictionary) + System.identityHashCode(originalDictionary)) + Objects.hashCode(messageKey)) + Objects.hashCode(parentMessageKeys)) + tokenKey.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof ResolutionKey)) return false;
+            ResolutionKey that = (ResolutionKey) o;
+            return hashCode == that.hashCode && dictionary == that.dictionary && originalDictionary == that.originalDictionary && tokenKey == that.tokenKey && Objects.equals(messageKey, that.messageKey) && Objects.equals(parentMessageKeys, that.parentMessageKeys);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    // Value of the token value resolution cache
+    private static final class ResolvedTokenValue {
+        private final Object tokenValue;
+        // Templates with key references met during the resolution, so the referencing i18n keys can be recorded again
+        // on cache hits (see recordReferencingI18nKey())
+        private final MessageTemplate[] referencingTemplates;
+
+        private ResolvedTokenValue(Object tokenValue, MessageTemplate[] referencingTemplates) {
+            this.tokenValue = tokenValue;
+            this.referencingTemplates = referencingTemplates;
+        }
+    }
+
+    private static final MessageTemplate[] NO_TEMPLATES = {};
+    // Default bounds of the caches below, sized for dictionaries of about 15,000 keys
+    private static final int DEFAULT_TOKEN_VALUE_CACHE_MAX_SIZE = 16384;
+    private static final int DEFAULT_MESSAGE_TEMPLATES_MAX_SIZE = 4096;
+
     static {
         ValueConverterRegistry.registerValueConverter(new FXValueRaiser() {
             @Override
@@ -80,6 +134,32 @@ public class I18nProviderImpl implements I18nProvider {
     private final Set<Object> defaultKeysToLoad = new HashSet<>();
     private final Set<Object> blacklistedKeys = new HashSet<>();
     private final FXValueRaiser i18nFxValueRaiser;
+    // Cache of the resolved token values (cleared on each dictionary change, and bounded with the least recently used
+    // values evicted first). The values that couldn't be resolved (which fall back to the message key and schedule a
+    // message loading) are not cached.
+    private final Map<ResolutionKey, ResolvedTokenValue> tokenValueCache = new LinkedHashMap<ResolutionKey, ResolvedTokenValue>(16, 0.75f, true) { // access order
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<ResolutionKey, ResolvedTokenValue> eldest) {
+            return size() > tokenValueCacheMaxSize;
+        }
+    };
+    private int tokenValueCacheMaxSize = DEFAULT_TOKEN_VALUE_CACHE_MAX_SIZE;
+    private int unresolvedTokenValueCount; // incremented each time a token value couldn't be resolved (never reset)
+    // Templates with key references met during the token value resolutions that are being cached (see above)
+    private final List<MessageTemplate> resolutionReferencingTemplates = new ArrayList<>();
+    private int cachingResolutionDepth;
+    // Compiled templates of the token values that are not precompiled by the dictionaries (cleared with the cache above,
+    // and bounded the same way)
+    private final Map<String, MessageTemplate> messageTemplates = new LinkedHashMap<String, MessageTemplate>(16, 0.75f, true) { // access order
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, MessageTemplate> eldest) {
+            return size() > messageTemplatesMaxSize;
+        }
+    };
+    private int messageTemplatesMaxSize = DEFAULT_MESSAGE_TEMPLATES_MAX_SIZE;
+    // Message keys referenced in brackets => i18n keys whose messages reference them (so they can be refreshed). Rebuilt
+    // on each language change from the live token properties (see onLanguageChanged()).
+    private final Map<Object, Set<Object>> referencingI18nKeys = new HashMap<>();
 
     public I18nProviderImpl(DictionaryLoader dictionaryLoader, Object defaultLanguage, Object initialLanguage) {
         this.dictionaryLoader = dictionaryLoader;
@@ -104,6 +184,23 @@ public class I18nProviderImpl implements I18nProvider {
         i18nFxValueRaiser = new FXValueRaiser() {
             @Override
             public <T> T raiseValue(Object value, Class<T> raisedClass, Object... args) {
+                // Fast path for texts: the arguments and brackets are resolved in a single pass by the compiled template
+                if (raisedClass == String.class) {
+                    Object textValue = DefaultFXValueRaiser.getValueOrPropertyValue(value);
+                    Dictionary textDictionary = getDictionary();
+                    if (textValue instanceof TokenSnapshot && ((TokenSnapshot) textValue).i18nProvider == I18nProviderImpl.this) {
+                        TokenSnapshot tokenSnapshot = (TokenSnapshot) textValue;
+                        textDictionary = tokenSnapshot.dictionary;
+                        textValue = getFreshTokenValueFromSnapshot(tokenSnapshot);
+                    }
+                    if (textValue instanceof String) {
+                        Dictionary dictionary = textDictionary;
+                        Object renderedValue = getMessageTemplate((String) textValue).render(key ->
+                            getCachedDictionaryTokenValue(new I18nSubKey(key, ""), DefaultTokenKey.TEXT, dictionary, dictionary, true), args);
+                        if (renderedValue instanceof String)
+                            return (T) renderedValue;
+                    }
+                }
                 // Doing default arguments resolution
                 T raisedValue = FXRaiser.getFxValueRaiserInstance().raiseValue(value, raisedClass, args);
                 // Doing post-bracket interpretation (works only for TEXT token)
@@ -136,7 +233,7 @@ public class I18nProviderImpl implements I18nProvider {
         return languageProperty;
     }
 
-    private final ObjectProperty<Dictionary> dictionaryProperty = new SimpleObjectProperty<>();
+    private final ObjectProperty<Dictionary> dictionaryProperty = FXProperties.newObjectProperty(this::clearTokenValueCache);
 
     @Override
     public ObservableObjectValue<Dictionary> dictionaryProperty() {
@@ -148,7 +245,7 @@ public class I18nProviderImpl implements I18nProvider {
         return defaultLanguage;
     }
 
-    private final Property<Dictionary> defaultDictionaryProperty = new SimpleObjectProperty<>();
+    private final Property<Dictionary> defaultDictionaryProperty = FXProperties.newObjectProperty(this::clearTokenValueCache);
 
     @Override
     public Dictionary getDefaultDictionary() {
@@ -161,7 +258,123 @@ public class I18nProviderImpl implements I18nProvider {
     public <TK extends Enum<?> & TokenKey> Object getDictionaryTokenValue(Object i18nKey, TK tokenKey, Dictionary dictionary) {
         if (dictionary == null)
             dictionary = getDictionary();
-        return getDictionaryTokenValueImpl(i18nKey, tokenKey, dictionary, false, dictionary, false, false);
+        return getCachedDictionaryTokenValue(i18nKey, tokenKey, dictionary, dictionary, false);
+    }
+
+    private <TK extends Enum<?> & TokenKey> Object getCachedDictionaryTokenValue(Object i18nKey, TK tokenKey, Dictionary dictionary, Dictionary originalDictionary, boolean skipMessageLoading) {
+        if (!isTokenValueCacheable(i18nKey))
+            return getDictionaryTokenValueImpl(i18nKey, tokenKey, dictionary, false, originalDictionary, false, skipMessageLoading);
+        ResolutionKey resolutionKey = new ResolutionKey(dictionary, originalDictionary, i18nKeyToDictionaryMessageKey(i18nKey), getParentMessageKeys(i18nKey), tokenKey);
+        ResolvedTokenValue resolvedTokenValue = tokenValueCache.get(resolutionKey);
+        if (resolvedTokenValue != null) {
+            // The resolution is skipped, but the referencing i18n keys must still be recorded for that i18n key
+            for (MessageTemplate template : resolvedTokenValue.referencingTemplates)
+                recordReferencingI18nKey(template, i18nKey);
+            return resolvedTokenValue.tokenValue;
+        }
+        int unresolvedCountBefore = unresolvedTokenValueCount;
+        int templatesCountBefore = resolutionReferencingTemplates.size();
+        cachingResolutionDepth++;
+        Object tokenValue;
+        try {
+            tokenValue = getDictionaryTokenValueImpl(i18nKey, tokenKey, dictionary, false, originalDictionary, false, skipMessageLoading);
+            // Caching the value only if fully resolved (including its possible bracket references)
+            if (unresolvedTokenValueCount == unresolvedCountBefore) {
+                List<MessageTemplate> templates = resolutionReferencingTemplates.subList(templatesCountBefore, resolutionReferencingTemplates.size());
+                tokenValueCache.put(resolutionKey, new ResolvedTokenValue(tokenValue, templates.isEmpty() ? NO_TEMPLATES : templates.toArray(new MessageTemplate[0])));
+            }
+        } finally {
+            if (--cachingResolutionDepth == 0)
+                resolutionReferencingTemplates.clear();
+        }
+        return tokenValue;
+    }
+
+    private List<Object> getParentMessageKeys(Object i18nKey) {
+        List<Object> parentMessageKeys = null;
+        while (i18nKey instanceof I18nSubKey) {
+            i18nKey = ((I18nSubKey) i18nKey).getParentI18nKey();
+            if (parentMessageKeys == null)
+                parentMessageKeys = new ArrayList<>(2);
+            parentMessageKeys.add(i18nKeyToDictionaryMessageKey(i18nKey));
+        }
+        return parentMessageKeys;
+    }
+
+    /**
+     * Tells if the token values of this i18n key can be cached. By default, this is the case for plain keys (String,
+     * enum) and for sub keys of such keys, because their values depend only on the message key and the dictionaries.
+     * Providers that use the internal state of some i18n keys in getDictionaryTokenValueImpl() (ex: a key holding an
+     * entity) must exclude them by overriding this method.
+     */
+    protected boolean isTokenValueCacheable(Object i18nKey) {
+        if (i18nKey instanceof I18nSubKey)
+            return isTokenValueCacheable(((I18nSubKey) i18nKey).getParentI18nKey());
+        return i18nKey instanceof String || i18nKey instanceof Enum;
+    }
+
+    protected void clearTokenValueCache() {
+        tokenValueCache.clear();
+        messageTemplates.clear();
+    }
+
+    /**
+     * Sets the maximal number of resolved token values kept in cache (the least recently used ones being evicted first).
+     * The default value suits dictionaries of about 15,000 keys, and applications displaying more token values can
+     * raise it.
+     */
+    public void setTokenValueCacheMaxSize(int tokenValueCacheMaxSize) {
+        this.tokenValueCacheMaxSize = tokenValueCacheMaxSize;
+        trimToSize(tokenValueCache, tokenValueCacheMaxSize);
+    }
+
+    /**
+     * Sets the maximal number of message templates compiled by this provider and kept in cache (i.e. the templates of
+     * the token values that are not precompiled by the dictionaries).
+     */
+    public void setMessageTemplatesMaxSize(int messageTemplatesMaxSize) {
+        this.messageTemplatesMaxSize = messageTemplatesMaxSize;
+        trimToSize(messageTemplates, messageTemplatesMaxSize);
+    }
+
+    private static void trimToSize(Map<?, ?> accessOrderedMap, int maxSize) {
+        // The least recently used entries come first in access-ordered maps
+        for (Iterator<?> it = accessOrderedMap.keySet().iterator(); accessOrderedMap.size() > maxSize && it.hasNext(); ) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private MessageTemplate getMessageTemplate(String message) {
+        MessageTemplate template = messageTemplates.get(message);
+        if (template == null)
+            messageTemplates.put(message, template = MessageTemplate.compile(message));
+        return template;
+    }
+
+    private void recordReferencingI18nKey(MessageTemplate template, Object i18nKey) {
+        if (cachingResolutionDepth > 0) // Also memorizing that template for the token values being cached
+            resolutionReferencingTemplates.add(template);
+        // The key to refresh is the root i18n key (the one of the live token properties)
+        while (i18nKey instanceof I18nSubKey)
+            i18nKey = ((I18nSubKey) i18nKey).getParentI18nKey();
+        if (i18nKey instanceof Enum || i18nKey instanceof String && !((String) i18nKey).isEmpty())
+            for (String referencedKey : template.getReferencedKeys())
+                referencingI18nKeys.computeIfAbsent(referencedKey, k -> new HashSet<>()).add(i18nKey);
+    }
+
+    private boolean refreshReferencingMessageTokenProperties(Object messageKey, Set<Object> refreshedI18nKeys) {
+        Set<Object> i18nKeys = referencingI18nKeys.get(messageKey);
+        boolean refreshed = false;
+        if (i18nKeys != null)
+            for (Object i18nKey : i18nKeys.toArray()) {
+                if (refreshedI18nKeys.add(i18nKey)) { // also prevents infinite loops on circular references
+                    refreshed |= refreshMessageTokenProperties(i18nKey);
+                    // The messages referencing that message need to be refreshed as well
+                    refreshed |= refreshReferencingMessageTokenProperties(i18nKeyToDictionaryMessageKey(i18nKey), refreshedI18nKeys);
+                }
+            }
+        return refreshed;
     }
 
     protected <TK extends Enum<?> & TokenKey> Object getDictionaryTokenValueImpl(Object i18nKey, TK tokenKey, Dictionary dictionary, boolean skipDefaultDictionary, Dictionary originalDictionary, boolean skipMessageKeyInterpretation, boolean skipMessageLoading) {
@@ -170,6 +383,8 @@ public class I18nProviderImpl implements I18nProvider {
         if (i18nKey != null) {
             Object messageKey = i18nKeyToDictionaryMessageKey(i18nKey);
             tokenValue = dictionary == null ? null : dictionary.getMessageTokenValue(messageKey, tokenKey, false);
+            // Template possibly precompiled by the dictionary when loaded (valid only for this direct token value)
+            MessageTemplate tokenValueTemplate = tokenValue instanceof String ? dictionary.getMessageTokenTemplate(messageKey, tokenKey) : null;
             // Message key prefix and suffix interpretation
             if (tokenValue == null && !skipMessageKeyInterpretation && messageKey instanceof String) {
                 String sKey = (String) messageKey;
@@ -233,7 +448,7 @@ public class I18nProviderImpl implements I18nProvider {
                     }
                 }
             }
-            tokenValue = interpretBracketsAndDefaultInTokenValue(tokenValue, messageKey, i18nKey, tokenKey, dictionary, skipDefaultDictionary, originalDictionary, skipMessageLoading);
+            tokenValue = interpretBracketsAndDefaultInTokenValue(tokenValue, tokenValueTemplate, messageKey, i18nKey, tokenKey, dictionary, skipDefaultDictionary, originalDictionary, skipMessageLoading);
         }
         // Temporary code which is a workaround for the YAML parser not able to parse line feeds in strings.
         if (tokenValue instanceof String) // TODO: remove this workaround once yaml parser is fixed
@@ -245,31 +460,43 @@ public class I18nProviderImpl implements I18nProvider {
         return tokenValue;
     }
 
+    /**
+     * @return the number of token values that couldn't be resolved so far (which fell back to their message key). This
+     * is a cumulative diagnostic counter, never reset (not even when a new dictionary is loaded), so the callers can
+     * compare this number before and after a resolution to know if it was complete.
+     */
+    public int getUnresolvedTokenValueCount() {
+        return unresolvedTokenValueCount;
+    }
+
     // public because called by AstDictionary to interpret token values within Ast objects as well
     public <TK extends Enum<?> & TokenKey> Object interpretBracketsAndDefaultInTokenValue(Object tokenValue, Object messageKey, Object i18nKey, TK tokenKey, Dictionary dictionary, boolean skipDefaultDictionary, Dictionary originalDictionary, boolean skipMessageLoading) {
-        // Token value bracket interpretation: if the value contains an i18n key in bracket, we interpret it
+        return interpretBracketsAndDefaultInTokenValue(tokenValue, null, messageKey, i18nKey, tokenKey, dictionary, skipDefaultDictionary, originalDictionary, skipMessageLoading);
+    }
+
+    private <TK extends Enum<?> & TokenKey> Object interpretBracketsAndDefaultInTokenValue(Object tokenValue, MessageTemplate tokenValueTemplate, Object messageKey, Object i18nKey, TK tokenKey, Dictionary dictionary, boolean skipDefaultDictionary, Dictionary originalDictionary, boolean skipMessageLoading) {
+        // Token value bracket interpretation: if the value contains i18n keys in brackets, we interpret them
         if (tokenValue instanceof String || tokenValue == null && messageKey instanceof String) {
             String sToken = (String) (tokenValue == null ? messageKey : tokenValue);
-            int i1 = sToken.indexOf('[');
-            if (i1 >= 0) {
-                int i2 = i1 == 0 && sToken.endsWith("]") ? sToken.length() - 1 : sToken.indexOf(']', i1 + 1);
-                if (i2 > 0) {
-                    // Note: we always use originalDictionary for the resolution, because even if that token value
-                    // comes from the default dictionary (ex: EN), we still want the brackets to be interpreted in
-                    // the original language (ex: FR).
-                    String bracketToken = sToken.substring(i1 + 1, i2);
-                    // Note: brackets such as [{0}] will be interpreted later by i18nFxValueRaiser, so we skip them here
-                    if (!(bracketToken.startsWith("{") && bracketToken.endsWith("}"))) {
-                        Object resolvedValue = getDictionaryTokenValueImpl(new I18nSubKey(bracketToken, i18nKey), tokenKey, originalDictionary, false, dictionary, false, skipMessageLoading);
-                        // If the bracket token has been resolved, we return it with the parts before and after the brackets
-                        if (resolvedValue != null) {
-                            if (i1 == 0 && i2 == sToken.length() - 1) // except if there are no parts before and after the brackets
-                                tokenValue = resolvedValue; // in which case we return the resolved object as is (possibly not a String)
-                            else
-                                tokenValue = (i1 == 0 ? "" : sToken.substring(0, i1)) + resolvedValue + sToken.substring(i2 + 1);
-                        }
-                    }
-                }
+            MessageTemplate template = tokenValueTemplate != null && tokenValue != null ? tokenValueTemplate
+                : sToken.indexOf('[') < 0 ? null : getMessageTemplate(sToken);
+            if (template != null && template.hasKeyReferences()) {
+                recordReferencingI18nKey(template, i18nKey);
+                // Note: we always use originalDictionary for the resolution, because even if that token value
+                // comes from the default dictionary (ex: EN), we still want the brackets to be interpreted in
+                // the original language (ex: FR).
+                int[] resolvedCount = {0};
+                // Note: arguments and brackets such as [{0}] are kept, as they will be interpreted later by i18nFxValueRaiser
+                Object renderedValue = template.render(bracketToken -> {
+                    Object resolvedValue = getCachedDictionaryTokenValue(new I18nSubKey(bracketToken, i18nKey), tokenKey, originalDictionary, dictionary, skipMessageLoading);
+                    if (resolvedValue != null)
+                        resolvedCount[0]++;
+                    return resolvedValue;
+                }, null);
+                // If a bracket token has been resolved, we return the rendered value (which is the resolved object
+                // as is - possibly not a String - if there are no parts before and after the brackets)
+                if (resolvedCount[0] > 0)
+                    tokenValue = renderedValue;
             }
         }
         if (tokenValue == null && !skipDefaultDictionary) {
@@ -277,6 +504,7 @@ public class I18nProviderImpl implements I18nProvider {
             if (dictionary != defaultDictionary && defaultDictionary != null)
                 tokenValue = getDictionaryTokenValueImpl(i18nKey, tokenKey, defaultDictionary, true, originalDictionary, false, skipMessageLoading); //getI18nPartValue(tokenSnapshot.i18nKey, part, defaultDictionary, skipPrefixOrSuffix);
             if (tokenValue == null) {
+                unresolvedTokenValueCount++;
                 if (!skipMessageLoading)
                     scheduleMessageLoading(i18nKey, true);
                 if (tokenKey == DefaultTokenKey.TEXT || tokenKey == DefaultTokenKey.GRAPHIC) // we use it also for graphic in Modality after evaluating an expression that gives the path to the icon
@@ -338,7 +566,7 @@ public class I18nProviderImpl implements I18nProvider {
     private Object getFreshTokenValueFromSnapshot(TokenSnapshot tokenSnapshot, Dictionary dictionary) {
         Object i18nKey = tokenSnapshot.i18nKey;
         TokenKey tokenKey = tokenSnapshot.tokenKey;
-        return getDictionaryTokenValueImpl(i18nKey, (Enum<?> & TokenKey) tokenKey, dictionary, false, dictionary, false, true);
+        return getCachedDictionaryTokenValue(i18nKey, (Enum<?> & TokenKey) tokenKey, dictionary, dictionary, true);
     }
 
     public boolean refreshMessageTokenProperties(Object freshI18nKey) {
@@ -392,10 +620,15 @@ public class I18nProviderImpl implements I18nProvider {
                     .onComplete(ar -> {
                         // Turning off dictionaryLoadRequired
                         dictionaryLoadRequired = false;
+                        // The loaded keys may have been added to the same dictionary instances (no dictionary change)
+                        clearTokenValueCache();
                         // Refreshing all loaded keys in the user interface
                         Set<Object> unfoundKeys = null;
+                        Set<Object> refreshedReferencingKeys = new HashSet<>();
                         for (Object key : loadingKeys) {
                             boolean found = refreshMessageTokenProperties(key);
+                            // Also refreshing the messages referencing that key in brackets
+                            found |= refreshReferencingMessageTokenProperties(i18nKeyToDictionaryMessageKey(key), refreshedReferencingKeys);
                             if (!found) {
                                 if (unfoundKeys == null)
                                     unfoundKeys = new HashSet<>();
@@ -447,6 +680,9 @@ public class I18nProviderImpl implements I18nProvider {
         if (isDictionaryLoading())
             return;
         dictionaryLoadRequired = true;
+        // The referencing i18n keys are rebuilt by the refresh below (which resolves all live token values again), so
+        // the keys no longer displayed, or whose messages no longer reference these keys, don't accumulate
+        referencingI18nKeys.clear();
         refreshAllLiveTokenSnapshots();
     }
 
@@ -0,0 +1,174 @@
+package dev.webfx.extras.imagestore;
+
+import javafx.scene.image.Image;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The images cache of the ImageStore. The images are keyed by their url and requested size, and the cache is bounded
+ * both in number of images and in estimated decoded bytes (4 bytes per pixel). When a bound is exceeded, the least
+ * recently used images are evicted.
+ *
+ * Reads are lock-free (the last access of an entry is recorded with a simple stamp), so the LRU order is approximate
+ * when several threads read the cache at the same time. Writes and evictions are done under a lock.
+ *
+ * @author Bruno Salmon
+ */
+final class ImageCache {
+
+    // Estimation for an image loading in the background with its natural size (updated once loaded)
+    private static final long UNKNOWN_SIZE_ESTIMATED_BYTES = 4 * 32 * 32;
+
+    private static final class Entry {
+        private final String key;
+        private final Image image;
+        private long bytes;
+        private volatile long lastAccess;
+
+        private Entry(String key, Image image, long bytes) {
+            this.key = key;
+            this.image = image;
+            this.bytes = bytes;
+        }
+    }
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Object writeLock = new Object();
+    private final AtomicLong accessClock = new AtomicLong();
+    private final AtomicLong hitCount = new AtomicLong(), missCount = new AtomicLong(), evictionCount = new AtomicLong();
+    private long totalBytes; // guarded by writeLock
+    private long maxBytes = 64L * 1024 * 1024;
+    private int maxEntries = 1024;
+
+    static String key(String url, double w, double h) {
+        return w == 0 && h == 0 ? url : url + '|' + w + 'x' + h;
+    }
+
+    // Records an access to that key for the LRU order and the statistics (a miss if not in the cache)
+    void recordAccess(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null)
+            missCount.incrementAndGet();
+        else {
+            entry.lastAccess = accessClock.incrementAndGet();
+            hitCount.incrementAndGet();
+        }
+    }
+
+    // Looks up the image without affecting the LRU order and the statistics (see recordAccess())
+    Image peek(String key) {
+        Entry entry = entries.get(key);
+        return entry == null ? null : entry.image;
+    }
+
+    // Puts the image in the cache unless another image is already cached for that key, and returns the cached image
+    Image putIfAbsent(String key, Image image, double w, double h) {
+        Entry entry;
+        synchronized (writeLock) {
+            Entry existing = entries.get(key);
+            if (existing != null)
+                return existing.image;
+            entry = new Entry(key, image, estimateBytes(image, w, h));
+            entry.lastAccess = accessClock.incrementAndGet();
+            entries.put(key, entry);
+            totalBytes += entry.bytes;
+            evictIfNecessary();
+        }
+        // The estimation is corrected once the image is loaded (if loading in the background)
+        if (image.getWidth() <= 0)
+            ImageStore.runOnImageLoaded(image, () -> updateEntryBytes(entry));
+        return image;
+    }
+
+    private static long estimateBytes(Image image, double w, double h) {
+        double width = image.getWidth() > 0 ? image.getWidth() : w, height = image.getHeight() > 0 ? image.getHeight() : h;
+        if (width <= 0 || height <= 0)
+            return UNKNOWN_SIZE_ESTIMATED_BYTES;
+        return 4 * (long) Math.ceil(width) * (long) Math.ceil(height);
+    }
+
+    private void updateEntryBytes(Entry entry) {
+        synchronized (writeLock) {
+            if (entries.get(entry.key) != entry) // already evicted
+                return;
+            long bytes = estimateBytes(entry.image, 0, 0);
+            totalBytes += bytes - entry.bytes;
+            entry.bytes = bytes;
+            evictIfNecessary();
+        }
+    }
+
+    // Must be called under writeLock
+    private void evictIfNecessary() {
+        if (totalBytes <= maxBytes && entries.size() <= maxEntries)
+            return;
+        // Evicting the least recently used entries down to 90% of the bounds, so that the next insertions don't
+        // immediately cause another eviction (which requires sorting the entries)
+        long targetBytes = maxBytes - maxBytes / 10;
+        int targetEntries = maxEntries - maxEntries / 10;
+        List<Entry> lruEntries = new ArrayList<>(entries.values());
+        lruEntries.sort((e1, e2) -> Long.compare(e1.lastAccess, e2.lastAccess));
+        for (Entry entry : lruEntries) {
+            if (totalBytes <= targetBytes && entries.size() <= targetEntries)
+                break;
+            entries.remove(entry.key);
+            totalBytes -= entry.bytes;
+            evictionCount.incrementAndGet();
+        }
+    }
+
+    void clear() {
+        synchronized (writeLock) {
+            entries.clear();
+            totalBytes = 0;
+        }
+    }
+
+    long getMaxBytes() {
+        return maxBytes;
+    }
+
+    void setMaxBytes(long maxBytes) {
+        synchronized (writeLock) {
+            this.maxBytes = maxBytes;
+            evictIfNecessary();
+        }
+    }
+
+    int getMaxEntries() {
+        return maxEntries;
+    }
+
+    void setMaxEntries(int maxEntries) {
+        synchronized (writeLock) {
+            this.maxEntries = maxEntries;
+            evictIfNecessary();
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    long getTotalBytes() {
+        synchronized (writeLock) {
+            return totalBytes;
+        }
+    }
+
+    long getHitCount() {
+        return hitCount.get();
+    }
+
+    long getMissCount() {
+        return missCount.get();
+    }
+
+    long getEvictionCount() {
+        return evictionCount.get();
+    }
+}
@@ -0,0 +1,178 @@
+package dev.webfx.extras.imagestore;
+
+import dev.webfx.kit.launcher.WebFxKitLauncher;
+import dev.webfx.platform.async.Future;
+import dev.webfx.platform.async.Promise;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.scene.image.Image;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Loads the images requested by ImageStore.prefetch() in the background, so they are already in the cache (and decoded)
+ * when the image views are created. The number of images loading at the same time is bounded, and the next images to
+ * load are picked from a queue where the visible images go first (and then in the requests order). Several requests for
+ * the same image (same url and size) share the same load and the same future.
+ *
+ * @author Bruno Salmon
+ */
+final class ImagePrefetcher {
+
+    private static final class Request {
+        private final String key, url;
+        private final double w, h;
+        private final long sequence;
+        private final Promise<Image> promise = Promise.promise();
+        private boolean visible, started;
+        private Image image; // set once the load is finished
+
+        private Request(String key, String url, double w, double h, boolean visible, long sequence) {
+            this.key = key;
+            this.url = url;
+            this.w = w;
+            this.h = h;
+            this.visible = visible;
+            this.sequence = sequence;
+        }
+    }
+
+    // Requests queued or loading, by image key
+    private final Map<String, Request> pendingRequests = new HashMap<>();
+    // Queued requests, ordered by priority (visible first) and then by sequence
+    private final PriorityQueue<Request> queue = new PriorityQueue<>((r1, r2) ->
+        r1.visible != r2.visible ? (r1.visible ? -1 : 1) : Long.compare(r1.sequence, r2.sequence));
+    // Requests whose load is finished, but whose promise is not yet completed. The promises are completed outside the
+    // lock, so the future handlers (which may call prefetch() again, or run any code) are not called while holding it.
+    private final List<Request> finishedRequests = new ArrayList<>();
+    private int maxConcurrentLoads = 4;
+    private int loadingCount;
+    private long sequence;
+    private boolean waitingKitReady;
+
+    Future<Image> prefetch(String url, double w, double h, boolean visible) {
+        Future<Image> future;
+        synchronized (this) {
+            future = prefetchLocked(url, w, h, visible);
+        }
+        completeFinishedRequests();
+        return future;
+    }
+
+    private Future<Image> prefetchLocked(String url, double w, double h, boolean visible) {
+        String key = ImageCache.key(url, w, h);
+        Request request = pendingRequests.get(key);
+        if (request != null) { // already requested
+            if (visible && !request.visible && !request.started) { // moving it up in the queue if now visible
+                queue.remove(request);
+                request.visible = true;
+                queue.add(request);
+            }
+            return request.promise.future();
+        }
+        Image image = ImageStore.peekImageFromCache(url, w, h); // not counted as a cache access (the image is not used yet)
+        if (image != null && isLoadFinished(image)) // already loaded
+            return image.isError() ? Future.failedFuture("Unable to load image from url " + url) : Future.succeededFuture(image);
+        request = new Request(key, url, w, h, visible, sequence++);
+        pendingRequests.put(key, request);
+        queue.add(request);
+        startNextLoads();
+        return request.promise.future();
+    }
+
+    synchronized int getMaxConcurrentLoads() {
+        return maxConcurrentLoads;
+    }
+
+    void setMaxConcurrentLoads(int maxConcurrentLoads) {
+        synchronized (this) {
+            this.maxConcurrentLoads = Math.max(1, maxConcurrentLoads);
+            startNextLoads();
+        }
+        completeFinishedRequests();
+    }
+
+    private void startNextLoads() {
+        // Any attempt to load an image before JavaFX is ready results in a crash (see ImageStore)
+        if (!WebFxKitLauncher.isReady()) {
+            if (!waitingKitReady) {
+                waitingKitReady = true;
+                WebFxKitLauncher.onReady(this::onKitReady);
+            }
+            return;
+        }
+        while (loadingCount < maxConcurrentLoads && !queue.isEmpty()) {
+            Request request = queue.poll();
+            request.started = true;
+            loadingCount++;
+            Image image = ImageStore.getOrCreateImage(request.url, request.w, request.h);
+            if (image == null || isLoadFinished(image))
+                onLoadFinished(request, image);
+            else
+                runOnLoadFinished(image, () -> {
+                    synchronized (this) {
+                        onLoadFinished(request, image);
+                        startNextLoads();
+                    }
+                    completeFinishedRequests();
+                });
+        }
+    }
+
+    private void onKitReady() {
+        synchronized (this) {
+            waitingKitReady = false;
+            startNextLoads();
+        }
+        completeFinishedRequests();
+    }
+
+    // Must be called under the lock
+    private void onLoadFinished(Request request, Image image) {
+        loadingCount--;
+        pendingRequests.remove(request.key);
+        request.image = image;
+        finishedRequests.add(request);
+    }
+
+    // Must be called outside the lock
+    private void completeFinishedRequests() {
+        List<Request> requests;
+        synchronized (this) {
+            if (finishedRequests.isEmpty())
+                return;
+            requests = new ArrayList<>(finishedRequests);
+            finishedRequests.clear();
+        }
+        for (Request request : requests) {
+            Image image = request.image;
+            if (image == null || image.isError())
+                request.promise.tryFail("Unable to load image from url " + request.url);
+            else
+                request.promise.tryComplete(image);
+        }
+    }
+
+    private static boolean isLoadFinished(Image image) {
+        return image.getWidth() > 0 || image.isError();
+    }
+
+    private static void runOnLoadFinished(Image image, Runnable runnable) {
+        InvalidationListener listener = new InvalidationListener() {
+            @Override
+            public void invalidated(Observable observable) {
+                if (isLoadFinished(image)) { // Note: this also revalidates the properties for the next invalidations
+                    image.widthProperty().removeListener(this);
+                    image.errorProperty().removeListener(this);
+                    runnable.run();
+                }
+            }
+        };
+        image.widthProperty().addListener(listener);
+        image.errorProperty().addListener(listener);
+    }
+}
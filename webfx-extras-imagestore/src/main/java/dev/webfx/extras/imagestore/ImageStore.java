@@ -5,16 +5,19 @@ import javafx.beans.value.ObservableValue;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import dev.webfx.kit.launcher.WebFxKitLauncher;
+import dev.webfx.platform.async.Future;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
 /**
  * @author Bruno Salmon
  */
 public final class ImageStore {
 
-    private final static Map<String, Image> imagesCache = new /*Weak*/HashMap<>();
+    private final static ImageCache imagesCache = new ImageCache();
+    private final static ImagePrefetcher imagesPrefetcher = new ImagePrefetcher();
 
     public static ImageView createImageView(String iconPath) {
         double wh = 0;
@@ -74,7 +77,7 @@ public final class ImageStore {
         return image.getWidth() > 0;
     }
 
-    private static void runOnImageLoaded(Image image, Runnable runnable) {
+    static void runOnImageLoaded(Image image, Runnable runnable) {
         image.widthProperty().addListener(new ChangeListener<Number>() { // just diamond <> doesn't compile with GWT for any reason
             @Override
             public void changed(ObservableValue<? extends Number> observable, Number oldValue, Number newValue) {
@@ -95,13 +98,15 @@ public final class ImageStore {
     }
 
     public static Image getOrCreateImage(String url, double w, double h) {
+        if (url == null)
+            return null;
         Image image = getImageFromCache(url, w, h);
-        if (image == null && url != null)
+        if (image == null)
             synchronized (imagesCache) {
-                image = getImageFromCache(url, w, h); // double check in case several threads were waiting
+                image = peekImageFromCache(url, w, h); // double check in case several threads were waiting
                 if (image == null) {
                     try {
-                        imagesCache.put(url, image = new Image(url, w, h, false, false, true));
+                        image = imagesCache.putIfAbsent(ImageCache.key(url, w, h), new Image(url, w, h, false, false, true), w, h);
                     } catch (Exception e) {
                         System.out.println("Unable to load image from url " + url);
                     }
@@ -111,9 +116,121 @@ public final class ImageStore {
     }
 
     public static Image getImageFromCache(String url, double w, double h) {
-        Image image = imagesCache.get(url);
-        if (image != null && (w != 0 && image.getWidth() != w || h != 0 && image.getHeight() != h))
-            image = null;
+        return findImageInCache(url, w, h, true);
+    }
+
+    // Same as getImageFromCache() but without affecting the LRU order and the cache statistics
+    static Image peekImageFromCache(String url, double w, double h) {
+        return findImageInCache(url, w, h, false);
+    }
+
+    private static Image findImageInCache(String url, double w, double h, boolean recordAccess) {
+        if (url == null)
+            return null;
+        String key = ImageCache.key(url, w, h);
+        Image image = imagesCache.peek(key);
+        if (image == null && (w != 0 || h != 0)) {
+            // The image loaded with its natural size is also accepted if that natural size is the requested one
+            String naturalSizeKey = ImageCache.key(url, 0, 0);
+            Image naturalSizeImage = imagesCache.peek(naturalSizeKey);
+            if (naturalSizeImage != null && (w == 0 || naturalSizeImage.getWidth() == w) && (h == 0 || naturalSizeImage.getHeight() == h)) {
+                image = naturalSizeImage;
+                key = naturalSizeKey;
+            }
+        }
+        if (recordAccess)
+            imagesCache.recordAccess(key);
         return image;
     }
+
+    // Prefetch API
+
+    /**
+     * Loads the images in the background (if not already in the cache), so they are ready when the image views are
+     * created. Note: w and h should be the same as the ones that will be passed to createImageView() (0 for the icons
+     * reset to their natural size once loaded), otherwise the image will be loaded again.
+     *
+     * @return a future per url (in the same order) that completes once the image is loaded.
+     */
+    public static List<Future<Image>> prefetch(Collection<String> urls, double w, double h) {
+        return prefetch(urls, w, h, false);
+    }
+
+    /**
+     * Same as prefetch(urls, w, h) but with the possibility to load these images before the non-visible ones.
+     */
+    public static List<Future<Image>> prefetch(Collection<String> urls, double w, double h, boolean visible) {
+        List<Future<Image>> futures = new ArrayList<>(urls.size());
+        for (String url : urls)
+            futures.add(prefetch(url, w, h, visible));
+        return futures;
+    }
+
+    public static Future<Image> prefetch(String url, double w, double h, boolean visible) {
+        if (url == null)
+            return Future.failedFuture("Image url is null");
+        return imagesPrefetcher.prefetch(url, w, h, visible);
+    }
+
+    /**
+     * @return the maximal number of images loading at the same time through prefetch() (4 by default).
+     */
+    public static int getPrefetchMaxConcurrentLoads() {
+        return imagesPrefetcher.getMaxConcurrentLoads();
+    }
+
+    public static void setPrefetchMaxConcurrentLoads(int maxConcurrentLoads) {
+        imagesPrefetcher.setMaxConcurrentLoads(maxConcurrentLoads);
+    }
+
+    // Cache configuration and statistics
+
+    /**
+     * @return the maximal estimated memory (in bytes) of the decoded images kept in the cache (64 MB by default).
+     */
+    public static long getCacheMaxBytes() {
+        return imagesCache.getMaxBytes();
+    }
+
+    public static void setCacheMaxBytes(long maxBytes) {
+        imagesCache.setMaxBytes(maxBytes);
+    }
+
+    /**
+     * @return the maximal number of images kept in the cache (1024 by default).
+     */
+    public static int getCacheMaxImages() {
+        return imagesCache.getMaxEntries();
+    }
+
+    public static void setCacheMaxImages(int maxImages) {
+        imagesCache.setMaxEntries(maxImages);
+    }
+
+    public static int getCacheImageCount() {
+        return imagesCache.size();
+    }
+
+    /**
+     * @return the estimated memory (in bytes) of the decoded images currently in the cache.
+     */
+    public static long getCacheBytes() {
+        return imagesCache.getTotalBytes();
+    }
+
+    public static long getCacheHitCount() {
+        return imagesCache.getHitCount();
+    }
+
+    public static long getCacheMissCount() {
+        return imagesCache.getMissCount();
+    }
+
+    public static long getCacheEvictionCount() {
+        return imagesCache.getEvictionCount();
+    }
+
+    public static void clearCache() {
+        imagesCache.clear();
+    }
 }
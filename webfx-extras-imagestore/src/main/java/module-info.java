@@ -6,6 +6,7 @@ module webfx.extras.imagestore {
     requires javafx.base;
     requires javafx.graphics;
     requires webfx.kit.launcher;
+    requires webfx.platform.async;
 
     // Exported packages
     exports dev.webfx.extras.imagestore;
@@ -3,11 +3,12 @@ package dev.webfx.extras.theme;
 
 import dev.webfx.platform.scheduler.Scheduled;
 import dev.webfx.platform.uischeduler.UiScheduler;
+import javafx.geometry.Bounds;
+import javafx.scene.Node;
+import javafx.scene.Scene;
 
 import java.lang.ref.WeakReference;
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
+import java.util.*;
 
 /**
  * @author Bruno Salmon
@@ -15,23 +16,33 @@ import java.util.List;
 public class ThemeRegistry {
 
     private final static List<Theme> THEMES = new ArrayList<>();
+    // Themes supporting each facet category (lazily computed, and reset when a new theme is registered)
+    private final static Map<Object /* facet category */, Theme[]> CATEGORY_THEMES = new HashMap<>();
     private final static List<WeakReference<Facet>> FACETS = new ArrayList<>();
     private final static List<Runnable> MODE_CHANGE_LISTENERS = new ArrayList<>();
+    // Time budget per animation frame for restyling the facets not visible on mode change
+    private final static long RESTYLE_FRAME_BUDGET_NANOS = 8_000_000;
+    // Facets waiting to be restyled after a mode change
+    private final static Deque<WeakReference<Facet>> PENDING_RESTYLE_FACETS = new ArrayDeque<>();
+    private static Scheduled pendingRestyleScheduled;
 
 
     public static void registerTheme(Theme theme) {
         THEMES.add(theme);
+        CATEGORY_THEMES.clear();
     }
 
     private static Scheduled purgeScheduled;
+    // Number of facets after the last purge, used to purge only when the list has grown enough (amortized cost)
+    private static int facetsSizeAfterLastPurge;
 
     public static void styleFacet(Facet facet) {
         FACETS.add(new WeakReference<>(facet));
         facet.getContainerNode().getProperties().put("facet", facet);
         styleFacetNow(facet);
-        if (purgeScheduled == null)
+        if (purgeScheduled == null && FACETS.size() > 2 * facetsSizeAfterLastPurge)
             purgeScheduled = UiScheduler.scheduleDelay(1000, () -> {
-                purgeGarbageCollectedFacets(false);
+                purgeGarbageCollectedFacets();
                 purgeScheduled = null;
             });
     }
@@ -41,17 +52,73 @@ public class ThemeRegistry {
     }
 
     public static void styleFacetNow(Facet facet, Object facetCategory) {
-        // THEMES.stream().filter(s -> s.supportsFacetCategory(facetCategory)).forEach(s -> s.styleFacet(facet, facetCategory)); // May throw ConcurrentModificationException
-        for (int i = 0; i < THEMES.size(); i++) {
-            Theme theme = THEMES.get(i);
-            if (theme.supportsFacetCategory(facetCategory))
-                theme.styleFacet(facet, facetCategory);
+        // Note: iterating an array snapshot, as a theme may register another theme while styling (which would otherwise
+        // throw a ConcurrentModificationException)
+        for (Theme theme : getCategoryThemes(facetCategory))
+            theme.styleFacet(facet, facetCategory);
+    }
+
+    private static Theme[] getCategoryThemes(Object facetCategory) {
+        Theme[] categoryThemes = CATEGORY_THEMES.get(facetCategory);
+        if (categoryThemes == null) {
+            List<Theme> themes = new ArrayList<>();
+            for (int i = 0; i < THEMES.size(); i++) {
+                Theme theme = THEMES.get(i);
+                if (theme.supportsFacetCategory(facetCategory))
+                    themes.add(theme);
+            }
+            CATEGORY_THEMES.put(facetCategory, categoryThemes = themes.toArray(new Theme[0]));
         }
+        return categoryThemes;
     }
 
+    /**
+     * Restyles all facets after a mode change. To keep the UI responsive with many facets, only the facets visible on
+     * screen are restyled immediately, and the others are restyled in the next animation frames, within a time budget
+     * per frame. The garbage-collected facets are purged in the same pass.
+     */
     public static void fireModeChanged() {
-        purgeGarbageCollectedFacets(true);
+        PENDING_RESTYLE_FACETS.clear(); // in case the previous mode change restyling is not finished
+        for (Iterator<WeakReference<Facet>> it = FACETS.iterator(); it.hasNext(); ) {
+            WeakReference<Facet> weakReference = it.next();
+            Facet facet = weakReference.get();
+            if (facet == null)
+                it.remove();
+            else if (isFacetVisibleOnScreen(facet))
+                styleFacetNow(facet);
+            else
+                PENDING_RESTYLE_FACETS.add(weakReference);
+        }
+        facetsSizeAfterLastPurge = FACETS.size();
         fireModeChangedImpl();
+        schedulePendingRestyle();
+    }
+
+    private static boolean isFacetVisibleOnScreen(Facet facet) {
+        Node node = facet.getContainerNode();
+        Scene scene = node.getScene();
+        if (scene == null)
+            return false;
+        for (Node n = node; n != null; n = n.getParent())
+            if (!n.isVisible())
+                return false;
+        Bounds sceneBounds = node.localToScene(node.getLayoutBounds());
+        return sceneBounds.getMaxX() >= 0 && sceneBounds.getMinX() <= scene.getWidth()
+               && sceneBounds.getMaxY() >= 0 && sceneBounds.getMinY() <= scene.getHeight();
+    }
+
+    private static void schedulePendingRestyle() {
+        if (pendingRestyleScheduled == null && !PENDING_RESTYLE_FACETS.isEmpty())
+            pendingRestyleScheduled = UiScheduler.scheduleInAnimationFrame(() -> {
+                pendingRestyleScheduled = null;
+                long startNanos = System.nanoTime();
+                while (!PENDING_RESTYLE_FACETS.isEmpty() && System.nanoTime() - startNanos < RESTYLE_FRAME_BUDGET_NANOS) {
+                    Facet facet = PENDING_RESTYLE_FACETS.poll().get();
+                    if (facet != null)
+                        styleFacetNow(facet);
+                }
+                schedulePendingRestyle();
+            });
     }
 
     public static void addModeChangeListener(Runnable listener) {
@@ -71,16 +138,9 @@ public class ThemeRegistry {
         MODE_CHANGE_LISTENERS.forEach(Runnable::run);
     }
 
-    private static void purgeGarbageCollectedFacets(boolean applyStyle) {
-        for (Iterator<WeakReference<Facet>> it = FACETS.iterator(); it.hasNext(); ) {
-            WeakReference<Facet> weakReference = it.next();
-            Facet facet = weakReference.get();
-            if (facet == null) {
-                //Console.log("Removed weak ref!!!");
-                it.remove();
-            } else if (applyStyle)
-                styleFacetNow(facet);
-        }
+    private static void purgeGarbageCollectedFacets() {
+        FACETS.removeIf(weakReference -> weakReference.get() == null);
+        facetsSizeAfterLastPurge = FACETS.size();
         //Console.log("FACETS.size() = " + FACETS.size());
     }
 
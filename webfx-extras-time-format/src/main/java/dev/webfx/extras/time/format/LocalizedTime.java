@@ -6,26 +6,56 @@ import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
+import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableStringValue;
 import javafx.beans.value.ObservableValue;
 import javafx.util.StringConverter;
 
+import java.lang.ref.WeakReference;
 import java.time.*;
 import java.time.format.DateTimeFormatter;
 import java.time.format.FormatStyle;
 import java.time.format.TextStyle;
-import java.util.Locale;
-import java.util.Map;
+import java.util.*;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
 /**
+ * Localized formatting of dates and times, following the locale set by setLocale().
+ *
+ * The formatters built from a format style or a pattern are interned per locale, and the observable formatters and
+ * texts returned by the property methods are not listening to the locale themselves (which would leak a listener on
+ * the static localeProperty for each of them). They are instead registered with weak references, and updated all
+ * together on locale change. The observable formatters built from a format style or a pattern are also shared.
+ *
+ * Important: as they are only weakly referenced, the observable texts returned by the format...Property() methods
+ * must be held strongly by the callers as long as they are in use (binding a node property to them is enough, as the
+ * binding holds them). A text that is not held anymore can be garbage collected, and then stops being updated.
+ *
  * @author Bruno Salmon
  */
 public final class LocalizedTime {
 
     private static final ObjectProperty<Locale> localeProperty = new SimpleObjectProperty<>(Locale.getDefault());
 
+    // Formatters built from a format style or a pattern, interned per locale
+    private static final Map<Locale, Map<String, DateTimeFormatter>> LOCALIZED_FORMATTERS = new HashMap<>();
+    // Shared observable formatters built from a format style or a pattern
+    private static final Map<String, WeakReference<LocaleFormatterProperty>> SHARED_FORMATTER_PROPERTIES = new HashMap<>();
+    // All observable formatters and texts to update on locale change
+    private static final List<WeakReference<LocaleDependent>> LOCALE_DEPENDENTS = new ArrayList<>();
+    // All format listeners added to the observable formatters (see formatObservableStringValue())
+    private static final List<WeakFormatListener> FORMAT_LISTENERS = new ArrayList<>();
+    // The garbage collected elements of the 2 lists above are purged when their size reaches these thresholds (which
+    // are then set to twice the remaining size, so the cost of the purges remains linear in the number of additions)
+    private static final int MIN_PURGE_THRESHOLD = 64;
+    private static int localeDependentsPurgeThreshold = MIN_PURGE_THRESHOLD;
+    private static int formatListenersPurgeThreshold = MIN_PURGE_THRESHOLD;
+
+    static {
+        FXProperties.runOnPropertyChange(LocalizedTime::refreshLocaleDependents, localeProperty);
+    }
+
     public static Locale getLocale() {
         return localeProperty.getValue();
     }
@@ -38,32 +68,157 @@ public final class LocalizedTime {
         localeProperty.setValue(locale);
     }
 
+    private interface LocaleDependent {
+        void refresh();
+    }
+
+    private static final class LocaleStringProperty extends SimpleStringProperty implements LocaleDependent {
+        private final Supplier<String> supplier;
+
+        private LocaleStringProperty(Supplier<String> supplier) {
+            this.supplier = supplier;
+            refresh();
+        }
+
+        @Override
+        public void refresh() {
+            set(supplier.get());
+        }
+    }
+
+    private static final class LocaleFormatterProperty extends SimpleObjectProperty<DateTimeFormatter> implements LocaleDependent {
+        private final Supplier<DateTimeFormatter> supplier;
+
+        private LocaleFormatterProperty(Supplier<DateTimeFormatter> supplier) {
+            this.supplier = supplier;
+            refresh();
+        }
+
+        @Override
+        public void refresh() {
+            set(supplier.get());
+        }
+    }
+
+    // Text formatted with an observable formatter. It keeps a strong reference to the formatter property (so it is
+    // updated as long as it is in use), while the formatter property only has a weak listener to it.
+    private static final class FormattedStringProperty extends SimpleStringProperty {
+        private final ObservableValue<DateTimeFormatter> formatterProperty;
+
+        private FormattedStringProperty(ObservableValue<DateTimeFormatter> formatterProperty) {
+            this.formatterProperty = formatterProperty;
+        }
+    }
+
+    private static final class WeakFormatListener implements ChangeListener<DateTimeFormatter> {
+        private final ObservableValue<DateTimeFormatter> formatterProperty;
+        private final WeakReference<StringProperty> stringPropertyReference;
+        private final Function<DateTimeFormatter, String> formatFunction;
+
+        private WeakFormatListener(ObservableValue<DateTimeFormatter> formatterProperty, StringProperty stringProperty, Function<DateTimeFormatter, String> formatFunction) {
+            this.formatterProperty = formatterProperty;
+            stringPropertyReference = new WeakReference<>(stringProperty);
+            this.formatFunction = formatFunction;
+        }
+
+        private boolean isCleared() {
+            return stringPropertyReference.get() == null;
+        }
+
+        @Override
+        public void changed(ObservableValue<? extends DateTimeFormatter> observable, DateTimeFormatter oldValue, DateTimeFormatter newValue) {
+            StringProperty stringProperty = stringPropertyReference.get();
+            if (stringProperty == null) // garbage collected
+                observable.removeListener(this);
+            else
+                stringProperty.set(formatFunction.apply(newValue));
+        }
+    }
+
+    private static <T extends LocaleDependent> T registerLocaleDependent(T localeDependent) {
+        if (LOCALE_DEPENDENTS.size() >= localeDependentsPurgeThreshold) {
+            LOCALE_DEPENDENTS.removeIf(reference -> reference.get() == null);
+            localeDependentsPurgeThreshold = Math.max(MIN_PURGE_THRESHOLD, 2 * LOCALE_DEPENDENTS.size());
+        }
+        LOCALE_DEPENDENTS.add(new WeakReference<>(localeDependent));
+        return localeDependent;
+    }
+
+    private static void addFormatListener(WeakFormatListener formatListener) {
+        if (FORMAT_LISTENERS.size() >= formatListenersPurgeThreshold) {
+            // Removing the listeners of the garbage collected texts from their formatters (otherwise they would be
+            // removed only on the next formatter change, which may never happen)
+            FORMAT_LISTENERS.removeIf(listener -> {
+                if (!listener.isCleared())
+                    return false;
+                listener.formatterProperty.removeListener(listener);
+                return true;
+            });
+            formatListenersPurgeThreshold = Math.max(MIN_PURGE_THRESHOLD, 2 * FORMAT_LISTENERS.size());
+        }
+        FORMAT_LISTENERS.add(formatListener);
+        formatListener.formatterProperty.addListener(formatListener);
+    }
+
+    // Bulk update of all observable formatters and texts on locale change (the formatters first, as the texts formatted
+    // with them are updated through their listeners)
+    private static void refreshLocaleDependents() {
+        List<LocaleDependent> localeDependents = new ArrayList<>(LOCALE_DEPENDENTS.size());
+        for (Iterator<WeakReference<LocaleDependent>> it = LOCALE_DEPENDENTS.iterator(); it.hasNext(); ) {
+            LocaleDependent localeDependent = it.next().get();
+            if (localeDependent == null) // garbage collected
+                it.remove();
+            else if (localeDependent instanceof LocaleFormatterProperty)
+                localeDependent.refresh();
+            else
+                localeDependents.add(localeDependent);
+        }
+        localeDependents.forEach(LocaleDependent::refresh);
+        SHARED_FORMATTER_PROPERTIES.values().removeIf(reference -> reference.get() == null);
+    }
+
+    private static DateTimeFormatter localizedFormatter(String key, Supplier<DateTimeFormatter> factory) {
+        Locale locale = getLocale();
+        Map<String, DateTimeFormatter> formatters = LOCALIZED_FORMATTERS.computeIfAbsent(locale, l -> new HashMap<>());
+        DateTimeFormatter formatter = formatters.get(key);
+        if (formatter == null)
+            formatters.put(key, formatter = factory.get().withLocale(locale));
+        return formatter;
+    }
+
     private static ObservableStringValue localeObservableStringValue(Supplier<String> supplier) {
-        StringProperty stringProperty = new SimpleStringProperty();
-        FXProperties.runNowAndOnPropertyChange(() -> stringProperty.set(supplier.get()), localeProperty);
-        return stringProperty;
+        return registerLocaleDependent(new LocaleStringProperty(supplier));
     }
 
     private static ObservableValue<DateTimeFormatter> localeDateTimeFormatterProperty(Supplier<DateTimeFormatter> supplier) {
-        ObjectProperty<DateTimeFormatter> formatterProperty = new SimpleObjectProperty<>();
-        FXProperties.runNowAndOnPropertyChange(() -> formatterProperty.set(supplier.get()), localeProperty);
+        return registerLocaleDependent(new LocaleFormatterProperty(supplier));
+    }
+
+    private static ObservableValue<DateTimeFormatter> sharedLocaleDateTimeFormatterProperty(String key, Supplier<DateTimeFormatter> supplier) {
+        WeakReference<LocaleFormatterProperty> reference = SHARED_FORMATTER_PROPERTIES.get(key);
+        LocaleFormatterProperty formatterProperty = reference == null ? null : reference.get();
+        if (formatterProperty == null) {
+            formatterProperty = registerLocaleDependent(new LocaleFormatterProperty(supplier));
+            SHARED_FORMATTER_PROPERTIES.put(key, new WeakReference<>(formatterProperty));
+        }
         return formatterProperty;
     }
 
     private static ObservableStringValue formatObservableStringValue(ObservableValue<DateTimeFormatter> formatterProperty, Function<DateTimeFormatter, String> formatFunction) {
-        StringProperty stringProperty = new SimpleStringProperty();
-        FXProperties.runNowAndOnPropertyChange(dateTimeFormatter -> stringProperty.set(formatFunction.apply(dateTimeFormatter)), formatterProperty);
+        StringProperty stringProperty = new FormattedStringProperty(formatterProperty);
+        stringProperty.set(formatFunction.apply(formatterProperty.getValue()));
+        addFormatListener(new WeakFormatListener(formatterProperty, stringProperty, formatFunction));
         return stringProperty;
     }
 
     // Date formatter
 
     public static DateTimeFormatter dateFormatter(FormatStyle dateFormatStyle) {
-        return dateFormatter((DateTimeFormatter.ofLocalizedDate(dateFormatStyle)));
+        return localizedFormatter("date:" + dateFormatStyle, () -> DateTimeFormatter.ofLocalizedDate(dateFormatStyle));
     }
 
     public static DateTimeFormatter dateFormatter(String datePattern) {
-        return dateFormatter(DateTimeFormatter.ofPattern(datePattern));
+        return localizedFormatter("pattern:" + datePattern, () -> DateTimeFormatter.ofPattern(datePattern));
     }
 
     public static DateTimeFormatter dateFormatter(DateTimeFormatter dateFormatter) {
@@ -85,11 +240,11 @@ public final class LocalizedTime {
     }
 
     public static ObservableValue<DateTimeFormatter> dateFormatterProperty(FormatStyle dateFormatStyle) {
-        return localeDateTimeFormatterProperty(() -> dateFormatter(dateFormatStyle));
+        return sharedLocaleDateTimeFormatterProperty("date:" + dateFormatStyle, () -> dateFormatter(dateFormatStyle));
     }
 
     public static ObservableValue<DateTimeFormatter> dateFormatterProperty(String datePattern) {
-        return localeDateTimeFormatterProperty(() -> dateFormatter(datePattern));
+        return sharedLocaleDateTimeFormatterProperty("pattern:" + datePattern, () -> dateFormatter(datePattern));
     }
 
     public static ObservableValue<DateTimeFormatter> dateFormatterProperty(DateTimeFormatter dateFormatter) {
@@ -107,11 +262,11 @@ public final class LocalizedTime {
     // Date & time formatter
 
     public static DateTimeFormatter dateTimeFormatter(FormatStyle dateTimeFormatStyle) {
-        return dateTimeFormatter(DateTimeFormatter.ofLocalizedDateTime(dateTimeFormatStyle));
+        return localizedFormatter("dateTime:" + dateTimeFormatStyle, () -> DateTimeFormatter.ofLocalizedDateTime(dateTimeFormatStyle));
     }
 
     public static DateTimeFormatter dateTimeFormatter(String dateTimePattern) {
-        return dateTimeFormatter(DateTimeFormatter.ofPattern(dateTimePattern));
+        return localizedFormatter("pattern:" + dateTimePattern, () -> DateTimeFormatter.ofPattern(dateTimePattern));
     }
 
     public static DateTimeFormatter dateTimeFormatter(DateTimeFormatter dateTimeFormatter) {
@@ -122,10 +277,10 @@ public final class LocalizedTime {
         FormatStyle dateStyle = dateFormat.getFormatStyle();
         FormatStyle timeStyle = timeFormat.getFormatStyle();
         if (dateStyle != null && timeStyle != null)
-            return dateTimeFormatter(DateTimeFormatter.ofLocalizedDateTime(dateStyle, timeStyle));
+            return localizedFormatter("dateTime:" + dateStyle + "," + timeStyle, () -> DateTimeFormatter.ofLocalizedDateTime(dateStyle, timeStyle));
         String datePattern = inferLocalDatePattern(dateFormat, false);
         String timePattern = inferLocalTimePattern(timeFormat, false);
-        return dateFormatter(DateTimeFormatter.ofPattern(datePattern + " " + timePattern));
+        return dateTimeFormatter(datePattern + " " + timePattern);
     }
 
     public static DateTimeFormatter dateTimeFormatter(LocalizedDateTimeFormat dateTimeFormat) {
@@ -133,11 +288,11 @@ public final class LocalizedTime {
     }
 
     public static ObservableValue<DateTimeFormatter> dateTimeFormatterProperty(FormatStyle dateTimeFormatStyle) {
-        return localeDateTimeFormatterProperty(() -> dateTimeFormatter(dateTimeFormatStyle));
+        return sharedLocaleDateTimeFormatterProperty("dateTime:" + dateTimeFormatStyle, () -> dateTimeFormatter(dateTimeFormatStyle));
     }
 
     public static ObservableValue<DateTimeFormatter> dateTimeFormatterProperty(String dateTimePattern) {
-        return localeDateTimeFormatterProperty(() -> dateTimeFormatter(dateTimePattern));
+        return sharedLocaleDateTimeFormatterProperty("pattern:" + dateTimePattern, () -> dateTimeFormatter(dateTimePattern));
     }
 
     public static ObservableValue<DateTimeFormatter> dateTimeFormatterProperty(DateTimeFormatter dateTimeFormatter) {
@@ -155,11 +310,11 @@ public final class LocalizedTime {
     // Time formatter
 
     public static DateTimeFormatter timeFormatter(FormatStyle timeFormatStyle) {
-        return timeFormatter(DateTimeFormatter.ofLocalizedTime(timeFormatStyle));
+        return localizedFormatter("time:" + timeFormatStyle, () -> DateTimeFormatter.ofLocalizedTime(timeFormatStyle));
     }
 
     public static DateTimeFormatter timeFormatter(String timePattern) {
-        return timeFormatter(DateTimeFormatter.ofPattern(timePattern));
+        return localizedFormatter("pattern:" + timePattern, () -> DateTimeFormatter.ofPattern(timePattern));
     }
 
     public static DateTimeFormatter timeFormatter(DateTimeFormatter timeFormatter) {
@@ -181,11 +336,11 @@ public final class LocalizedTime {
     }
 
     public static ObservableValue<DateTimeFormatter> timeFormatterProperty(FormatStyle timeFormatStyle) {
-        return localeDateTimeFormatterProperty(() -> timeFormatter(timeFormatStyle));
+        return sharedLocaleDateTimeFormatterProperty("time:" + timeFormatStyle, () -> timeFormatter(timeFormatStyle));
     }
 
     public static ObservableValue<DateTimeFormatter> timeFormatterProperty(String timePattern) {
-        return localeDateTimeFormatterProperty(() -> timeFormatter(timePattern));
+        return sharedLocaleDateTimeFormatterProperty("pattern:" + timePattern, () -> timeFormatter(timePattern));
     }
 
     public static ObservableValue<DateTimeFormatter> timeFormatterProperty(DateTimeFormatter timeFormatter) {
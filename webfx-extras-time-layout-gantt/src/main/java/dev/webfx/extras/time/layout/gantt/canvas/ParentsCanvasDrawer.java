@@ -1,6 +1,7 @@
 package dev.webfx.extras.time.layout.gantt.canvas;
 
 import dev.webfx.extras.canvas.CanvasDrawer;
+import dev.webfx.extras.canvas.DrawMetrics;
 import dev.webfx.extras.canvas.layer.ChildDrawer;
 import dev.webfx.extras.canvas.layer.interact.CanvasInteractionManager;
 import dev.webfx.extras.canvas.layer.interact.HasCanvasInteractionManager;
@@ -50,6 +51,7 @@ public final class ParentsCanvasDrawer {
     private HeaderRotation parentHeaderRotation = HeaderRotation.NO_ROTATION;
 
     private javafx.geometry.Bounds drawingArea;
+    private DrawMetrics drawMetrics; // only when drawing on its own canvas (otherwise those of the children drawer)
 
     public ParentsCanvasDrawer(GanttLayoutImpl<?, ? extends Temporal> ganttLayout, CanvasDrawer childrenDrawer) {
         this(ganttLayout, childrenDrawer, null);
@@ -181,6 +183,16 @@ public final class ParentsCanvasDrawer {
         return this;
     }
 
+    // Returns the draw metrics of the children drawer when drawing on the same canvas (the parents are then drawn
+    // during the children draws), or its own draw metrics when drawing on a separate canvas.
+    public DrawMetrics getDrawMetrics() {
+        if (childrenDrawer != null)
+            return childrenDrawer.getDrawMetrics();
+        if (drawMetrics == null)
+            drawMetrics = new DrawMetrics();
+        return drawMetrics;
+    }
+
     double getLastVirtualViewPortY() {
         return lastVirtualViewPortY;
     }
@@ -188,8 +200,16 @@ public final class ParentsCanvasDrawer {
     // This method is called by (Virtual)CanvasPane (when this ParentsCanvasDrawer is in a slider - left side)
     // See GanttCanvasUtil.createParent(Virtual)CanvasPane()
     void refreshCanvas(double virtualCanvasWidth, double virtualCanvasHeight, double virtualViewPortY, boolean canvasSizeChanged) {
-        onBeforeChildrenDraw(virtualCanvasWidth, virtualViewPortY);
-        onAfterChildrenDraw(virtualCanvasWidth, virtualViewPortY);
+        DrawMetrics metrics = getDrawMetrics();
+        metrics.beginDraw(canvas);
+        if (DrawMetrics.isRecording())
+            DrawMetrics.recordLayoutSize(ganttLayout.getChildren().size(), ganttLayout.getRowsCount());
+        try {
+            onBeforeChildrenDraw(virtualCanvasWidth, virtualViewPortY);
+            onAfterChildrenDraw(virtualCanvasWidth, virtualViewPortY);
+        } finally {
+            metrics.endDraw();
+        }
     }
 
     private void onBeforeChildrenDraw(double virtualCanvasWidth, double virtualViewPortY) {
@@ -216,7 +236,7 @@ public final class ParentsCanvasDrawer {
         //gc.clearRect(0, 0, Math.min(canvas.getWidth(), virtualCanvasWidth), canvas.getHeight());
         drawingArea = new BoundingBox(0, 0, canvas.getWidth(), canvas.getHeight());
         // Translating the canvas to consider the effect of the virtual view port
-        gc.save();
+        DrawMetrics.save(gc);
         gc.translate(0, -lastVirtualViewPortY);
         // Drawing all grandparent and parents and strokes
         List<GrandparentRow> grandparentRows = ganttLayout.getGrandparentRows();
@@ -225,7 +245,7 @@ public final class ParentsCanvasDrawer {
         else
             drawParentsAndStrokes(ganttLayout.getParentRows(), gc, afterChildrenPass);
         // Restoring the canvas context (rolls back the translation)
-        gc.restore();
+        DrawMetrics.restore(gc);
     }
 
     private void drawGrandparentsWithTheirParentsAndStrokes(List<GrandparentRow> grandparentRows, GraphicsContext gc, boolean afterChildrenPass) {
@@ -244,6 +264,7 @@ public final class ParentsCanvasDrawer {
             if (rotated)
                 prepareStateForRotatedDraw(header, gc, rotation);
             grandparentDrawer.drawChild(grandparentRow.getGrandparent(), header, gc);
+            DrawMetrics.recordChildDrawn();
             if (rotated)
                 restoreStateAfterRotatedDraw(header, gc);
             /*if (verticalStroke != null*//* && verticalStrokeForeground == afterChildrenPass*//*) {
@@ -257,7 +278,7 @@ public final class ParentsCanvasDrawer {
 
     private void prepareStateForRotatedDraw(MutableBounds header, GraphicsContext gc, HeaderRotation rotation) {
         headerCoordinatesBeforeRotate.copyCoordinates(header);
-        gc.save();
+        DrawMetrics.save(gc);
         // Rotating the canvas using the bound center as the pivot point
         gc.translate(header.getCenterX(), header.getCenterY());
         gc.rotate(rotation.getAngle());
@@ -280,7 +301,7 @@ public final class ParentsCanvasDrawer {
         // Reestablishing the original bounds coordinates
         header.copyCoordinates(headerCoordinatesBeforeRotate);
         // Wiping the latest canvas transforms (translations & rotation)
-        gc.restore();
+        DrawMetrics.restore(gc);
     }
 
     private <C> void drawParentsAndStrokes(List<ParentRow<C>> parentRows, GraphicsContext gc, boolean afterChildrenPass) {
@@ -308,10 +329,10 @@ public final class ParentsCanvasDrawer {
             // If the parentRow is not fully expanded, we clip it to prevent drawing outside it
             boolean clipping = parentRow.isPartiallyOrFullyCollapsed();
             if (clipping) {
-                gc.save();
+                DrawMetrics.save(gc);
                 gc.beginPath();
                 gc.rect(parentRow.getMinX(), parentRow.getMinY(), parentRow.getWidth(), parentRow.getHeight());
-                gc.clip();
+                DrawMetrics.clip(gc);
             }
             MutableBounds header = parentRow.getHeader();
             HeaderRotation rotation = parentHeaderRotation;
@@ -320,6 +341,7 @@ public final class ParentsCanvasDrawer {
                 prepareStateForRotatedDraw(header, gc, rotation);
             Object parent = parentRow.getParent();
             parentDrawer.drawChild(parent, header, gc);
+            DrawMetrics.recordChildDrawn();
             if (rotated)
                 restoreStateAfterRotatedDraw(header, gc);
             int rowsCount = parentRow.getRowsCount();
@@ -364,7 +386,7 @@ public final class ParentsCanvasDrawer {
                 gc.fill();
             }
             if (clipping)
-                gc.restore();
+                DrawMetrics.restore(gc);
         }
     }
 
@@ -48,6 +48,11 @@ final class GanttChildBounds<C, T extends Temporal> extends ChildBounds<C, T> {
         return rowIndexInParentRow;
     }
 
+    // Called by the tetris packing of the parent row (see TetrisRow.pack())
+    void setRowIndexInParentRow(int rowIndexInParentRow) {
+        this.rowIndexInParentRow = rowIndexInParentRow;
+    }
+
     boolean overlaps(GanttChildBounds<C, ?> other) {
         double minX = getMinX();
         double otherMinX = other.getMinX();
@@ -56,6 +56,9 @@ public class GanttLayoutImpl<C, T extends Temporal> extends TimeLayoutBase<C, T>
     private final List<GrandparentRow> grandparentRows = new ArrayList<>();
     private Map<Object, ParentRow<C>> parentToParentRowMap = new HashMap<>(); // "final" between 2 recycling
     private Map<Object, GrandparentRow> grandparentToGrandparentRowMap = new HashMap<>(); // "final" between 2 recycling
+    // Indexes of the rows vertical positions (for binary search lookup)
+    private final RowYIndex parentRowsYIndex = new RowYIndex();
+    private final RowYIndex grandparentRowsYIndex = new RowYIndex();
 
     // Internal version management
     int childrenTreeVersion, builtChildrenTreeVersion; // impact the whole tree (grandparents + parents + children)
@@ -90,6 +93,14 @@ public class GanttLayoutImpl<C, T extends Temporal> extends TimeLayoutBase<C, T>
         return new GanttChildBounds<>(this);
     }
 
+    @Override
+    protected boolean canRecycleChildBounds() {
+        // With tetris packing, the old tetris rows of the parent rows still reference the previous children bounds to
+        // rebuild the new tetris rows in the same order (see ParentRow.computeChildTetrisRowIndex()), so recycling them
+        // for other children would corrupt that order
+        return !tetrisPacking;
+    }
+
     @Override
     public GanttLayoutImpl<C, T> setChildParentReader(Function<C, ?> childParentReader) {
         this.childParentReader = childParentReader;
@@ -357,10 +368,12 @@ public class GanttLayoutImpl<C, T extends Temporal> extends TimeLayoutBase<C, T>
     }
 
     public ParentRow<C> getParentRowAtY(double y) {
-        for (ParentRow<C> parentRow : parentRows)
-            if (y >= parentRow.getMinY() && y <= parentRow.getMaxY())
-                return parentRow;
-        return null;
+        return parentRowsYIndex.getRowAtY(parentRows, getRowsYIndexVersion(), y);
+    }
+
+    // The rows y positions change with the vertical layout, and the rows themselves change with the tree
+    int getRowsYIndexVersion() {
+        return verticalVersion + builtChildrenTreeVersion + builtProvidedTreeVersion;
     }
 
     private void invalidateChildrenTree() {
@@ -812,32 +825,40 @@ public class GanttLayoutImpl<C, T extends Temporal> extends TimeLayoutBase<C, T>
         if (!grandparentRows.isEmpty())
             processVisibleChildrenInGrandparentRows(grandparentRows, visibleArea, originX, originY, childProcessor);
         else
-            processVisibleChildrenInParentRows(parentRows, visibleArea, originX, originY, childProcessor);
+            processVisibleChildrenInParentRows(parentRows, parentRowsYIndex, visibleArea, originX, originY, childProcessor);
     }
 
     private void processVisibleChildrenInGrandparentRows(List<GrandparentRow> grandparentRows, javafx.geometry.Bounds visibleArea, double originX, double originY, BiConsumer<C, Bounds> childProcessor) {
         TimeLayoutUtil.processVisibleObjectBounds(
-            grandparentRows,
+            // Starting directly at the first grandparent row visible in the area
+            grandparentRowsYIndex.rowsEndingAfter(grandparentRows, getRowsYIndexVersion(), visibleArea.getMinY() + originY),
             // Since the translation animation doesn't apply to the grandparent rows, we correct originX accordingly
             true, visibleArea, originX - getTimeWindowTranslateX(), originY,
-            (grandparentRow, b) -> processVisibleChildrenInParentRows(grandparentRow.getParentRows(), visibleArea, originX, originY, childProcessor)
+            (grandparentRow, b) -> processVisibleChildrenInParentRows(grandparentRow.getParentRows(), grandparentRow.parentRowsYIndex, visibleArea, originX, originY, childProcessor)
         );
     }
 
-    private void processVisibleChildrenInParentRows(List<ParentRow<C>> parentRows, javafx.geometry.Bounds visibleArea, double originX, double originY, BiConsumer<C, Bounds> childProcessor) {
+    private void processVisibleChildrenInParentRows(List<ParentRow<C>> parentRows, RowYIndex parentRowsYIndex, javafx.geometry.Bounds visibleArea, double originX, double originY, BiConsumer<C, Bounds> childProcessor) {
         TimeLayoutUtil.processVisibleObjectBounds(
-            parentRows,
+            // Starting directly at the first parent row visible in the area
+            parentRowsYIndex.rowsEndingAfter(parentRows, getRowsYIndexVersion(), visibleArea.getMinY() + originY),
             // Since the translation animation doesn't apply to the parent rows, we correct originX accordingly
             true, visibleArea, originX - getTimeWindowTranslateX(), originY,
             (parentRow, b) -> processVisibleChildrenInParentRow(parentRow, visibleArea, originX, originY, childProcessor));
     }
 
     private void processVisibleChildrenInParentRow(ParentRow<C> parentRow, javafx.geometry.Bounds visibleArea, double originX, double originY, BiConsumer<C, Bounds> childProcessor) {
-        TimeLayoutUtil.processVisibleObjectBounds(
-            parentRow.getChildrenBounds(),
-            // Since the translation animation applies to the children, we don't correct originX
-            false, visibleArea, originX, originY,
-            childProcessor);
+        // Since the translation animation applies to the children, we don't correct originX
+        if (isSpatialIndexEnabled())
+            parentRow.getChildrenBoundsIndex().processVisibleObjectBounds(
+                parentRow.getChildrenBounds(),
+                horizontalVersion, verticalVersion, visibleArea, originX, originY,
+                childProcessor);
+        else
+            TimeLayoutUtil.processVisibleObjectBounds(
+                parentRow.getChildrenBounds(),
+                false, visibleArea, originX, originY,
+                childProcessor);
     }
 
     @Override
@@ -12,6 +12,7 @@ public final class GrandparentRow extends EnclosingRow<GrandparentRow> { // repr
     GrandparentRow aboveGrandparentRow;
     private final GanttLayoutImpl<?, ?> ganttLayout;
     final List<ParentRow<?>> parentRows = new ArrayList<>();
+    final RowYIndex parentRowsYIndex = new RowYIndex();
 
     public GrandparentRow(Object grandparent, GrandparentRow aboveGrandparentRow, GanttLayoutImpl<?, ?> ganttLayout) {
         super(ganttLayout);
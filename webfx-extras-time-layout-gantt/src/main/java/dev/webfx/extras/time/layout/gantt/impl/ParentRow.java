@@ -1,6 +1,7 @@
 package dev.webfx.extras.time.layout.gantt.impl;
 
 import dev.webfx.extras.time.layout.impl.ObjectBounds;
+import dev.webfx.extras.time.layout.impl.ObjectBoundsIndex;
 import dev.webfx.extras.util.animation.Animations;
 import javafx.animation.Timeline;
 import javafx.beans.property.DoubleProperty;
@@ -8,8 +9,9 @@ import javafx.beans.property.SimpleDoubleProperty;
 import javafx.util.Duration;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
 import java.util.stream.Stream;
 
 /**
@@ -22,7 +24,8 @@ public final class ParentRow<C> extends EnclosingRow<ParentRow<C>> {
     GrandparentRow grandparentRow;
     private final GanttLayoutImpl<C, ?> ganttLayout;
     private final List<GanttChildBounds<C, ?>> childrenBounds = new ArrayList<>();
-    private List<List<GanttChildBounds<C, ?>>> tetrisRows, oldTetrisRows;
+    private List<TetrisRow<C>> tetrisRows, oldTetrisRows;
+    private ObjectBoundsIndex<C, GanttChildBounds<C, ?>> childrenBoundsIndex; // created on first need
 
     // Collapse/Expand feature
     private boolean collapsed = false;
@@ -58,6 +61,8 @@ public final class ParentRow<C> extends EnclosingRow<ParentRow<C>> {
 
     void purgeChildren() {
         childrenBounds.clear();
+        if (childrenBoundsIndex != null)
+            childrenBoundsIndex.invalidate();
         oldTetrisRows = tetrisRows;
         tetrisRows = null;
         invalidateVerticalLayout();
@@ -70,6 +75,13 @@ public final class ParentRow<C> extends EnclosingRow<ParentRow<C>> {
 
     void addChild(GanttChildBounds<C, ?> cb) {
         childrenBounds.add(cb);
+        // The tree sync purges the children before adding them again, so this shouldn't happen, but just in case a child
+        // is added after the packing, the children will be packed again (keeping their rows if possible)
+        if (tetrisRows != null) {
+            oldTetrisRows = tetrisRows;
+            tetrisRows = null;
+            invalidateVerticalLayout();
+        }
     }
 
     public int getRowsCount() { // Note: never returns 0, 1 is minimum
@@ -142,61 +154,37 @@ public final class ParentRow<C> extends EnclosingRow<ParentRow<C>> {
         return childrenBounds;
     }
 
+    ObjectBoundsIndex<C, GanttChildBounds<C, ?>> getChildrenBoundsIndex() {
+        if (childrenBoundsIndex == null)
+            childrenBoundsIndex = new ObjectBoundsIndex<>();
+        return childrenBoundsIndex;
+    }
+
     int computeChildTetrisRowIndex(GanttChildBounds<C, ?> cb) {
         if (!ganttLayout.isTetrisPacking())
             return 0;
+        // All the children are packed at once on the first request, which sets the row indexes of all of them
         if (tetrisRows == null) {
-            tetrisRows = new ArrayList<>();
-            // Rebuilding the tetris rows from the previous version (if present) - ignoring the children that may have
-            // disappeared - and inserting the remaining ones back to the new tetris rows in the same order, so the new
-            // tetris rows look almost the same, giving some visual stability (if we don't do that, the children may be
-            // inserted in a complete different order each time the user scroll over the dates, which is disturbing)
+            // The children already present in the previous version of the tetris rows (if present) are kept in their
+            // previous rows if possible, so the new tetris rows look almost the same, giving some visual stability
+            Map<Object, Integer> previousRowIndexes = null;
             if (oldTetrisRows != null) {
-                int[] cbRowIndex = { -1 }; // to store the row index of the request child if we find it in the process
-                for (List<GanttChildBounds<C, ?>> oldTetrisRow : oldTetrisRows) { // Iterating all old rows
-                    for (GanttChildBounds<C, ?> oldCp : oldTetrisRow) { // Iterating all old children positions in the row
-                        // Checking if that old child is still present in the new set
-                        childrenBounds.stream().filter(newCp -> Objects.equals(newCp.getObject(), oldCp.getObject()))
-                                .findFirst().ifPresent(newCp -> { // If yes, we reintroduce it in the new tetris rows
-                                    // The following will create a recursive call, but not an infinite loop, because
-                                    int rowIndex = newCp.getRowIndexInParentRow(); // will go to the second part now
-                                    if (newCp == cb) // We store the result for the requested child
-                                        cbRowIndex[0] = rowIndex;
-                                });
-                    }
-                }
+                previousRowIndexes = new HashMap<>();
+                for (int rowIndex = 0; rowIndex < oldTetrisRows.size(); rowIndex++)
+                    for (GanttChildBounds<C, ?> oldCb : oldTetrisRows.get(rowIndex).getChildren())
+                        previousRowIndexes.putIfAbsent(oldCb.getObject(), rowIndex);
                 oldTetrisRows = null; // We can forget the old tetris rows now
-                // We return the result if the requested child was found in the process
-                if (cbRowIndex[0] != -1)
-                    return cbRowIndex[0];
-                // Otherwise, if it's a new child, we keep going
-            }
-        }
-        // We try to find a row where the child can fit without overlapping the other children already present on that row
-        loop: for (int tetrisRowIndex = 0; tetrisRowIndex < tetrisRows.size(); tetrisRowIndex++) { // iterate all rows
-            List<GanttChildBounds<C, ?>> tetrisRow = tetrisRows.get(tetrisRowIndex); // getting the row
-            for (GanttChildBounds<C, ?> other : tetrisRow) { // iterate all children already present on that row
-                if (cb == other) // shouldn't really happen, but just in case the requested child is already present,
-                    return tetrisRowIndex; // we return its row (no change)
-                if (cb.overlaps(other)) // If it overlaps another child,
-                    continue loop; // we continue to iterate to the new row
             }
-            // We reach this point if the child didn't overlap any of the existing children on that row
-            tetrisRow.add(cb); // So we can add it to that row,
-            return tetrisRowIndex; // and return that row index
+            tetrisRows = TetrisRow.pack(childrenBounds, previousRowIndexes);
         }
-        // We reach this point when the child couldn't be inserted in any of the existing rows,
-        List<GanttChildBounds<C, ?>> tetrisRow = new ArrayList<>(); // so we need to create a new row for it
-        tetrisRow.add(cb); // and insert it in that row
-        tetrisRows.add(tetrisRow); // and insert that row after the other rows
-        return tetrisRows.size() - 1; // and return that last row index
+        return cb.getRowIndexInParentRow(); // set by the packing
     }
 
     public Stream<C> streamChildrenAtRowIndex(int rowIndex) {
         List<GanttChildBounds<C, ?>> childrenBounds = null;
         if (tetrisRows != null) {
             if (rowIndex < tetrisRows.size())
-                childrenBounds = tetrisRows.get(rowIndex);
+                childrenBounds = tetrisRows.get(rowIndex).getChildren();
         } else if (rowIndex == 0)
             childrenBounds = this.childrenBounds;
         if (childrenBounds != null)
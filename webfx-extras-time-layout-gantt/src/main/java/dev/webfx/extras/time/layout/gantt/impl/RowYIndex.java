@@ -0,0 +1,63 @@
+package dev.webfx.extras.time.layout.gantt.impl;
+
+import dev.webfx.extras.geometry.Bounds;
+
+import java.util.List;
+
+/**
+ * Index of the vertical positions of a list of enclosing rows (parent or grandparent rows), which are laid out in
+ * increasing y order. It memorizes the max y of each row, so that the row at a given y position, or the first row
+ * visible in an area, can be found with a binary search instead of a linear scan. The index is rebuilt only when the
+ * vertical layout (or the rows tree) has changed, which also includes the partially collapsed rows (as the collapse
+ * animation invalidates the vertical layout).
+ *
+ * @author Bruno Salmon
+ */
+final class RowYIndex {
+
+    private double[] rowMaxYs = new double[0];
+    private int rowsCount;
+    private int builtVersion = -1;
+
+    private void syncIndex(List<? extends Bounds> rows, int version) {
+        int size = rows.size();
+        if (version == builtVersion && size == rowsCount)
+            return;
+        if (rowMaxYs.length < size)
+            rowMaxYs = new double[Math.max(size, 2 * rowMaxYs.length)];
+        for (int i = 0; i < size; i++)
+            rowMaxYs[i] = rows.get(i).getMaxY(); // Note: this also triggers the lazy vertical layout of the row
+        rowsCount = size;
+        builtVersion = version;
+    }
+
+    // Returns the index of the first row whose max y is greater or equal to y (or the rows count if there is none)
+    int firstRowIndexEndingAfter(List<? extends Bounds> rows, int version, double y) {
+        syncIndex(rows, version);
+        int low = 0, high = rowsCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (rowMaxYs[mid] < y)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return low;
+    }
+
+    <R extends Bounds> R getRowAtY(List<R> rows, int version, double y) {
+        int index = firstRowIndexEndingAfter(rows, version, y);
+        if (index < rowsCount) {
+            R row = rows.get(index);
+            if (y >= row.getMinY())
+                return row;
+        }
+        return null;
+    }
+
+    // Returns the rows that may be visible from y (i.e. skipping the rows ending before y)
+    <R extends Bounds> List<R> rowsEndingAfter(List<R> rows, int version, double y) {
+        int index = firstRowIndexEndingAfter(rows, version, y);
+        return index == 0 ? rows : rows.subList(index, rowsCount);
+    }
+}
@@ -0,0 +1,108 @@
+package dev.webfx.extras.time.layout.gantt.impl;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * A row of the tetris packing of a parent row. All the children of a parent row are packed at once (see pack()): they
+ * are sorted by their minX, and each child is appended to the row that frees up the earliest (i.e. whose last child has
+ * the smallest maxX), found with a min-heap of the rows keyed on that maxX, or to a new row if even that row overlaps
+ * the child. So the packing of n children costs O(n·log n), and as the children are appended to the rows in their minX
+ * order, the children of each row are sorted by minX without any insertion shifting the other children. This greedy
+ * interval partitioning also uses the minimal number of rows.
+ *
+ * @author Bruno Salmon
+ */
+final class TetrisRow<C> {
+
+    private final List<GanttChildBounds<C, ?>> children = new ArrayList<>();
+
+    List<GanttChildBounds<C, ?>> getChildren() {
+        return children;
+    }
+
+    private boolean canAppend(GanttChildBounds<C, ?> cb) {
+        // The children being appended in their minX order, the last child is the one that ends the latest (as the
+        // children of a row never overlap each other), so it's the only one that can overlap the new child.
+        return children.isEmpty() || !cb.overlaps(children.get(children.size() - 1));
+    }
+
+    private double getMaxX() {
+        return children.isEmpty() ? Double.NEGATIVE_INFINITY : children.get(children.size() - 1).getMaxX();
+    }
+
+    // Entry of the min-heap of the rows keyed on their maxX. The maxX of a row changes when a child is appended to it
+    // outside the heap (see preferred row below), so the entries are not updated but checked on poll, and an entry is
+    // stale if children have been appended to its row since it was pushed.
+    private static final class RowEnd<C> {
+        private final TetrisRow<C> row;
+        private final int rowIndex;
+        private final int childrenCount;
+        private final double maxX;
+
+        private RowEnd(TetrisRow<C> row, int rowIndex) {
+            this.row = row;
+            this.rowIndex = rowIndex;
+            childrenCount = row.children.size();
+            maxX = row.getMaxX();
+        }
+
+        private boolean isStale() {
+            return childrenCount != row.children.size();
+        }
+    }
+
+    /**
+     * Packs the children into tetris rows, and sets the row index of each child. The previous row indexes (if not null)
+     * give some visual stability: a child that was already present keeps its previous row if it still fits in it (if
+     * we don't do that, the children may be moved to a complete different row each time the user scrolls over the
+     * dates, which is disturbing). The other children go to the row that frees up the earliest.
+     */
+    static <C> List<TetrisRow<C>> pack(List<GanttChildBounds<C, ?>> childrenBounds, Map<Object, Integer> previousRowIndexes) {
+        List<GanttChildBounds<C, ?>> sortedChildren = new ArrayList<>(childrenBounds);
+        sortedChildren.sort(Comparator.comparingDouble(cb -> cb.getMinX())); // stable sort, so equal minX keep their order
+        List<TetrisRow<C>> rows = new ArrayList<>();
+        PriorityQueue<RowEnd<C>> rowEnds = new PriorityQueue<>(Comparator.comparingDouble(re -> re.maxX));
+        for (GanttChildBounds<C, ?> cb : sortedChildren) {
+            int rowIndex = -1;
+            // Trying the previous row first (creating it and the possible missing rows before it if necessary)
+            Integer previousRowIndex = previousRowIndexes == null ? null : previousRowIndexes.get(cb.getObject());
+            if (previousRowIndex != null) {
+                while (rows.size() <= previousRowIndex) {
+                    TetrisRow<C> emptyRow = new TetrisRow<>();
+                    rows.add(emptyRow);
+                    rowEnds.add(new RowEnd<>(emptyRow, rows.size() - 1));
+                }
+                if (rows.get(previousRowIndex).canAppend(cb))
+                    rowIndex = previousRowIndex;
+            }
+            // Otherwise, trying the row that frees up the earliest (after skipping the stale heap entries)
+            if (rowIndex == -1) {
+                while (!rowEnds.isEmpty() && rowEnds.peek().isStale())
+                    rowEnds.poll();
+                RowEnd<C> earliestRowEnd = rowEnds.peek();
+                if (earliestRowEnd != null && earliestRowEnd.row.canAppend(cb)) {
+                    rowEnds.poll();
+                    rowIndex = earliestRowEnd.rowIndex;
+                }
+            }
+            // If the child doesn't fit in that row, it doesn't fit in any row (they all end after it starts)
+            if (rowIndex == -1) {
+                rows.add(new TetrisRow<>());
+                rowIndex = rows.size() - 1;
+            }
+            TetrisRow<C> row = rows.get(rowIndex);
+            row.children.add(cb);
+            rowEnds.add(new RowEnd<>(row, rowIndex));
+        }
+        // Removing the rows that remained empty (previous rows that no child finally used) and setting the row indexes
+        rows.removeIf(row -> row.children.isEmpty());
+        for (int rowIndex = 0; rowIndex < rows.size(); rowIndex++)
+            for (GanttChildBounds<C, ?> cb : rows.get(rowIndex).children)
+                cb.setRowIndexInParentRow(rowIndex);
+        return rows;
+    }
+}
@@ -0,0 +1,59 @@
+package dev.webfx.extras.time.layout.gantt.impl;
+
+import dev.webfx.extras.geometry.MutableBounds;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Bruno Salmon
+ */
+class RowYIndexTest {
+
+    // Rows of height 10 at y = 0, 10, 20, ... with a gap of 5 before the last row
+    private static List<MutableBounds> rows(int count) {
+        List<MutableBounds> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++)
+            rows.add(new MutableBounds(0, i * 10 + (i == count - 1 ? 5 : 0), 100, 10));
+        return rows;
+    }
+
+    @Test
+    void findsTheRowAtY() {
+        List<MutableBounds> rows = rows(5); // last row from 45 to 55
+        RowYIndex index = new RowYIndex();
+        assertSame(rows.get(0), index.getRowAtY(rows, 0, 0));
+        assertSame(rows.get(1), index.getRowAtY(rows, 0, 15));
+        assertSame(rows.get(1), index.getRowAtY(rows, 0, 20)); // max y of row 1 = min y of row 2
+        assertNull(index.getRowAtY(rows, 0, 42)); // in the gap
+        assertSame(rows.get(4), index.getRowAtY(rows, 0, 50));
+        assertNull(index.getRowAtY(rows, 0, 60)); // after the last row
+        assertNull(index.getRowAtY(new ArrayList<MutableBounds>(), 0, 0));
+    }
+
+    @Test
+    void skipsTheRowsEndingBeforeY() {
+        List<MutableBounds> rows = rows(5);
+        RowYIndex index = new RowYIndex();
+        assertSame(rows, index.rowsEndingAfter(rows, 0, -10));
+        assertEquals(rows.subList(2, 5), index.rowsEndingAfter(rows, 0, 25));
+        assertTrue(index.rowsEndingAfter(rows, 0, 100).isEmpty());
+        assertEquals(3, index.firstRowIndexEndingAfter(rows, 0, 30.5));
+    }
+
+    @Test
+    void isRebuiltOnlyWhenVersionOrSizeChanges() {
+        List<MutableBounds> rows = rows(3);
+        RowYIndex index = new RowYIndex();
+        assertSame(rows.get(2), index.getRowAtY(rows, 1, 30));
+        rows.get(2).setHeight(50); // row 2 now ends at 75, but same version => the index is not rebuilt
+        assertEquals(3, index.firstRowIndexEndingAfter(rows, 1, 60));
+        assertEquals(2, index.firstRowIndexEndingAfter(rows, 2, 60)); // new version => rebuilt
+        rows.addAll(Arrays.asList(new MutableBounds(0, 75, 100, 10), new MutableBounds(0, 85, 100, 10)));
+        assertSame(rows.get(4), index.getRowAtY(rows, 2, 90)); // size changed => rebuilt
+    }
+}
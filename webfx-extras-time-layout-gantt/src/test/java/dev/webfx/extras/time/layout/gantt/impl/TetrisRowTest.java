@@ -0,0 +1,99 @@
+package dev.webfx.extras.time.layout.gantt.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Bruno Salmon
+ */
+class TetrisRowTest {
+
+    private final GanttLayoutImpl<Object, LocalDate> ganttLayout = new GanttLayoutImpl<>(ChronoUnit.DAYS);
+
+    private GanttChildBounds<Object, LocalDate> childBounds(double minX, double maxX) {
+        GanttChildBounds<Object, LocalDate> cb = new GanttChildBounds<>(ganttLayout);
+        cb.setX(minX);
+        cb.setWidth(maxX - minX);
+        cb.validateHorizontalLayout(); // so the lazy layout doesn't recompute the bounds from the (unset) times
+        return cb;
+    }
+
+    private static List<GanttChildBounds<Object, ?>> children(GanttChildBounds<Object, ?>... children) {
+        return Arrays.asList(children);
+    }
+
+    @Test
+    void packsChildrenSortedByMinXInEachRow() {
+        GanttChildBounds<Object, LocalDate> c1 = childBounds(50, 60), c2 = childBounds(0, 10), c3 = childBounds(20, 30), c4 = childBounds(80, 90);
+        List<TetrisRow<Object>> rows = TetrisRow.pack(children(c1, c2, c3, c4), null);
+        assertEquals(1, rows.size());
+        assertEquals(Arrays.asList(c2, c3, c1, c4), rows.get(0).getChildren());
+        assertEquals(0, c1.getRowIndexInParentRow());
+    }
+
+    @Test
+    void reusesTheRowThatFreesUpTheEarliest() {
+        GanttChildBounds<Object, LocalDate> a = childBounds(0, 50), b = childBounds(10, 20), c = childBounds(20, 30), d = childBounds(25, 60);
+        TetrisRow.pack(children(a, b, c, d), null);
+        assertEquals(0, a.getRowIndexInParentRow());
+        assertEquals(1, b.getRowIndexInParentRow());
+        assertEquals(1, c.getRowIndexInParentRow()); // touching b is not overlapping
+        assertEquals(2, d.getRowIndexInParentRow());
+    }
+
+    @Test
+    void keepsThePreviousRowsWhenPossible() {
+        GanttChildBounds<Object, LocalDate> a = childBounds(0, 10), b = childBounds(20, 30), c = childBounds(5, 25);
+        a.setObject("a");
+        b.setObject("b");
+        c.setObject("c");
+        Map<Object, Integer> previousRowIndexes = new HashMap<>();
+        previousRowIndexes.put("b", 1); // b was alone on row 1 (ex: with a removed child on row 0)
+        previousRowIndexes.put("c", 3); // c was on row 3, but the rows 2 and 3 are now empty
+        List<TetrisRow<Object>> rows = TetrisRow.pack(children(a, b, c), previousRowIndexes);
+        assertEquals(0, a.getRowIndexInParentRow());
+        assertEquals(1, b.getRowIndexInParentRow());
+        assertEquals(2, c.getRowIndexInParentRow()); // the empty rows are removed
+        assertEquals(3, rows.size());
+    }
+
+    @Test
+    void packingIsValidAndOptimal() {
+        // On pseudo-random children, the rows must not have overlapping children, and their number must be the maximal
+        // number of children overlapping at the same position (which is the minimal number of rows)
+        Random random = new Random(42);
+        List<GanttChildBounds<Object, ?>> children = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            int minX = random.nextInt(1000), maxX = minX + 1 + random.nextInt(50);
+            children.add(childBounds(minX, maxX));
+        }
+        List<TetrisRow<Object>> rows = TetrisRow.pack(children, null);
+        for (int rowIndex = 0; rowIndex < rows.size(); rowIndex++) {
+            List<GanttChildBounds<Object, ?>> rowChildren = rows.get(rowIndex).getChildren();
+            for (int i = 0; i < rowChildren.size(); i++) {
+                assertEquals(rowIndex, rowChildren.get(i).getRowIndexInParentRow());
+                if (i > 0)
+                    assertTrue(rowChildren.get(i - 1).getMaxX() <= rowChildren.get(i).getMinX());
+            }
+        }
+        int maxOverlapping = 0;
+        for (int x = 0; x < 1100; x++) {
+            int overlapping = 0;
+            for (GanttChildBounds<Object, ?> cb : children)
+                if (cb.getMinX() <= x + 0.5 && cb.getMaxX() > x + 0.5)
+                    overlapping++;
+            maxOverlapping = Math.max(maxOverlapping, overlapping);
+        }
+        assertEquals(maxOverlapping, rows.size());
+    }
+}
@@ -0,0 +1,114 @@
+package dev.webfx.extras.time.layout.canvas;
+
+import dev.webfx.extras.canvas.layer.ChildDrawer;
+import dev.webfx.extras.time.layout.TimeLayout;
+import javafx.geometry.Bounds;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.stage.Screen;
+
+import java.util.Objects;
+
+/**
+ * Offscreen rendering of a layer of a MultilayerTimeCanvasDrawer. The layer is drawn on an offscreen canvas (at the
+ * device scale), and a snapshot of it is kept and composited on the main canvas as long as the layer layout, its
+ * selected child, the drawer origin and the draw area are unchanged. On the web, the snapshot image is itself backed by
+ * an offscreen canvas.
+ *
+ * While the origin is changing (ex: during a vertical scroll), the cache is bypassed, i.e. the layer is drawn directly,
+ * because re-rendering it offscreen on each frame would cost more than drawing it directly. The layer is rendered again
+ * offscreen only once the origin is stable, i.e. when it's drawn again with the same origin as the previous time.
+ *
+ * @author Bruno Salmon
+ */
+final class LayerCanvasCache {
+
+    private final TimeLayout<?, ?> layer;
+    private Canvas offscreenCanvas;
+    private WritableImage image;
+    // Cache key
+    private int layoutCount;
+    private Object selectedChild;
+    private double originX, originY, scale;
+    private Bounds drawAreaBounds;
+    private double lastRequestedOriginX = Double.NaN, lastRequestedOriginY = Double.NaN;
+    private long hitCount, missCount;
+    private static boolean snapshotUnsupported;
+
+    LayerCanvasCache(TimeLayout<?, ?> layer) {
+        this.layer = layer;
+    }
+
+    // Returns false if the layer couldn't be drawn from the cache (snapshot not supported), so the caller draws it directly
+    boolean drawLayer(Bounds drawAreaBounds, double originX, double originY, ChildDrawer<?> childDrawer, GraphicsContext gc) {
+        if (snapshotUnsupported)
+            return false;
+        layer.layoutIfDirty(); // ensuring the layout count is up-to-date before checking the cache
+        double scale = Screen.getPrimary().getOutputScaleX();
+        boolean originChanging = originX != lastRequestedOriginX || originY != lastRequestedOriginY;
+        lastRequestedOriginX = originX;
+        lastRequestedOriginY = originY;
+        if (originChanging && (originX != this.originX || originY != this.originY)) {
+            missCount++;
+            return false; // bypassing the cache while the origin is changing
+        }
+        if (image == null
+            || layer.getLayoutCount() != layoutCount
+            || layer.getSelectedChild() != selectedChild
+            || originX != this.originX || originY != this.originY || scale != this.scale
+            || !Objects.equals(drawAreaBounds, this.drawAreaBounds)) {
+            missCount++;
+            if (!renderOffscreen(drawAreaBounds, originX, originY, scale, childDrawer))
+                return false;
+            layoutCount = layer.getLayoutCount();
+            selectedChild = layer.getSelectedChild();
+            this.originX = originX;
+            this.originY = originY;
+            this.scale = scale;
+            this.drawAreaBounds = drawAreaBounds;
+        } else
+            hitCount++;
+        gc.drawImage(image, 0, 0, image.getWidth(), image.getHeight(), drawAreaBounds.getMinX(), drawAreaBounds.getMinY(), drawAreaBounds.getWidth(), drawAreaBounds.getHeight());
+        return true;
+    }
+
+    private boolean renderOffscreen(Bounds drawAreaBounds, double originX, double originY, double scale, ChildDrawer<?> childDrawer) {
+        int width = (int) Math.ceil(drawAreaBounds.getWidth() * scale), height = (int) Math.ceil(drawAreaBounds.getHeight() * scale);
+        if (width <= 0 || height <= 0)
+            return false;
+        if (offscreenCanvas == null || offscreenCanvas.getWidth() != width || offscreenCanvas.getHeight() != height) {
+            offscreenCanvas = new Canvas(width, height);
+            image = null;
+        }
+        GraphicsContext offscreenGc = offscreenCanvas.getGraphicsContext2D();
+        offscreenGc.setTransform(1, 0, 0, 1, 0, 0);
+        offscreenGc.clearRect(0, 0, width, height);
+        // Drawing the layer as it would be drawn in the draw area of the main canvas
+        offscreenGc.setTransform(scale, 0, 0, scale, -drawAreaBounds.getMinX() * scale, -drawAreaBounds.getMinY() * scale);
+        TimeCanvasDrawer.drawVisibleChildren(drawAreaBounds, originX, originY, (TimeLayout) layer, (ChildDrawer) childDrawer, offscreenGc);
+        SnapshotParameters parameters = new SnapshotParameters();
+        parameters.setFill(Color.TRANSPARENT);
+        try {
+            image = offscreenCanvas.snapshot(parameters, image);
+        } catch (RuntimeException e) { // snapshot not supported by the platform => the layers will be drawn directly
+            snapshotUnsupported = true;
+            image = null;
+        }
+        return image != null;
+    }
+
+    void invalidate() {
+        image = null;
+    }
+
+    long getHitCount() {
+        return hitCount;
+    }
+
+    long getMissCount() {
+        return missCount;
+    }
+}
@@ -22,6 +22,7 @@ public class MultilayerTimeCanvasDrawer<T extends Temporal> extends CanvasDrawer
 
     private final MultilayerTimeLayout<T> multilayerTimeLayout;
     private final Map<TimeLayout<?, T>, ChildDrawer<?>> childDrawers = new HashMap<>();
+    private final Map<TimeLayout<?, T>, LayerCanvasCache> layerCaches = new HashMap<>();
     private final TemporalUnit temporalUnit;
     private CanvasInteractionManager canvasInteractionManager;
 
@@ -41,6 +42,7 @@ public class MultilayerTimeCanvasDrawer<T extends Temporal> extends CanvasDrawer
 
     public <C> void setLayerChildDrawer(TimeLayout<C, T> timeLayout, ChildDrawer<C> childDrawer) {
         childDrawers.put(timeLayout, childDrawer);
+        invalidateLayerCache(timeLayout);
         // We automatically redraw the canvas when the child selection changes to reflect the new selection
         timeLayout.setCanvasDirtyMarker(this::markDrawAreaAsDirty);
     }
@@ -52,11 +54,54 @@ public class MultilayerTimeCanvasDrawer<T extends Temporal> extends CanvasDrawer
         Collections.forEach(multilayerTimeLayout.getLayers(), layer -> {
             if (layer.isVisible()) {
                 ChildDrawer<?> childDrawer = childDrawers.get(layer);
-                TimeCanvasDrawer.drawVisibleChildren(bounds, getOriginX(), getOriginY(), (TimeLayout) layer, (ChildDrawer) childDrawer, gc);
+                // A cached layer is composited from its offscreen snapshot (re-rendered only if its layout, selection,
+                // the origin or the draw area changed, and bypassed while the origin is changing). Not used for the
+                // strips exposed by a scroll blit, as the origin changed anyway.
+                LayerCanvasCache layerCache = isDrawingExposedArea() ? null : layerCaches.get(layer);
+                if (layerCache == null || !layerCache.drawLayer(bounds, getOriginX(), getOriginY(), childDrawer, gc))
+                    TimeCanvasDrawer.drawVisibleChildren(bounds, getOriginX(), getOriginY(), (TimeLayout) layer, (ChildDrawer) childDrawer, gc);
             }
         });
     }
 
+    /**
+     * Enables or disables the offscreen caching of a layer. This is worth it for layers that are expensive to draw and
+     * change only on a new layout pass (ex: date grid, background rows, static headers). Note that if the drawing of
+     * the layer children changes without a new layout pass or selection change, invalidateLayerCache() must be called.
+     */
+    public void setLayerCached(TimeLayout<?, T> layer, boolean cached) {
+        if (!cached)
+            layerCaches.remove(layer);
+        else if (!layerCaches.containsKey(layer))
+            layerCaches.put(layer, new LayerCanvasCache(layer));
+        markDrawAreaAsDirty();
+    }
+
+    public boolean isLayerCached(TimeLayout<?, T> layer) {
+        return layerCaches.containsKey(layer);
+    }
+
+    public void invalidateLayerCache(TimeLayout<?, T> layer) {
+        LayerCanvasCache layerCache = layerCaches.get(layer);
+        if (layerCache != null) {
+            layerCache.invalidate();
+            markDrawAreaAsDirty();
+        }
+    }
+
+    public void invalidateLayerCaches() {
+        layerCaches.values().forEach(LayerCanvasCache::invalidate);
+        markDrawAreaAsDirty();
+    }
+
+    public long getLayerCacheHitCount() {
+        return layerCaches.values().stream().mapToLong(LayerCanvasCache::getHitCount).sum();
+    }
+
+    public long getLayerCacheMissCount() {
+        return layerCaches.values().stream().mapToLong(LayerCanvasCache::getMissCount).sum();
+    }
+
     @Override
     public CanvasInteractionManager getCanvasInteractionManager() {
         if (canvasInteractionManager == null) {
@@ -1,5 +1,6 @@
 package dev.webfx.extras.time.layout.canvas;
 
+import dev.webfx.extras.canvas.DrawMetrics;
 import dev.webfx.extras.canvas.impl.CanvasDrawerBase;
 import dev.webfx.extras.canvas.layer.ChildDrawer;
 import dev.webfx.extras.canvas.layer.interact.CanvasInteractionManager;
@@ -50,12 +51,14 @@ public class TimeCanvasDrawer<C, T extends Temporal> extends CanvasDrawerBase im
 
     static <C, T> void drawVisibleChildren(javafx.geometry.Bounds drawAreaBounds, double originX, double originY, TimeLayout<C, T> timeLayout, ChildDrawer<C> childDrawer, GraphicsContext gc) {
         //Console.log("drawVisibleChildren() - " + timeLayout);
+        if (DrawMetrics.isRecording())
+            DrawMetrics.recordLayoutSize(timeLayout.getChildren().size(), timeLayout.getRowsCount());
         // Translating the canvas to consider the effect of the possible layout origin coordinate changes
-        gc.save();
+        DrawMetrics.save(gc);
         gc.translate(-originX, -originY);
         // Then processing the visible children
         timeLayout.processVisibleChildren(drawAreaBounds, originX, originY, (child, b) -> {
-            gc.save();
+            DrawMetrics.save(gc);
             // Before drawing the child, clipping it to the parent row clip bounds if necessary. Ex: if a parent row is
             // collapsed (fully or partially), then the child should not be drawn outside the parent row bounds.
             Bounds parentRowClipBounds = timeLayout.getClippingParentRowBounds(child); // returns null if fully expanded, or the bounds of the parent row if partially collapsed
@@ -64,12 +67,13 @@ public class TimeCanvasDrawer<C, T extends Temporal> extends CanvasDrawerBase im
                 // we remove timeLayout.getVSpacing() from the height, otherwise we can see the start of the second row
                 // when the parent row is fully collapsed (which is not what we want).
                 gc.rect(parentRowClipBounds.getMinX(), parentRowClipBounds.getMinY(), parentRowClipBounds.getWidth(), parentRowClipBounds.getHeight() - timeLayout.getVSpacing());
-                gc.clip();
+                DrawMetrics.clip(gc);
             }
             childDrawer.drawChild(child, b, gc);
-            gc.restore();
+            DrawMetrics.recordChildDrawn();
+            DrawMetrics.restore(gc);
         });
         // Restoring the canvas context (rolls back the translation)
-        gc.restore();
+        DrawMetrics.restore(gc);
     }
 }
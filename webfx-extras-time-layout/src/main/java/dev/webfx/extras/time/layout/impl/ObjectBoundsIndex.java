@@ -0,0 +1,216 @@
+package dev.webfx.extras.time.layout.impl;
+
+import dev.webfx.extras.geometry.Bounds;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * A spatial index over a list of ObjectBounds, used to pick an object at a position or to process the visible objects
+ * without iterating the whole list. It's a bucketed grid: the area covered by the objects is divided into cells of
+ * about the average object size, and each object is registered in all the cells it intersects. A query then only checks
+ * the objects registered in the cells it covers.
+ *
+ * The index is rebuilt lazily (on the next query) when the layout versions it was built with have changed, so it stays
+ * in sync with the lazy computation of the bounds. Building the index computes the bounds of all objects, so it's worth
+ * it only for lists that are queried several times between layout changes (such as hit-testing on mouse moves, or
+ * redrawing a canvas while scrolling vertically). Small lists are not indexed, as iterating them is fast enough.
+ *
+ * The results are always the same as with a linear iteration: the objects are processed in the list order, and the
+ * picked object is the first one in the list containing the position.
+ *
+ * @author Bruno Salmon
+ */
+public final class ObjectBoundsIndex<O, OB extends ObjectBounds<O>> {
+
+    private static final int MIN_INDEXED_SIZE = 64; // linear iteration is fast enough under that size
+    private static final int[] NO_INDEX = {};
+
+    private List<OB> objectBounds;
+    private int objectCount;
+    private int horizontalVersion, verticalVersion;
+    private boolean valid;
+    // Grid geometry
+    private double gridMinX, gridMinY, cellWidth, cellHeight;
+    private int columnCount, rowCount;
+    // Objects of each cell (compressed storage): the object indexes of cell i are in cellObjectIndexes between
+    // cellStarts[i] (included) and cellStarts[i + 1] (excluded). Cell index = row * columnCount + column.
+    private int[] cellStarts, cellObjectIndexes;
+    // Objects with non-finite bounds, not registered in any cell but always checked
+    private int[] unindexedObjectIndexes = NO_INDEX;
+    // Reusable array to collect the result of a query
+    private int[] queryObjectIndexes = NO_INDEX;
+
+    public void invalidate() {
+        valid = false;
+    }
+
+    // Returns true if the index can be used for that list and these layout versions (rebuilding it if necessary), or
+    // false if the list is too small to be indexed (in which case the caller should iterate it)
+    private boolean sync(List<OB> objectBounds, int horizontalVersion, int verticalVersion) {
+        if (objectBounds == null || objectBounds.size() < MIN_INDEXED_SIZE)
+            return false;
+        if (!valid || objectBounds != this.objectBounds || objectBounds.size() != objectCount || horizontalVersion != this.horizontalVersion || verticalVersion != this.verticalVersion) {
+            this.objectBounds = objectBounds;
+            this.horizontalVersion = horizontalVersion;
+            this.verticalVersion = verticalVersion;
+            build();
+            valid = true;
+        }
+        return true;
+    }
+
+    private void build() {
+        int n = objectCount = objectBounds.size();
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY, maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+        double widthSum = 0, heightSum = 0;
+        int finiteCount = 0;
+        for (OB ob : objectBounds) {
+            double obMinX = ob.getMinX(), obMinY = ob.getMinY(), obWidth = Math.abs(ob.getWidth()), obHeight = Math.abs(ob.getHeight());
+            if (!isFinite(obMinX, obMinY, obWidth, obHeight))
+                continue;
+            minX = Math.min(minX, Math.min(obMinX, ob.getMaxX()));
+            minY = Math.min(minY, Math.min(obMinY, ob.getMaxY()));
+            maxX = Math.max(maxX, Math.max(obMinX, ob.getMaxX()));
+            maxY = Math.max(maxY, Math.max(obMinY, ob.getMaxY()));
+            widthSum += obWidth;
+            heightSum += obHeight;
+            finiteCount++;
+        }
+        gridMinX = minX;
+        gridMinY = minY;
+        // Cells of about the average object size, but with a limited number of cells (at most 4 per object)
+        int maxCellsPerAxis = 2 * (int) Math.ceil(Math.sqrt(n));
+        columnCount = finiteCount == 0 ? 1 : computeCellCount(maxX - minX, widthSum / finiteCount, maxCellsPerAxis);
+        rowCount = finiteCount == 0 ? 1 : computeCellCount(maxY - minY, heightSum / finiteCount, maxCellsPerAxis);
+        while ((long) columnCount * rowCount > 4L * n) {
+            columnCount = Math.max(1, columnCount / 2);
+            rowCount = Math.max(1, rowCount / 2);
+        }
+        cellWidth = columnCount == 1 ? Double.POSITIVE_INFINITY : (maxX - minX) / columnCount;
+        cellHeight = rowCount == 1 ? Double.POSITIVE_INFINITY : (maxY - minY) / rowCount;
+        // First pass: counting the objects of each cell
+        int cellCount = columnCount * rowCount;
+        cellStarts = new int[cellCount + 1];
+        int unindexedCount = n - finiteCount;
+        unindexedObjectIndexes = unindexedCount == 0 ? NO_INDEX : new int[unindexedCount];
+        for (int i = 0, u = 0; i < n; i++) {
+            OB ob = objectBounds.get(i);
+            if (!isFinite(ob.getMinX(), ob.getMinY(), ob.getWidth(), ob.getHeight())) {
+                unindexedObjectIndexes[u++] = i;
+                continue;
+            }
+            int c0 = toColumn(ob.getMinX(), ob.getMaxX(), true), c1 = toColumn(ob.getMinX(), ob.getMaxX(), false);
+            int r0 = toRow(ob.getMinY(), ob.getMaxY(), true), r1 = toRow(ob.getMinY(), ob.getMaxY(), false);
+            for (int r = r0; r <= r1; r++)
+                for (int c = c0; c <= c1; c++)
+                    cellStarts[r * columnCount + c + 1]++;
+        }
+        for (int i = 0; i < cellCount; i++)
+            cellStarts[i + 1] += cellStarts[i];
+        // Second pass: filling the object indexes of each cell (in the list order)
+        cellObjectIndexes = new int[cellStarts[cellCount]];
+        int[] cellFills = Arrays.copyOf(cellStarts, cellCount);
+        for (int i = 0; i < n; i++) {
+            OB ob = objectBounds.get(i);
+            if (!isFinite(ob.getMinX(), ob.getMinY(), ob.getWidth(), ob.getHeight()))
+                continue;
+            int c0 = toColumn(ob.getMinX(), ob.getMaxX(), true), c1 = toColumn(ob.getMinX(), ob.getMaxX(), false);
+            int r0 = toRow(ob.getMinY(), ob.getMaxY(), true), r1 = toRow(ob.getMinY(), ob.getMaxY(), false);
+            for (int r = r0; r <= r1; r++)
+                for (int c = c0; c <= c1; c++)
+                    cellObjectIndexes[cellFills[r * columnCount + c]++] = i;
+        }
+        if (queryObjectIndexes.length < n)
+            queryObjectIndexes = new int[n];
+    }
+
+    private static int computeCellCount(double extent, double averageObjectSize, int maxCellCount) {
+        if (extent <= 0 || averageObjectSize <= 0)
+            return 1;
+        return (int) Math.max(1, Math.min(maxCellCount, extent / averageObjectSize));
+    }
+
+    private static boolean isFinite(double x, double y, double width, double height) {
+        return !Double.isNaN(x + y + width + height) && !Double.isInfinite(x + y + width + height);
+    }
+
+    private int toColumn(double x1, double x2, boolean min) {
+        return toCell((min ? Math.min(x1, x2) : Math.max(x1, x2)) - gridMinX, cellWidth, columnCount);
+    }
+
+    private int toRow(double y1, double y2, boolean min) {
+        return toCell((min ? Math.min(y1, y2) : Math.max(y1, y2)) - gridMinY, cellHeight, rowCount);
+    }
+
+    private static int toCell(double offset, double cellSize, int cellCount) {
+        int cell = (int) Math.floor(offset / cellSize); // Note: cellSize is infinite when there is only 1 cell
+        return cell < 0 ? 0 : Math.min(cell, cellCount - 1);
+    }
+
+    /**
+     * Same result as a linear iteration over objectBounds looking for the first one containing the position.
+     */
+    public O pickObjectAt(List<OB> objectBounds, int horizontalVersion, int verticalVersion, double x, double y) {
+        if (!sync(objectBounds, horizontalVersion, verticalVersion)) {
+            if (objectBounds != null)
+                for (OB ob : objectBounds)
+                    if (ob.contains(x, y))
+                        return ob.getObject();
+            return null;
+        }
+        int bestIndex = Integer.MAX_VALUE;
+        int cell = toRow(y, y, true) * columnCount + toColumn(x, x, true);
+        for (int i = cellStarts[cell], end = cellStarts[cell + 1]; i < end; i++) {
+            int objectIndex = cellObjectIndexes[i];
+            if (objectIndex >= bestIndex) // Object indexes are ordered in each cell, so we won't find a better one
+                break;
+            if (objectBounds.get(objectIndex).contains(x, y))
+                bestIndex = objectIndex;
+        }
+        for (int objectIndex : unindexedObjectIndexes)
+            if (objectIndex < bestIndex && objectBounds.get(objectIndex).contains(x, y))
+                bestIndex = objectIndex;
+        return bestIndex == Integer.MAX_VALUE ? null : objectBounds.get(bestIndex).getObject();
+    }
+
+    /**
+     * Same result as TimeLayoutUtil.processVisibleObjectBounds() with ascY = false, but checking only the objects of
+     * the grid cells covering the visible area.
+     */
+    public <B extends Bounds> void processVisibleObjectBounds(List<OB> objectBounds, int horizontalVersion, int verticalVersion, javafx.geometry.Bounds visibleArea, double originX, double originY, BiConsumer<O, B> objectProcessor) {
+        if (!sync(objectBounds, horizontalVersion, verticalVersion)) {
+            TimeLayoutUtil.processVisibleObjectBounds(objectBounds, false, visibleArea, originX, originY, objectProcessor);
+            return;
+        }
+        // The visible area in the layout coordinates
+        double minX = visibleArea.getMinX() + originX, maxX = visibleArea.getMaxX() + originX;
+        double minY = visibleArea.getMinY() + originY, maxY = visibleArea.getMaxY() + originY;
+        int c0 = toColumn(minX, maxX, true), c1 = toColumn(minX, maxX, false);
+        int r0 = toRow(minY, maxY, true), r1 = toRow(minY, maxY, false);
+        int count = 0;
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                int cell = r * columnCount + c;
+                for (int i = cellStarts[cell], end = cellStarts[cell + 1]; i < end; i++) {
+                    int objectIndex = cellObjectIndexes[i];
+                    OB ob = objectBounds.get(objectIndex);
+                    // An object registered in several cells is collected only once, in the first cell of the query
+                    if (c == Math.max(c0, toColumn(ob.getMinX(), ob.getMaxX(), true)) && r == Math.max(r0, toRow(ob.getMinY(), ob.getMaxY(), true)))
+                        queryObjectIndexes[count++] = objectIndex;
+                }
+            }
+        }
+        for (int objectIndex : unindexedObjectIndexes)
+            queryObjectIndexes[count++] = objectIndex;
+        // Processing the objects in the list order (which is also the drawing order). Note: the indexes are copied, so
+        // the processor can query the index again (or cause a rebuild) without any side effect on this iteration.
+        int[] visibleObjectIndexes = Arrays.copyOf(queryObjectIndexes, count);
+        Arrays.sort(visibleObjectIndexes);
+        for (int objectIndex : visibleObjectIndexes) {
+            OB ob = objectBounds.get(objectIndex);
+            TimeLayoutUtil.processObjectIfVisible(ob.getObject(), ob, visibleArea, originX, originY, (BiConsumer<O, OB>) objectProcessor);
+        }
+    }
+}
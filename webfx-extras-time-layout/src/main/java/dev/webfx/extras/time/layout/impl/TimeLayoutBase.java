@@ -13,11 +13,10 @@ import javafx.collections.FXCollections;
 import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * @author Bruno Salmon
@@ -54,6 +53,12 @@ public abstract class TimeLayoutBase<C, T> extends ListenableTimeWindowImpl<T> i
     protected TimeProjector<T> timeProjector;
     public int timeVersion, horizontalVersion, verticalVersion;
     private MultilayerTimeLayout<T> parent;
+    // Optional spatial index of the children bounds, used for picking and processing the visible children. It's opt-in
+    // because it is rebuilt on each horizontal or vertical layout change, which happens on each frame while the time
+    // window is animated or scrolled, and a rebuild costs more than the linear scan it saves. So it's worth enabling
+    // only for layouts with many children that are picked or drawn several times between layout changes.
+    private boolean spatialIndexEnabled;
+    private final ObjectBoundsIndex<C, ChildBounds<C, T>> childrenBoundsIndex = new ObjectBoundsIndex<>();
 
     public TimeLayoutBase() {
         children.addListener(this::onChildrenChanged);
@@ -61,21 +66,65 @@ public abstract class TimeLayoutBase<C, T> extends ListenableTimeWindowImpl<T> i
     }
 
     protected void onChildrenChanged(ListChangeListener.Change<? extends C> c) {
-        // TODO: improve this and try to recycle existing layout bounds
-        childrenBounds = Stream.generate(this::createChildLayoutBounds)
-            .limit(children.size())
-            .collect(Collectors.toList());
-        for (int i = 0; i < children.size(); i++) {
-            ChildBounds<C, T> cb = childrenBounds.get(i);
-            cb.setObject(children.get(i));
+        if (childrenBounds == null) { // first children received
+            childrenBounds = new ArrayList<>(children.size());
+            for (C child : children)
+                childrenBounds.add(createChildLayoutBounds(child));
+        } else {
+            // Applying the changes incrementally, so the bounds of the unchanged children keep their lazily computed
+            // layout (only the bounds of the added or updated children are invalidated)
+            while (c.next()) {
+                int from = c.getFrom(), to = c.getTo();
+                if (c.wasPermutated()) {
+                    List<ChildBounds<C, T>> permutatedBounds = new ArrayList<>(childrenBounds.subList(from, to));
+                    for (int i = from; i < to; i++)
+                        childrenBounds.set(c.getPermutation(i), permutatedBounds.get(i - from));
+                } else if (c.wasUpdated()) {
+                    for (int i = from; i < to; i++)
+                        childrenBounds.get(i).invalidateObject();
+                } else { // removed and/or added children (a replacement is both)
+                    List<ChildBounds<C, T>> removedBounds = childrenBounds.subList(from, from + c.getRemovedSize());
+                    List<? extends C> addedChildren = c.getAddedSubList();
+                    List<ChildBounds<C, T>> addedBounds = new ArrayList<>(addedChildren.size());
+                    for (int i = 0; i < addedChildren.size(); i++) {
+                        C child = addedChildren.get(i);
+                        if (i < removedBounds.size() && canRecycleChildBounds()) { // recycling the removed bounds
+                            ChildBounds<C, T> cb = removedBounds.get(i);
+                            cb.setObject(child);
+                            cb.invalidateObject(); // even if same object, as its times may have changed
+                            addedBounds.add(cb);
+                        } else
+                            addedBounds.add(createChildLayoutBounds(child));
+                    }
+                    removedBounds.clear();
+                    childrenBounds.addAll(from, addedBounds);
+                }
+            }
         }
-        invalidateTimesReading(); // the children may have new start & end times
+        rowsCount = -1; // the new children may change the rows count
+        childrenBoundsIndex.invalidate();
+        if (fillHeight) // the row height depends on the rows count in that case
+            invalidateVerticalLayout();
+        else
+            markLayoutAsDirty();
+    }
+
+    private ChildBounds<C, T> createChildLayoutBounds(C child) {
+        ChildBounds<C, T> cb = createChildLayoutBounds();
+        cb.setObject(child);
+        return cb;
     }
 
     protected ChildBounds<C, T> createChildLayoutBounds() {
         return new ChildBounds<>(this);
     }
 
+    // Returns true if the bounds of the removed children can be reused for the added children, which is not the case
+    // if the subclass still references them elsewhere with their previous object
+    protected boolean canRecycleChildBounds() {
+        return true;
+    }
+
     @Override
     public DoubleProperty widthProperty() {
         return widthProperty;
@@ -329,6 +378,18 @@ public abstract class TimeLayoutBase<C, T> extends ListenableTimeWindowImpl<T> i
         return this;
     }
 
+    public boolean isSpatialIndexEnabled() {
+        return spatialIndexEnabled;
+    }
+
+    public TimeLayoutBase<C, T> setSpatialIndexEnabled(boolean spatialIndexEnabled) {
+        if (spatialIndexEnabled != this.spatialIndexEnabled) {
+            this.spatialIndexEnabled = spatialIndexEnabled;
+            childrenBoundsIndex.invalidate();
+        }
+        return this;
+    }
+
     @Override
     public boolean isSelectionEnabled() {
         return childSelectionEnabled;
@@ -356,6 +417,8 @@ public abstract class TimeLayoutBase<C, T> extends ListenableTimeWindowImpl<T> i
     public C pickChildAt(double x, double y, boolean onlyIfSelectable) {
         if (onlyIfSelectable && !isSelectionEnabled() || childrenBounds == null)
             return null;
+        if (spatialIndexEnabled)
+            return childrenBoundsIndex.pickObjectAt(childrenBounds, horizontalVersion, verticalVersion, x, y);
         for (ChildBounds<C, T> cb : childrenBounds) {
             if (cb.contains(x, y))
                 return cb.getObject();
@@ -372,6 +435,9 @@ public abstract class TimeLayoutBase<C, T> extends ListenableTimeWindowImpl<T> i
     }
 
     protected void processVisibleChildrenNow(javafx.geometry.Bounds visibleArea, double originX, double originY, BiConsumer<C, Bounds> childProcessor) {
-        TimeLayoutUtil.processVisibleObjectBounds(childrenBounds, false, visibleArea, originX, originY, childProcessor);
+        if (spatialIndexEnabled)
+            childrenBoundsIndex.processVisibleObjectBounds(childrenBounds, horizontalVersion, verticalVersion, visibleArea, originX, originY, childProcessor);
+        else
+            TimeLayoutUtil.processVisibleObjectBounds(childrenBounds, false, visibleArea, originX, originY, childProcessor);
     }
 }
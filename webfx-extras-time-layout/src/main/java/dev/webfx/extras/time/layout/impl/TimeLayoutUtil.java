@@ -1,5 +1,6 @@
 package dev.webfx.extras.time.layout.impl;
 
+import dev.webfx.extras.canvas.DrawMetrics;
 import dev.webfx.extras.geometry.Bounds;
 
 import java.util.List;
@@ -23,6 +24,7 @@ public class TimeLayoutUtil {
     }
 
     public static <O, B extends Bounds> void processObjectIfVisible(O object, B objectBounds, javafx.geometry.Bounds visibleArea, double originX, double originY, BiConsumer<O, B> objectProcessor) {
+        DrawMetrics.recordChildVisited();
         // Here is the object position in the layout coordinates:
         double layoutX = objectBounds.getMinX();
         double layoutY = objectBounds.getMinY();
@@ -0,0 +1,96 @@
+package dev.webfx.extras.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A bounded cache that evicts the least recently used entries when full, and keeps some statistics (hits, misses and
+ * evictions) to help sizing it. Null values are not cached.
+ *
+ * This cache is not thread-safe, and is meant to be used in the UI thread.
+ *
+ * @author Bruno Salmon
+ */
+public class LruCache<K, V> {
+
+    private int maxSize;
+    private final Map<K, V> entries = new LinkedHashMap<K, V>(16, 0.75f, true) { // access order
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            boolean evict = size() > maxSize;
+            if (evict)
+                evictionCount++;
+            return evict;
+        }
+    };
+    private long hitCount, missCount, evictionCount;
+
+    public LruCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public V get(K key) {
+        V value = entries.get(key);
+        if (value != null)
+            hitCount++;
+        else
+            missCount++;
+        return value;
+    }
+
+    public void put(K key, V value) {
+        if (value != null)
+            entries.put(key, value);
+    }
+
+    public V getOrCompute(K key, Function<? super K, ? extends V> valueComputer) {
+        V value = get(key);
+        if (value == null)
+            put(key, value = valueComputer.apply(key));
+        return value;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+        // Removing the least recently used entries (first in access order) if the cache is now too big
+        for (Iterator<K> it = entries.keySet().iterator(); it.hasNext() && entries.size() > maxSize; evictionCount++) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public double getHitRate() {
+        long requestCount = hitCount + missCount;
+        return requestCount == 0 ? 0 : (double) hitCount / requestCount;
+    }
+
+    public void resetStatistics() {
+        hitCount = missCount = evictionCount = 0;
+    }
+}
@@ -1,6 +1,7 @@
 package dev.webfx.extras.visual.controls.charts.peers.base;
 
 import dev.webfx.extras.type.Type;
+import dev.webfx.extras.type.Types;
 import dev.webfx.extras.visual.VisualColumn;
 import dev.webfx.extras.visual.VisualResult;
 import dev.webfx.extras.visual.controls.charts.VisualChart;
@@ -33,13 +34,13 @@ public abstract class VisualChartPeerBase
             int pointPerSeriesCount = rowCount;
             Type xType = hasXAxis ? columns[0].getType() : null;
             Type yType = columns[firstSeriesColumnIndex].getType();
+            boolean numberY = Types.isNumberType(yType);
             mixin.createChartData(xType, yType, pointPerSeriesCount, seriesCount, seriesIndex -> columns[firstSeriesColumnIndex + seriesIndex].getName());
             for (int pointIndex = 0; pointIndex < pointPerSeriesCount; pointIndex++) {
                 if (hasXAxis)
                     mixin.setChartDataX(rs.getValue(pointIndex, 0), pointIndex);
                 for (int seriesIndex = 0; seriesIndex < seriesCount; seriesIndex++) {
-                    Object yValue = rs.getValue(pointIndex, firstSeriesColumnIndex + seriesIndex);
-                    mixin.setChartDataY(yValue, pointIndex, seriesIndex);
+                    setChartDataY(rs, pointIndex, firstSeriesColumnIndex + seriesIndex, numberY, pointIndex, seriesIndex);
                 }
             }
         } else {          /***** Row format - see {@link VisualChart} for format description *****/
@@ -49,17 +50,25 @@ public abstract class VisualChartPeerBase
             int pointPerSeriesCount = columnCount - 1;
             Type xType = hasXAxis ? columns[0].getType() : null;
             Type yType = columns[pointPerSeriesCount].getType();
+            boolean numberY = Types.isNumberType(yType);
             mixin.createChartData(xType, yType, pointPerSeriesCount, seriesCount, seriesIndex -> Strings.toString(rs.getValue(seriesIndex, 0)));
             for (int pointIndex = 0; pointIndex < pointPerSeriesCount; pointIndex++) {
                 if (hasXAxis)
                     mixin.setChartDataX(columns[pointIndex + 1].getName(), pointIndex);
                 for (int seriesIndex = 0; seriesIndex < seriesCount; seriesIndex++) {
-                    Object yValue = rs.getValue(seriesIndex, pointIndex + 1);
-                    mixin.setChartDataY(yValue, pointIndex, seriesIndex);
+                    setChartDataY(rs, seriesIndex, pointIndex + 1, numberY, pointIndex, seriesIndex);
                 }
             }
         }
         mixin.applyChartData();
     }
 
+    private void setChartDataY(VisualResult rs, int rowIndex, int columnIndex, boolean numberY, int pointIndex, int seriesIndex) {
+        // Numeric values are passed unboxed when possible (no allocation with a columnar visual result)
+        if (numberY && !rs.isNull(rowIndex, columnIndex))
+            mixin.setChartDataY(rs.getDouble(rowIndex, columnIndex), pointIndex, seriesIndex);
+        else
+            mixin.setChartDataY(rs.getValue(rowIndex, columnIndex), pointIndex, seriesIndex);
+    }
+
 }
@@ -26,6 +26,11 @@ public interface VisualChartPeerMixin
 
     void setChartDataY(Object yValue, int pointIndex, int seriesIndex);
 
+    // Called instead of the previous method for non-null numeric values, so peers can override it to avoid boxing
+    default void setChartDataY(double yValue, int pointIndex, int seriesIndex) {
+        setChartDataY((Object) yValue, pointIndex, seriesIndex);
+    }
+
     void applyChartData();
 
 }
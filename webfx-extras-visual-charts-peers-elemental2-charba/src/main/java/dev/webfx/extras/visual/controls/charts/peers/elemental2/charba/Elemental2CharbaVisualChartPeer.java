@@ -211,6 +211,18 @@ abstract class Elemental2CharbaVisualChartPeer
             seriesInfo.data[pointIndex] = Numbers.toDouble(yValue);
     }
 
+    @Override
+    public void setChartDataY(double yValue, int pointIndex, int seriesIndex) {
+        if (isPieChart)
+            seriesInfos[0].data[seriesIndex] = yValue;
+        else if (seriesIndex < seriesCount && seriesInfos[seriesIndex].dataPoints == null) {
+            if (xLabels != null)
+                xLabels[pointIndex] = Strings.toString(xValue);
+            seriesInfos[seriesIndex].data[pointIndex] = yValue;
+        } else
+            setChartDataY((Object) yValue, pointIndex, seriesIndex);
+    }
+
     private DataPoint newDataPoint(Object xValue, Object yValue) {
         Console.log("x = " + xValue + ", y = " + yValue);
         DataPoint dataPoint = new DataPoint();
@@ -50,6 +50,11 @@ public final class OpenJFXVisualPieChartPeer
         pieData.add(new javafx.scene.chart.PieChart.Data(seriesNameGetter.apply(seriesIndex), Numbers.doubleValue(yValue)));
     }
 
+    @Override
+    public void setChartDataY(double yValue, int pointIndex, int seriesIndex) {
+        pieData.add(new javafx.scene.chart.PieChart.Data(seriesNameGetter.apply(seriesIndex), yValue));
+    }
+
     @Override
     public void applyChartData() {
         getOrCreateFxChart().setData(pieData);
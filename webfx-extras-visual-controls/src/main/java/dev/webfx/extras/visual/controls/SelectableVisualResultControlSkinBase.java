@@ -28,9 +28,27 @@ public abstract class SelectableVisualResultControlSkinBase<C extends Selectable
 
     private void updateVisualSelection(VisualSelection selection, VisualSelection oldSelection) {
         if (oldSelection != null)
-            oldSelection.forEachRow(rowIndex -> getOrAddBodyRow(rowIndex).getStyleClass().remove("selected"));
+            oldSelection.forEachRow(rowIndex -> setBodyRowSelected(rowIndex, false));
         if (selection != null)
-            selection.forEachRow(rowIndex -> getOrAddBodyRow(rowIndex).getStyleClass().add("selected"));
+            selection.forEachRow(rowIndex -> setBodyRowSelected(rowIndex, true));
+    }
+
+    private void setBodyRowSelected(int rowIndex, boolean selected) {
+        ROW bodyRow = getOrAddBodyRow(rowIndex);
+        if (bodyRow != null) // may be null if that row is not currently materialized (ex: virtualized skins)
+            setBodyRowSelected(bodyRow, selected);
+    }
+
+    private static void setBodyRowSelected(Node bodyRow, boolean selected) {
+        if (selected)
+            bodyRow.getStyleClass().add("selected");
+        else
+            bodyRow.getStyleClass().remove("selected");
+    }
+
+    private boolean isRowSelected(int rowIndex) {
+        VisualSelection visualSelection = visualControl.getVisualSelection();
+        return visualSelection != null && visualSelection.getSelectedRows().contains(rowIndex);
     }
 
     @Override
@@ -45,6 +63,10 @@ public abstract class SelectableVisualResultControlSkinBase<C extends Selectable
     @Override
     protected void setUpBodyRow(ROW bodyRow, int rowIndex) {
         super.setUpBodyRow(bodyRow, rowIndex);
+        // Rows built after the selection was made (ex: rows materialized on scroll by a virtualized skin) must also
+        // reflect that selection
+        if (isRowSelected(rowIndex))
+            setBodyRowSelected(bodyRow, true);
         bodyRow.setOnMouseClicked(e -> {
             if (visualControl.getSelectionMode() != SelectionMode.DISABLED) {
                 VisualSelection visualSelection = visualControl.getVisualSelection();
@@ -9,6 +9,7 @@ import javafx.scene.control.SkinBase;
 import javafx.scene.paint.*;
 import dev.webfx.extras.visual.VisualColumn;
 import dev.webfx.extras.visual.VisualResult;
+import dev.webfx.extras.visual.VisualResultDiff;
 import dev.webfx.extras.label.Label;
 import dev.webfx.kit.util.properties.FXProperties;
 import dev.webfx.platform.uischeduler.UiScheduler;
@@ -32,10 +33,12 @@ public abstract class VisualResultControlSkinBase<C extends VisualResultControl,
 
     private final List<Unregisterable> listenersToUnregisterOnDispose = new ArrayList<>();
     private VisualResult rs;
+    private VisualResult builtRs; // the visual result currently displayed (i.e. that was built or patched)
     private int gridColumnCount;
     private int rowStyleColumnIndex;
     private int rowBackgroundColumnIndex;
     private int groupColumnIndex;
+    private int keyColumnIndex;
 
     @Override
     public void install() {
@@ -58,21 +61,65 @@ public abstract class VisualResultControlSkinBase<C extends VisualResultControl,
 
     protected void updateResult(VisualResult rs) {
         this.rs = rs;
-        UiScheduler.runInUiThread(this::buildGrid);
+        UiScheduler.runInUiThread(this::patchOrBuildGrid);
+    }
+
+    private void patchOrBuildGrid() {
+        VisualResult previousRs = builtRs;
+        if (rs != null && rs == previousRs) // may happen when several updates were requested before this call
+            return;
+        if (rs != null && previousRs != null) {
+            computeGridSizeWithoutSettingUpColumns(); // updating the role column indexes for the new result
+            // Computing the differences with the displayed result, so the skin can patch only the affected rows and
+            // cells (typically when a new result is regularly pushed with only a few changes). This is done only if
+            // the skin can patch the grid, as the diff is otherwise useless (and not free on large results).
+            if (canPatchGrid()) {
+                VisualResultDiff diff = VisualResultDiff.diff(previousRs, rs);
+                if (!diff.isColumnsChanged() && (diff.isEmpty() || patchGrid(diff))) {
+                    builtRs = rs;
+                    return;
+                }
+            }
+        }
+        buildGrid();
     }
 
     protected void buildGrid() {
+        builtRs = rs;
         startBuildingGrid();
         computeGridSizeAndSetUpColumns();
         buildRows();
         endBuildingGrid();
     }
 
+    /**
+     * Returns true if the skin can patch the grid with the new visual result (the role column indexes are already
+     * computed for that new result), in which case the diff with the previous result is computed and passed to
+     * patchGrid(). Returns false by default, in which case the grid is completely rebuilt.
+     */
+    protected boolean canPatchGrid() {
+        return false;
+    }
+
+    /**
+     * Patches the grid to reflect the new visual result (the columns are the same as the previous result). Returns
+     * false if the skin doesn't support patching, in which case the grid is completely rebuilt.
+     */
+    protected boolean patchGrid(VisualResultDiff diff) {
+        return false;
+    }
+
     protected void buildRows() {
+        if (rs != null)
+            buildRows(0, rs.getRowCount() - 1);
+    }
+
+    // Builds only the rows from fromRowIndex to toRowIndex (inclusive). The group detection is initialized with the
+    // value of the row preceding fromRowIndex, so a group row is built only if fromRowIndex actually starts a new group.
+    protected void buildRows(int fromRowIndex, int toRowIndex) {
         if (rs != null) {
-            int rowCount = rs.getRowCount();
-            Object lastGroupValue = null;
-            for (int rowIndex = 0; rowIndex < rowCount; rowIndex++) {
+            Object lastGroupValue = groupColumnIndex < 0 || fromRowIndex <= 0 ? null : ValueApplier.getApplicableValue(rs.getValue(fromRowIndex - 1, groupColumnIndex));
+            for (int rowIndex = fromRowIndex; rowIndex <= toRowIndex; rowIndex++) {
                 if (groupColumnIndex >= 0) {
                     Object groupValue = ValueApplier.getApplicableValue(rs.getValue(rowIndex, groupColumnIndex));
                     if (groupValue != null && !groupValue.equals(lastGroupValue)) {
@@ -164,7 +211,7 @@ public abstract class VisualResultControlSkinBase<C extends VisualResultControl,
     }
 
     private void computeGridSize(boolean setUpGridColumns) {
-        rowStyleColumnIndex = rowBackgroundColumnIndex = groupColumnIndex = -1;
+        rowStyleColumnIndex = rowBackgroundColumnIndex = groupColumnIndex = keyColumnIndex = -1;
         gridColumnCount = 0;
         if (rs == null)
             return;
@@ -187,6 +234,9 @@ public abstract class VisualResultControlSkinBase<C extends VisualResultControl,
                 case "group":
                     groupColumnIndex = gridColumnIndex;
                     break;
+                case VisualResultDiff.KEY_ROLE:
+                    keyColumnIndex = gridColumnIndex;
+                    break;
             }
         }
         gridColumnCount = gridColumnIndex;
@@ -230,6 +280,10 @@ public abstract class VisualResultControlSkinBase<C extends VisualResultControl,
     }
 
 
+    public int getGroupColumnIndex() {
+        return groupColumnIndex;
+    }
+
     public int getRowStyleColumnIndex() {
         return rowStyleColumnIndex;
     }
@@ -239,7 +293,7 @@ public abstract class VisualResultControlSkinBase<C extends VisualResultControl,
     }
 
     public boolean isDataColumn(int columnIndex) {
-        return columnIndex != rowStyleColumnIndex && columnIndex != rowBackgroundColumnIndex && columnIndex != groupColumnIndex;
+        return columnIndex != rowStyleColumnIndex && columnIndex != rowBackgroundColumnIndex && columnIndex != groupColumnIndex && columnIndex != keyColumnIndex;
     }
 
     public int gridColumnIndexToResultColumnIndex(int gridColumnIndex, int rowStyleColumnIndex) {
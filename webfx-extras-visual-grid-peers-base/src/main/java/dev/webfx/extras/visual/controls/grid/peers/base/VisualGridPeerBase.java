@@ -10,6 +10,7 @@ import dev.webfx.extras.visual.controls.grid.VisualGrid;
 import dev.webfx.extras.visual.controls.peers.base.SelectableVisualResultControlPeerBase;
 import dev.webfx.extras.visual.VisualColumn;
 import dev.webfx.extras.visual.VisualResult;
+import dev.webfx.extras.visual.VisualResultDiff;
 import dev.webfx.kit.mapper.peers.javafxgraphics.SceneRequester;
 import dev.webfx.platform.util.Strings;
 
@@ -23,6 +24,7 @@ public class VisualGridPeerBase
 
     private int rowStyleColumnIndex;
     private int rowBackgroundColumnIndex;
+    private int keyColumnIndex;
     private int gridColumnCount;
     private VisualResult rs;
     private VisualGridPeerImageTextMixin<C, N, NB, NM> imageTextMixin;
@@ -71,7 +73,7 @@ public class VisualGridPeerBase
 
 
     public void fillGrid(boolean init) {
-        rowStyleColumnIndex = rowBackgroundColumnIndex = -1;
+        rowStyleColumnIndex = rowBackgroundColumnIndex = keyColumnIndex = -1;
         gridColumnCount = 0;
         if (rs == null)
             return;
@@ -89,6 +91,8 @@ public class VisualGridPeerBase
                 rowStyleColumnIndex = columnIndex;
             else if (role.equals("background"))
                 rowBackgroundColumnIndex = columnIndex;
+            else if (role.equals(VisualResultDiff.KEY_ROLE))
+                keyColumnIndex = columnIndex;
         }
         gridColumnCount = gridColumnIndex;
     }
@@ -130,7 +134,7 @@ public class VisualGridPeerBase
     }
 
     public boolean isDataColumn(int columnIndex) {
-        return columnIndex != rowStyleColumnIndex && columnIndex != rowBackgroundColumnIndex;
+        return columnIndex != rowStyleColumnIndex && columnIndex != rowBackgroundColumnIndex && columnIndex != keyColumnIndex;
     }
 
     public int gridColumnIndexToResultColumnIndex(int gridColumnIndex, int rowStyleColumnIndex) {
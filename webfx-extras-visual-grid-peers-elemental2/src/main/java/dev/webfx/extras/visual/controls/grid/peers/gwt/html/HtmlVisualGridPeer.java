@@ -25,6 +25,8 @@ import javafx.scene.input.KeyEvent;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Region;
 
+import java.util.Arrays;
+
 import static dev.webfx.kit.mapper.peers.javafxgraphics.elemental2.util.HtmlUtil.setStyleAttribute;
 
 /**
@@ -36,12 +38,21 @@ public final class HtmlVisualGridPeer
         extends HtmlRegionPeer<N, NB, NM>
         implements VisualGridPeerMixin<HTMLTableCellElement, N, NB, NM>, HtmlMeasurable, HasNoChildrenPeers {
 
+    private static final double ESTIMATED_ROW_HEIGHT = 24; // used in virtualized mode until a row of the window is measured
 
     private final HTMLTableElement table = HtmlUtil.createTableElement();
     private final HTMLTableSectionElement tHead = (HTMLTableSectionElement) table.createTHead();
     private final HTMLTableRowElement tHeadRow = (HTMLTableRowElement) tHead.insertRow(0);
     private final HTMLTableSectionElement tBody = HtmlUtil.createElement("tbody");
     private double scrollTop;
+    private VisualResult displayedRs;
+    // Virtualized mode: only the rows of the window (visible rows + overscan) are in the DOM, between 2 spacer rows
+    // that give the table body its full height (the rows are assumed to have the same height in that mode)
+    private final HTMLTableRowElement topSpacerRow = createSpacerRow();
+    private final HTMLTableRowElement bottomSpacerRow = createSpacerRow();
+    private boolean virtualizedBuild;
+    private int windowFirstRow, windowLastRow = -1;
+    private double virtualRowHeight = ESTIMATED_ROW_HEIGHT;
 
     public HtmlVisualGridPeer() {
         this((NB) new VisualGridPeerBase(), HtmlUtil.createDivElement());
@@ -54,8 +65,57 @@ public final class HtmlVisualGridPeer
         // Capturing scroll position (in scrollTop field)
         element.onscroll = p0 -> {
             scrollTop = element.scrollTop;
+            if (virtualizedBuild)
+                updateWindow(false);
             return null;
         };
+        // Selection management with a single listener on the table body (rather than on each row), the row index being
+        // resolved from the event target.
+        // 1) On devices with the mouse, typically on desktops
+        tBody.onmousedown = e -> {
+            int row = getEventRowIndex(e);
+            if (row >= 0) {
+                MouseEvent me = (MouseEvent) e;
+                onBodyRowPressed(row, me.button == 0, me.ctrlKey, me.shiftKey);
+            }
+            return null;
+        };
+        // 2) On touch devices, typically on mobiles
+        tBody.ontouchstart = e -> {
+            int row = getEventRowIndex(e);
+            if (row >= 0)
+                onBodyRowPressed(row, true, e.ctrlKey, e.shiftKey);
+            return null;
+        };
+    }
+
+    private void onBodyRowPressed(int row, boolean primaryButton, boolean ctrlKey, boolean shiftKey) {
+        VisualGrid visualGrid = getNode();
+        visualGrid.setVisualSelection(VisualSelection.updateRowsSelection(visualGrid.getVisualSelection(), visualGrid.getSelectionMode(), row, primaryButton, ctrlKey, shiftKey));
+        visualGrid.requestFocus(); // to enable keyPressed detection and therefore arrow selection navigation
+    }
+
+    // Returns the index (in the visual result) of the row containing the event target, or -1 if not in a data row
+    private int getEventRowIndex(Event e) {
+        for (elemental2.dom.Node n = (elemental2.dom.Node) e.target; n != null && n != tBody; n = n.parentNode) {
+            if (n.parentNode == tBody) {
+                HTMLTableRowElement tBodyRow = (HTMLTableRowElement) n;
+                if (!virtualizedBuild)
+                    return tBodyRow.sectionRowIndex;
+                if (tBodyRow == topSpacerRow || tBodyRow == bottomSpacerRow)
+                    return -1;
+                return windowFirstRow + tBodyRow.sectionRowIndex - 1; // - 1 for the top spacer row
+            }
+        }
+        return -1;
+    }
+
+    // Returns the tr element of that row, or null if it is not in the DOM (i.e. outside the window in virtualized mode)
+    private HTMLTableRowElement getBodyRow(int row) {
+        HTMLCollection<HTMLTableRowElement> rows = tBody.rows;
+        if (virtualizedBuild)
+            return row < windowFirstRow || row > windowLastRow ? null : rows.item(row - windowFirstRow + 1);
+        return row < 0 || row >= rows.getLength() ? null : rows.item(row);
     }
 
     @Override
@@ -68,6 +128,13 @@ public final class HtmlVisualGridPeer
                 // into the DOM, which should happen just after this scene change in the scene graph
                 UiScheduler.scheduleDeferred(() -> getElement().scrollTop = scrollTop);
         }, node.sceneProperty());
+        FXProperties.runOnPropertiesChange(() -> {
+            if (virtualizedBuild != isVirtualized()) {
+                buildBodyRows();
+                onBodyRowsChanged();
+            } else if (virtualizedBuild)
+                updateWindow(true);
+        }, node.virtualizedProperty(), node.fullHeightProperty(), node.overscanRowCountProperty());
         node.setOnKeyPressed(e -> {
             boolean up = false;
             switch (e.getCode()) {
@@ -87,7 +154,18 @@ public final class HtmlVisualGridPeer
         selectedRow = Math.max(0, Math.min(node.getVisualResult().getRowCount() - 1, selectedRow));
         node.setVisualSelection(VisualSelection.updateRowsSelection(visualSelection, node.getSelectionMode(), selectedRow, true, e.isControlDown(), e.isShiftDown()));
         // 2) Making sure that the selected row is visible in the table viewport
-        HTMLTableRowElement row = tBody.rows.item(selectedRow);
+        HTMLTableRowElement row = getBodyRow(selectedRow);
+        if (row == null && virtualizedBuild) { // the row is outside the window => we scroll to it to bring it in the DOM
+            // The row top in the scrolled content is after the table header, and we subtract the sticky header height
+            // so the row is not hidden behind it once scrolled
+            double headerHeight = node.isHeaderVisible() ? tHead.offsetHeight : 0;
+            double rowTop = headerHeight + selectedRow * virtualRowHeight;
+            getElement().scrollTop = scrollTop = Math.max(0, rowTop - headerHeight);
+            updateWindow(false);
+            row = getBodyRow(selectedRow);
+        }
+        if (row == null)
+            return;
         ScrollIntoViewOptions options = ScrollIntoViewOptions.create();
         options.setBlock("nearest");
         row.scrollIntoView(options);
@@ -145,13 +223,16 @@ public final class HtmlVisualGridPeer
     }
 
     private void applyVisualSelectionRange(int firstRow, int lastRow, boolean selected) {
-        HTMLCollection<HTMLTableRowElement> rows = tBody.rows;
-        lastRow = Math.min(lastRow, rows.getLength() - 1);
-        for (int trIndex = firstRow; trIndex <= lastRow; trIndex++) {
+        if (virtualizedBuild) { // only the rows of the window are in the DOM
+            firstRow = Math.max(firstRow, windowFirstRow);
+            lastRow = Math.min(lastRow, windowLastRow);
+        } else
+            lastRow = Math.min(lastRow, tBody.rows.getLength() - 1);
+        for (int rowIndex = firstRow; rowIndex <= lastRow; rowIndex++) {
             // TODO: investigate possible strange ClassCastException here
             try {
-                //DomGlobal.console.log("row " + trIndex + " selected: " + selected);
-                HTMLTableRowElement row = rows.item(trIndex);
+                //DomGlobal.console.log("row " + rowIndex + " selected: " + selected);
+                HTMLTableRowElement row = getBodyRow(rowIndex);
                 HtmlUtil.setPseudoClass(row, "selected", selected);
             } catch (Throwable e) {
                 DomGlobal.console.log("Exception occurred on selection: " + e);
@@ -161,40 +242,29 @@ public final class HtmlVisualGridPeer
 
     @Override
     public void updateVisualResult(VisualResult rs) {
-        VisualGrid visualGrid = getNode();
         NB base = getNodePeerBase();
-        HtmlUtil.removeChildren(tHeadRow);
-        HtmlUtil.removeChildren(tBody);
-        base.fillGrid(rs);
-        if (rs != null) {
-            int rowCount = rs.getRowCount();
-            int columnCount = rs.getColumnCount();
-            for (int row = 0; row < rowCount; row++) {
-                HTMLTableRowElement tBodyRow = (HTMLTableRowElement) tBody.insertRow(-1);
-                int finalRow = row;
-                // Selection management on devices with the mouse, typically on desktops
-                tBodyRow.onmousedown = e -> {
-                    MouseEvent me = (MouseEvent) e;
-                    visualGrid.setVisualSelection(VisualSelection.updateRowsSelection(visualGrid.getVisualSelection(), visualGrid.getSelectionMode(), finalRow, me.button == 0, me.ctrlKey, me.shiftKey));
-                    visualGrid.requestFocus(); // to enable keyPressed detection and therefore arrow selection navigation
-                    return null;
-                };
-                // Selection management on touch devices, typically on mobiles
-                tBodyRow.ontouchstart = e -> {
-                    visualGrid.setVisualSelection(VisualSelection.updateRowsSelection(visualGrid.getVisualSelection(), visualGrid.getSelectionMode(), finalRow, true, e.ctrlKey, e.shiftKey));
-                    visualGrid.requestFocus(); // to enable keyPressed detection and therefore arrow selection navigation
-                    return null;
-                };
-                String rowStyle = base.getRowStyle(row);
-                if (rowStyle != null)
-                    tBodyRow.className = rowStyle;
-                tBodyRow.style.background = HtmlPaints.toCssPaint(base.getRowBackground(row), DomType.HTML);
-                for (int column = 0; column < columnCount; column++) {
-                    if (base.isDataColumn(column))
-                        base.fillCell((HTMLTableCellElement) tBodyRow.insertCell(-1), row, column);
-                }
-            }
+        VisualResult previousRs = displayedRs;
+        displayedRs = rs;
+        VisualResultDiff diff = rs == null || previousRs == null ? null : VisualResultDiff.diff(previousRs, rs);
+        if (diff != null && !diff.isColumnsChanged()) {
+            // Same columns => we patch only the affected rows and cells
+            base.initGrid(rs); // the header is unchanged, so it doesn't need to be set up again
+            if (diff.isEmpty())
+                return;
+            if (virtualizedBuild) // only the rows of the window are in the DOM, so we simply rebuild them
+                rebuildWindow();
+            else
+                patchBodyRows(rs, diff);
+        } else {
+            HtmlUtil.removeChildren(tHeadRow);
+            base.fillGrid(rs);
+            buildBodyRows();
         }
+        onBodyRowsChanged();
+    }
+
+    private void onBodyRowsChanged() {
+        VisualGrid visualGrid = getNode();
         clearCache();
         if (visualGrid.isFullHeight()) {
             double height = measureElement(table, false);
@@ -209,6 +279,166 @@ public final class HtmlVisualGridPeer
         updateVisualSelection(visualGrid.getVisualSelection());
     }
 
+    private boolean isVirtualized() {
+        // The virtualization requires the table to be scrolled inside the element, so it's not possible in full height mode
+        VisualGrid visualGrid = getNode();
+        return visualGrid.isVirtualized() && !visualGrid.isFullHeight();
+    }
+
+    private void buildBodyRows() {
+        HtmlUtil.removeChildren(tBody);
+        virtualizedBuild = isVirtualized();
+        VisualResult rs = getNodePeerBase().getRs();
+        if (rs == null)
+            return;
+        if (virtualizedBuild) {
+            windowFirstRow = 0;
+            windowLastRow = -1;
+            updateWindow(true);
+        } else {
+            int rowCount = rs.getRowCount();
+            for (int row = 0; row < rowCount; row++)
+                tBody.appendChild(createBodyRow(row));
+        }
+    }
+
+    // Computes the rows window from the scroll position, and rebuilds it if it has changed
+    private void updateWindow(boolean force) {
+        VisualResult rs = getNodePeerBase().getRs();
+        int rowCount = rs == null ? 0 : rs.getRowCount();
+        HTMLElement element = getElement();
+        double viewportHeight = element.clientHeight;
+        if (viewportHeight <= 0) // happens before the element is laid out
+            viewportHeight = getNode().getHeight();
+        double bodyScrollTop = Math.max(0, scrollTop - (getNode().isHeaderVisible() ? tHead.offsetHeight : 0));
+        int firstVisibleRow = (int) (bodyScrollTop / virtualRowHeight);
+        int lastVisibleRow = (int) ((bodyScrollTop + viewportHeight) / virtualRowHeight);
+        if (!force && firstVisibleRow >= windowFirstRow && lastVisibleRow <= windowLastRow)
+            return; // the visible rows are still in the current window (thanks to the overscan)
+        int overscanRowCount = Math.max(0, getNode().getOverscanRowCount());
+        int firstRow = Math.max(0, Math.min(firstVisibleRow, rowCount - 1) - overscanRowCount);
+        int lastRow = Math.min(rowCount - 1, lastVisibleRow + overscanRowCount);
+        if (!force && firstRow == windowFirstRow && lastRow == windowLastRow)
+            return;
+        windowFirstRow = firstRow;
+        windowLastRow = lastRow;
+        rebuildWindow();
+    }
+
+    private void rebuildWindow() {
+        NB base = getNodePeerBase();
+        VisualResult rs = base.getRs();
+        int rowCount = rs == null ? 0 : rs.getRowCount();
+        // The row count may have changed since the window was computed
+        windowLastRow = Math.min(windowLastRow, rowCount - 1);
+        windowFirstRow = Math.max(0, Math.min(windowFirstRow, windowLastRow));
+        HtmlUtil.removeChildren(tBody);
+        tBody.appendChild(topSpacerRow);
+        for (int row = windowFirstRow; row <= windowLastRow; row++)
+            tBody.appendChild(createBodyRow(row));
+        tBody.appendChild(bottomSpacerRow);
+        if (windowLastRow >= windowFirstRow) { // Measuring the rows height on the first row of the window
+            double rowHeight = tBody.rows.item(1).offsetHeight;
+            if (rowHeight > 0)
+                virtualRowHeight = rowHeight;
+        }
+        int columnCount = base.getGridColumnCount();
+        setSpacerRowHeight(topSpacerRow, windowFirstRow * virtualRowHeight, columnCount);
+        setSpacerRowHeight(bottomSpacerRow, (rowCount - 1 - windowLastRow) * virtualRowHeight, columnCount);
+        // The rows of the new window need the selection to be applied
+        updateVisualSelection(getNode().getVisualSelection());
+    }
+
+    private static HTMLTableRowElement createSpacerRow() {
+        HTMLTableRowElement spacerRow = HtmlUtil.createElement("tr");
+        HTMLTableCellElement spacerCell = (HTMLTableCellElement) spacerRow.insertCell(-1);
+        setStyleAttribute(spacerCell, "padding", "0");
+        setStyleAttribute(spacerCell, "border", "none");
+        return spacerRow;
+    }
+
+    private void setSpacerRowHeight(HTMLTableRowElement spacerRow, double height, int columnCount) {
+        HTMLTableCellElement spacerCell = (HTMLTableCellElement) spacerRow.cells.item(0);
+        spacerCell.colSpan = Math.max(1, columnCount);
+        setStyleAttribute(spacerRow, "height", toPx(height));
+        setStyleAttribute(spacerRow, "display", height > 0 ? null : "none");
+    }
+
+    private HTMLTableRowElement createBodyRow(int row) {
+        NB base = getNodePeerBase();
+        VisualResult rs = base.getRs();
+        HTMLTableRowElement tBodyRow = HtmlUtil.createElement("tr");
+        applyBodyRowStyleAndBackground(tBodyRow, row);
+        int columnCount = rs.getColumnCount();
+        for (int column = 0; column < columnCount; column++) {
+            if (base.isDataColumn(column))
+                base.fillCell((HTMLTableCellElement) tBodyRow.insertCell(-1), row, column);
+        }
+        return tBodyRow;
+    }
+
+    private void applyBodyRowStyleAndBackground(HTMLTableRowElement tBodyRow, int row) {
+        NB base = getNodePeerBase();
+        String rowStyle = base.getRowStyle(row);
+        tBodyRow.className = rowStyle != null ? rowStyle : "";
+        tBodyRow.style.background = HtmlPaints.toCssPaint(base.getRowBackground(row), DomType.HTML);
+    }
+
+    private void patchBodyRows(VisualResult rs, VisualResultDiff diff) {
+        HTMLCollection<HTMLTableRowElement> rows = tBody.rows;
+        if (!diff.hasStructuralChanges()) { // only in-place updates
+            for (VisualResultDiff.Operation operation : diff.getOperations()) {
+                int row = operation.getNewRowIndex();
+                patchBodyRow(rows.item(row), row, operation.getChangedColumnIndexes(), false);
+            }
+            return;
+        }
+        // Capturing the existing rows before removing the deleted ones
+        int oldRowCount = rows.getLength();
+        HTMLTableRowElement[] oldRows = new HTMLTableRowElement[oldRowCount];
+        for (int oldRow = 0; oldRow < oldRowCount; oldRow++)
+            oldRows[oldRow] = rows.item(oldRow);
+        for (VisualResultDiff.Operation operation : diff.getOperations()) {
+            if (operation.getType() == VisualResultDiff.OperationType.DELETE)
+                tBody.removeChild(oldRows[operation.getOldRowIndex()]);
+        }
+        // Then placing each row at its new position, reusing the existing rows and creating only the inserted ones
+        int rowCount = rs.getRowCount();
+        for (int row = 0; row < rowCount; row++) {
+            int oldRow = diff.getOldRowIndex(row);
+            HTMLTableRowElement tBodyRow = oldRow < 0 ? createBodyRow(row) : oldRows[oldRow];
+            HTMLTableRowElement currentRow = row < rows.getLength() ? rows.item(row) : null;
+            if (currentRow != tBodyRow)
+                tBody.insertBefore(tBodyRow, currentRow); // Note: appends the row if currentRow is null
+            if (oldRow >= 0)
+                patchBodyRow(tBodyRow, row, diff.getChangedColumnIndexes(row), oldRow != row);
+        }
+    }
+
+    private void patchBodyRow(HTMLTableRowElement tBodyRow, int row, int[] changedColumnIndexes, boolean rowIndexChanged) {
+        NB base = getNodePeerBase();
+        // Note: the selection handlers don't need to be updated when the row index changes, as they are delegated to
+        // the table body (the row index is resolved on each event)
+        boolean rowStyleChanged = rowIndexChanged;
+        for (int column : changedColumnIndexes) {
+            if (column == base.getRowStyleColumnIndex() || column == base.getRowBackgroundColumnIndex())
+                rowStyleChanged = true;
+        }
+        if (rowStyleChanged)
+            applyBodyRowStyleAndBackground(tBodyRow, row);
+        int columnCount = base.getRs().getColumnCount();
+        for (int column = 0, cellIndex = 0; column < columnCount; column++) {
+            if (base.isDataColumn(column)) {
+                if (Arrays.binarySearch(changedColumnIndexes, column) >= 0) {
+                    HTMLTableCellElement cell = (HTMLTableCellElement) tBodyRow.cells.item(cellIndex);
+                    HtmlUtil.removeChildren(cell);
+                    base.fillCell(cell, row, column);
+                }
+                cellIndex++;
+            }
+        }
+    }
+
     @Override
     public void setUpGridColumn(int gridColumnIndex, int rsColumnIndex, VisualColumn visualColumn) {
         Label label = visualColumn.getLabel();
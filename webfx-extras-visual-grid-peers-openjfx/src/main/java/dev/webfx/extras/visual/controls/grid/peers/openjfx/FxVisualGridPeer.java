@@ -8,8 +8,11 @@ import dev.webfx.extras.label.Label;
 import dev.webfx.extras.visual.VisualColumn;
 import dev.webfx.extras.visual.VisualResult;
 import dev.webfx.extras.visual.VisualResultBuilder;
+import dev.webfx.extras.visual.VisualResultDiff;
 import dev.webfx.extras.visual.VisualSelection;
+import dev.webfx.extras.visual.controls.grid.ColumnAutoSize;
 import dev.webfx.extras.visual.controls.grid.VisualGrid;
+import dev.webfx.extras.visual.controls.grid.impl.ColumnAutoSizeSampler;
 import dev.webfx.extras.visual.controls.grid.peers.base.VisualGridPeerBase;
 import dev.webfx.extras.visual.controls.grid.peers.base.VisualGridPeerImageTextMixin;
 import dev.webfx.extras.visual.controls.grid.peers.base.VisualGridPeerMixin;
@@ -40,6 +43,7 @@ import javafx.util.Callback;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -99,7 +103,10 @@ public final class FxVisualGridPeer
 
                             //int rows = items.size(); //maxRows == -1 ? items.size() : Math.min(items.size(), maxRows);
                             double maxWidth = 0;
-                            for (int row = 0; row < rows; row++) {
+                            // With the SAMPLED_ROWS strategy, only a bounded number of rows are measured
+                            int[] sampledRows = getSampledRowIndexes(tc, rows);
+                            for (int i = 0, n = sampledRows == null ? rows : sampledRows.length; i < n; i++) {
+                                int row = sampledRows == null ? i : sampledRows[i];
                                 cell.updateTableColumn(tc);
                                 cell.updateTableView(tableView);
                                 cell.updateIndex(row);
@@ -152,6 +159,18 @@ public final class FxVisualGridPeer
         return tableView;
     }
 
+    // Returns the rows to measure for the pref width of that column, or null if all rows should be measured
+    private int[] getSampledRowIndexes(TableColumn<Integer, ?> tc, int rowCount) {
+        N visualGrid = getNode();
+        if (visualGrid == null || visualGrid.getColumnAutoSize() != ColumnAutoSize.SAMPLED_ROWS || displayedRs == null
+            || displayedRs.getRowCount() != rowCount || !(tc.getUserData() instanceof Integer))
+            return null;
+        int rsColumnIndex = (Integer) tc.getUserData();
+        if (rsColumnIndex >= displayedRs.getColumnCount())
+            return null;
+        return ColumnAutoSizeSampler.sampleRowIndexes(displayedRs, rsColumnIndex, Math.max(1, visualGrid.getColumnAutoSizeSampleRowCount()));
+    }
+
     @Override
     protected void onFxNodeCreated() {
         TableView<Integer> tableView = getFxNode();
@@ -231,11 +250,21 @@ public final class FxVisualGridPeer
     }
 
     private List<TableColumn<Integer, ?>> currentColumns, newColumns;
+    private VisualResult displayedRs; // the displayed visual result, before its transformation into properties
 
     @Override
     public void updateVisualResult(VisualResult rs) {
         if (rs == null)
             return;
+        VisualResult previousRs = displayedRs;
+        displayedRs = rs;
+        if (previousRs != null && getNodePeerBase().getRs() != null) {
+            VisualResultDiff diff = VisualResultDiff.diff(previousRs, rs);
+            if (!diff.isColumnsChanged()) {
+                patchVisualResult(rs, diff);
+                return;
+            }
+        }
         rs = transformVisualResultValuesToProperties(rs);
         TableView<Integer> tableView = getFxNode();
         N dataGrid = getNode();
@@ -263,6 +292,58 @@ public final class FxVisualGridPeer
         dataGrid.requestLayout(); // this is essentially to clear the cached sized values (prefWith, etc...)
     }
 
+    // Patches the table with the new visual result when the columns didn't change. The cell properties of the rows still
+    // present are reused, and only those with a changed value are set, which updates the bound table cells directly.
+    private void patchVisualResult(VisualResult rs, VisualResultDiff diff) {
+        if (diff.isEmpty())
+            return;
+        NB base = getNodePeerBase();
+        VisualResult oldPropertiesRs = base.getRs();
+        int rowCount = rs.getRowCount();
+        int columnCount = rs.getColumnCount();
+        VisualResultBuilder rsBuilder = VisualResultBuilder.create(rowCount, rs.getColumns());
+        List<SimpleObjectProperty<Object>> changedProperties = new ArrayList<>();
+        List<Object> changedValues = new ArrayList<>();
+        for (int rowIndex = 0; rowIndex < rowCount; rowIndex++) {
+            int oldRowIndex = diff.getOldRowIndex(rowIndex);
+            int[] changedColumnIndexes = diff.getChangedColumnIndexes(rowIndex);
+            for (int columnIndex = 0; columnIndex < columnCount; columnIndex++) {
+                Object value = rs.getValue(rowIndex, columnIndex);
+                if (oldRowIndex < 0) // inserted row
+                    rsBuilder.setValue(rowIndex, columnIndex, new SimpleObjectProperty<>(value));
+                else {
+                    SimpleObjectProperty<Object> cellProperty = (SimpleObjectProperty<Object>) oldPropertiesRs.getValue(oldRowIndex, columnIndex);
+                    rsBuilder.setValue(rowIndex, columnIndex, cellProperty);
+                    if (Arrays.binarySearch(changedColumnIndexes, columnIndex) >= 0) {
+                        changedProperties.add(cellProperty);
+                        changedValues.add(value);
+                    }
+                }
+            }
+        }
+        TableView<Integer> tableView = getFxNode();
+        synchronized (this) {
+            base.initGrid(rsBuilder.build()); // the columns are unchanged, so they don't need to be set up again
+            enableSyncVisualSelectionFromTableView = false;
+            boolean structuralChanges = diff.hasStructuralChanges();
+            if (structuralChanges) {
+                tableView.getSelectionModel().clearSelection(); // Clearing selection otherwise an undesired selection event is triggered on new items
+                tableView.getItems().setAll(new IdentityList(rowCount));
+            }
+            // Setting the new values on the reused cell properties (which updates the table cells observing them)
+            for (int i = 0; i < changedProperties.size(); i++)
+                changedProperties.get(i).set(changedValues.get(i));
+            // The rows (and their style) are bound to their index, which is not enough to detect row moves or style
+            // changes, so we refresh the (visible) rows in these cases
+            if (structuralChanges || diff.hasChangedColumn(base.getRowStyleColumnIndex()) || diff.hasChangedColumn(base.getRowBackgroundColumnIndex()))
+                tableView.refresh();
+            enableSyncVisualSelectionFromTableView = true;
+            if (structuralChanges)
+                syncTableViewSelectionFromVisualSelection();
+        }
+        getNode().requestLayout();
+    }
+
     private static VisualResult transformVisualResultValuesToProperties(VisualResult rs) {
         return VisualResultBuilder.convertVisualResult(rs, SimpleObjectProperty::new);
     }
@@ -286,6 +367,7 @@ public final class FxVisualGridPeer
         }
         String textAlign = visualColumn.getStyle().getTextAlign();
         Pos alignment = "right".equals(textAlign) ? Pos.CENTER_RIGHT : "center".equals(textAlign) ? Pos.CENTER : Pos.CENTER_LEFT;
+        gridColumn.setUserData(rsColumnIndex); // used by getSampledRowIndexes()
         gridColumn.setCellValueFactory(cdf -> (ObservableValue) getNodePeerBase().getRs().getValue(cdf.getValue(), rsColumnIndex));
         gridColumn.setCellFactory(param -> new TableCell() {
             { setAlignment(alignment); }
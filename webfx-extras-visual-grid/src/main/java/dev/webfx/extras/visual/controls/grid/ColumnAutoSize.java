@@ -0,0 +1,22 @@
+package dev.webfx.extras.visual.controls.grid;
+
+/**
+ * Strategy used by VisualGrid to compute the content width of the columns with no explicit preferred width.
+ *
+ * @author Bruno Salmon
+ */
+public enum ColumnAutoSize {
+
+    /**
+     * The pref width of all rendered cells is measured (exact, but the layout cost grows with the number of rows).
+     */
+    ALL_ROWS,
+
+    /**
+     * Only a bounded number of rows are sampled (the first rows, the last rows, and some evenly spaced rows and the rows
+     * with the longest texts between them), and the widths of their text values are estimated from cached font metrics,
+     * without laying out the cells.
+     */
+    SAMPLED_ROWS
+
+}
@@ -18,6 +18,8 @@ public class VisualGrid extends SelectableVisualResultControl {
 
     private static final double DEFAULT_ROW_HEIGHT = 24;
     private static final Insets DEFAULT_CELL_MARGIN = new Insets(0, 0, 0, 5);
+    private static final int DEFAULT_OVERSCAN_ROW_COUNT = 10;
+    private static final int DEFAULT_COLUMN_AUTO_SIZE_SAMPLE_ROW_COUNT = 20;
 
     private final DoubleProperty minRowHeightProperty = new SimpleDoubleProperty(USE_PREF_SIZE);
     private final DoubleProperty prefRowHeightProperty = new SimpleDoubleProperty(DEFAULT_ROW_HEIGHT);
@@ -60,6 +62,66 @@ public class VisualGrid extends SelectableVisualResultControl {
         this.fullHeightProperty.set(fullHeight);
     }
 
+    // When virtualized (and not in full height mode), only the rows visible in the scroll window (plus the overscan
+    // rows above and below) are materialized into nodes, the height of the other rows being estimated.
+    private final BooleanProperty virtualizedProperty = new SimpleBooleanProperty(false);
+
+    public BooleanProperty virtualizedProperty() {
+        return virtualizedProperty;
+    }
+
+    public boolean isVirtualized() {
+        return virtualizedProperty.get();
+    }
+
+    public void setVirtualized(boolean virtualized) {
+        virtualizedProperty.set(virtualized);
+    }
+
+    private final IntegerProperty overscanRowCountProperty = new SimpleIntegerProperty(DEFAULT_OVERSCAN_ROW_COUNT);
+
+    public IntegerProperty overscanRowCountProperty() {
+        return overscanRowCountProperty;
+    }
+
+    public int getOverscanRowCount() {
+        return overscanRowCountProperty.get();
+    }
+
+    public void setOverscanRowCount(int overscanRowCount) {
+        overscanRowCountProperty.set(overscanRowCount);
+    }
+
+    // Strategy to compute the width of the columns with no explicit preferred width (see ColumnAutoSize)
+    private final ObjectProperty<ColumnAutoSize> columnAutoSizeProperty = new SimpleObjectProperty<>(ColumnAutoSize.ALL_ROWS);
+
+    public ObjectProperty<ColumnAutoSize> columnAutoSizeProperty() {
+        return columnAutoSizeProperty;
+    }
+
+    public ColumnAutoSize getColumnAutoSize() {
+        return columnAutoSizeProperty.get();
+    }
+
+    public void setColumnAutoSize(ColumnAutoSize columnAutoSize) {
+        columnAutoSizeProperty.set(columnAutoSize);
+    }
+
+    // Number of first rows, last rows, and middle rows sampled by the SAMPLED_ROWS column auto-size strategy
+    private final IntegerProperty columnAutoSizeSampleRowCountProperty = new SimpleIntegerProperty(DEFAULT_COLUMN_AUTO_SIZE_SAMPLE_ROW_COUNT);
+
+    public IntegerProperty columnAutoSizeSampleRowCountProperty() {
+        return columnAutoSizeSampleRowCountProperty;
+    }
+
+    public int getColumnAutoSizeSampleRowCount() {
+        return columnAutoSizeSampleRowCountProperty.get();
+    }
+
+    public void setColumnAutoSizeSampleRowCount(int sampleRowCount) {
+        columnAutoSizeSampleRowCountProperty.set(sampleRowCount);
+    }
+
     public double getMinRowHeight() {
         return minRowHeightProperty.get();
     }
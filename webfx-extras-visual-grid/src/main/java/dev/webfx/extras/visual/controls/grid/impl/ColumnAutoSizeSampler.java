@@ -0,0 +1,133 @@
+package dev.webfx.extras.visual.controls.grid.impl;
+
+import dev.webfx.extras.cell.renderer.TextRenderer;
+import dev.webfx.extras.visual.VisualColumn;
+import dev.webfx.extras.visual.VisualResult;
+import dev.webfx.kit.launcher.WebFxKitLauncher;
+import dev.webfx.platform.util.Strings;
+import javafx.scene.text.Font;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Helper methods for the SAMPLED_ROWS column auto-size strategy: selection of the rows to sample in a column, and text
+ * width estimation from font metrics cached per font (the width of each printable ASCII character is measured once per
+ * font, and the width of a text is then simply the sum of its characters widths). Kerning is ignored, so this is an
+ * estimation, but it doesn't require any text node or layout pass.
+ *
+ * This is an internal helper shared by the visual grid skin and peers, not part of the visual grid API.
+ *
+ * @author Bruno Salmon
+ */
+public final class ColumnAutoSizeSampler {
+
+    private static final char FIRST_MEASURED_CHAR = ' ', LAST_MEASURED_CHAR = '~';
+    private static final Map<Font, double[]> FONT_CHAR_WIDTHS = new HashMap<>();
+
+    /**
+     * Returns the indexes of the rows to sample for that column: the first and last sampleRowCount rows, and
+     * sampleRowCount evenly spaced rows between them. For a text column (see isTextColumn()), the sampleRowCount rows
+     * with the longest text values between the first and last rows are also sampled, so a single long value is not
+     * missed. They are found with a single pass over the text lengths (no width estimation), which remains cheap even
+     * with many rows. The returned indexes are sorted with no duplicates.
+     */
+    public static int[] sampleRowIndexes(VisualResult rs, int columnIndex, int sampleRowCount) {
+        int rowCount = rs.getRowCount();
+        if (rowCount <= 3 * sampleRowCount) { // Small result => all rows are sampled
+            int[] rowIndexes = new int[rowCount];
+            for (int i = 0; i < rowCount; i++)
+                rowIndexes[i] = i;
+            return rowIndexes;
+        }
+        VisualColumn[] columns = rs.getColumns();
+        boolean textColumn = columns != null && columnIndex < columns.length && isTextColumn(columns[columnIndex]);
+        int middleRowCount = rowCount - 2 * sampleRowCount;
+        int[] rowIndexes = new int[4 * sampleRowCount];
+        int n = 0;
+        // The first and last rows
+        for (int i = 0; i < sampleRowCount; i++)
+            rowIndexes[n++] = i;
+        for (int i = rowCount - sampleRowCount; i < rowCount; i++)
+            rowIndexes[n++] = i;
+        // The evenly spaced rows between them
+        for (int i = 0; i < sampleRowCount; i++)
+            rowIndexes[n++] = sampleRowCount + (int) ((long) i * middleRowCount / sampleRowCount);
+        // The rows with the longest text values between them (top-k lengths kept sorted by decreasing length)
+        if (textColumn) {
+            int[] longestRowIndexes = new int[sampleRowCount];
+            int[] longestLengths = new int[sampleRowCount];
+            Arrays.fill(longestLengths, -1);
+            for (int rowIndex = sampleRowCount, end = rowCount - sampleRowCount; rowIndex < end; rowIndex++) {
+                String text = Strings.toString(rs.getValue(rowIndex, columnIndex));
+                int length = text == null ? 0 : text.length();
+                if (length > longestLengths[sampleRowCount - 1]) {
+                    int i = sampleRowCount - 1;
+                    for (; i > 0 && length > longestLengths[i - 1]; i--) {
+                        longestLengths[i] = longestLengths[i - 1];
+                        longestRowIndexes[i] = longestRowIndexes[i - 1];
+                    }
+                    longestLengths[i] = length;
+                    longestRowIndexes[i] = rowIndex;
+                }
+            }
+            for (int i = 0; i < sampleRowCount; i++)
+                rowIndexes[n++] = longestRowIndexes[i];
+        }
+        // Sorting and removing the duplicates
+        Arrays.sort(rowIndexes, 0, n);
+        int distinctCount = 0;
+        for (int i = 0; i < n; i++)
+            if (distinctCount == 0 || rowIndexes[i] != rowIndexes[distinctCount - 1])
+                rowIndexes[distinctCount++] = rowIndexes[i];
+        return Arrays.copyOf(rowIndexes, distinctCount);
+    }
+
+    /**
+     * Returns true if the values of that column are rendered as a simple text in the cells (i.e. with TextRenderer),
+     * so their widths can be estimated from their texts.
+     */
+    public static boolean isTextColumn(VisualColumn visualColumn) {
+        return visualColumn != null && visualColumn.getValueRenderer() == TextRenderer.SINGLETON;
+    }
+
+    public static double estimateTextWidth(Object value, Font font) {
+        String text = Strings.toString(value);
+        if (text == null || text.isEmpty())
+            return 0;
+        double[] charWidths = getCharWidths(font);
+        // Characters not measured (not printable ASCII) are estimated with the average width of the measured letters
+        double otherCharWidth = charWidths[charWidths.length - 1];
+        double width = 0;
+        for (int i = 0, n = text.length(); i < n; i++) {
+            char c = text.charAt(i);
+            width += c >= FIRST_MEASURED_CHAR && c <= LAST_MEASURED_CHAR ? charWidths[c - FIRST_MEASURED_CHAR] : otherCharWidth;
+        }
+        return width;
+    }
+
+    private static double[] getCharWidths(Font font) {
+        if (font == null)
+            font = Font.getDefault();
+        double[] charWidths = FONT_CHAR_WIDTHS.get(font);
+        if (charWidths == null) {
+            int measuredCharCount = LAST_MEASURED_CHAR - FIRST_MEASURED_CHAR + 1;
+            charWidths = new double[measuredCharCount + 1]; // + 1 for the other chars width
+            double lettersWidth = 0;
+            int letterCount = 0;
+            for (char c = FIRST_MEASURED_CHAR; c <= LAST_MEASURED_CHAR; c++) {
+                double charWidth = WebFxKitLauncher.measureText(String.valueOf(c), font).getWidth();
+                charWidths[c - FIRST_MEASURED_CHAR] = charWidth;
+                if (Character.isLetter(c)) {
+                    lettersWidth += charWidth;
+                    letterCount++;
+                }
+            }
+            charWidths[measuredCharCount] = lettersWidth / letterCount;
+            FONT_CHAR_WIDTHS.put(font, charWidths);
+        }
+        return charWidths;
+    }
+
+}
@@ -41,9 +41,17 @@ final class GridBody extends Region {
     final List<Integer> globalRowsIndexes = new ArrayList<>();
     // Array containing all row heights (index = global index of mixed group/data row)
     final List<Double> computedRowHeights = new ArrayList<>();
+    // Content heights computed in previous layout passes (index = global index of mixed group/data row)
+    final GridRowHeightCache rowHeightCache = new GridRowHeightCache();
+    // Rows removed from a previous window of a virtualized grid, and that can be recycled for the next window
+    private final List<Pane> recycledDataRows = new ArrayList<>();
+    private final List<MonoPane> recycledGroupRows = new ArrayList<>();
     private final VisualGridSkin visualGridSkin;
     double[] appliedDataRowHeights;
     double computedRowHeightsTotal;
+    // True while the grid lays out its rows and cells (the size changes of the cells made by the grid layout itself are
+    // not content changes, so they don't invalidate the cached row heights - see VisualGridSkin.listenCellHeight())
+    boolean layingOutCells;
 
     GridBody(VisualGridSkin visualGridSkin) {
         getStyleClass().add("grid-body");
@@ -56,9 +64,45 @@ final class GridBody extends Region {
         bodyGroupRows.clear();
         globalRowsIndexes.clear();
         computedRowHeights.clear();
+        rowHeightCache.clear();
+        // The layout may have changed (table vs mono-column), so the previous rows are not recyclable anymore
+        recycledDataRows.clear();
+        recycledGroupRows.clear();
         visualGridSkin.invalidateRowHeight(-1);
     }
 
+    // Called when the rows window of a virtualized grid moves. As opposed to startBuildingGrid(), the columns are kept,
+    // and the rows of the previous window are recycled for the new window.
+    void startBuildingWindow() {
+        recycledDataRows.addAll(bodyDataRows);
+        for (Pane groupRow : bodyGroupRows)
+            recycledGroupRows.add((MonoPane) groupRow);
+        bodyDataRows.clear();
+        bodyGroupRows.clear();
+        for (GridTableColumn bodyColumn : bodyTableColumns)
+            bodyColumn.getChildren().clear();
+        globalRowsIndexes.clear();
+        computedRowHeights.clear();
+        rowHeightCache.clear();
+        visualGridSkin.invalidateRowHeight(-1);
+    }
+
+    // Called when patching the rows of the grid. The rows and columns are kept (the caller will add the rows again in
+    // the new order, and set the cells of the columns). The row height cache is also kept, and the caller moves the
+    // heights of the rows still present to their new index.
+    void startPatchingRows() {
+        bodyDataRows.clear();
+        bodyGroupRows.clear();
+        globalRowsIndexes.clear();
+        computedRowHeights.clear();
+        visualGridSkin.invalidateRowHeight(-1);
+    }
+
+    void addBodyRow(Pane bodyRow) {
+        globalRowsIndexes.add(bodyDataRows.size());
+        bodyDataRows.add(bodyRow);
+    }
+
     void endBuildingGrid() {
         int globalRowCount = bodyGroupRows.size() + bodyDataRows.size();
         List<Node> rowsAndColumns = new ArrayList<>(globalRowCount + bodyTableColumns.size());
@@ -95,7 +139,14 @@ final class GridBody extends Region {
 
     // Note: rowIndex is not passed because not used, as this method is always called to append a new group row at the tail
     Pane createBodyGroupRowCell(VisualColumn groupColumn) {
-        MonoPane groupCell = new MonoPane();
+        MonoPane groupCell;
+        if (recycledGroupRows.isEmpty())
+            groupCell = new MonoPane();
+        else {
+            groupCell = recycledGroupRows.remove(recycledGroupRows.size() - 1);
+            groupCell.getChildren().clear();
+            groupCell.getStyleClass().clear();
+        }
         groupCell.getStyleClass().add("grid-group");
         VisualStyle style = groupColumn.getStyle();
         if (style != null) {
@@ -103,6 +154,7 @@ final class GridBody extends Region {
             if (styleClass != null)
                 groupCell.getStyleClass().addAll(styleClass.split("\\s+"));
         }
+        rowHeightCache.invalidate(globalRowsIndexes.size());
         globalRowsIndexes.add(-bodyGroupRows.size() - 1);
         bodyGroupRows.add(groupCell);
         return groupCell;
@@ -113,7 +165,11 @@ final class GridBody extends Region {
         if (rowIndex < rowSize)
             return bodyDataRows.get(rowIndex);
         Pane bodyRow;
-        if (visualGridSkin.isMonoColumnLayout()) {
+        if (!recycledDataRows.isEmpty()) {
+            bodyRow = recycledDataRows.remove(recycledDataRows.size() - 1);
+            bodyRow.getChildren().clear(); // removing the cells of the previous row in mono column layout
+            bodyRow.getStyleClass().clear(); // removing the previous row style classes (including "selected")
+        } else if (visualGridSkin.isMonoColumnLayout()) {
             // In mono column layout, the body row is a VBox that will contain all the data cells of that row
             bodyRow = new VBox();
             // No need to compute min/max height as different to pref (layout computation optimization)
@@ -126,11 +182,23 @@ final class GridBody extends Region {
             bodyRow = new Pane();
         }
         bodyRow.getStyleClass().add("grid-row");
+        rowHeightCache.invalidate(globalRowsIndexes.size());
         globalRowsIndexes.add(rowSize);
         bodyDataRows.add(bodyRow);
         return bodyRow;
     }
 
+    // Returns the global row index of that cell (data cell in table layout, data row in mono-column layout, or group row)
+    // or -1 if that cell is not in the grid anymore. Note: this is a linear search, but used only on cell height changes.
+    int findCellGlobalRowIndex(Node cell) {
+        Node parent = cell.getParent();
+        int dataRowIndex = parent instanceof GridTableColumn && bodyTableColumns.contains(parent) ? ((GridTableColumn) parent).getChildren().indexOf(cell) : bodyDataRows.indexOf(cell);
+        if (dataRowIndex >= 0)
+            return globalRowsIndexes.indexOf(dataRowIndex);
+        int groupRowIndex = bodyGroupRows.indexOf(cell);
+        return groupRowIndex < 0 ? -1 : globalRowsIndexes.indexOf(-groupRowIndex - 1);
+    }
+
     int globalRowIndexToMatchingRowIndex(int globalRowIndex) {
         return globalRowsIndexes.get(globalRowIndex);
     }
@@ -164,11 +232,31 @@ final class GridBody extends Region {
         bodyRow.setBackground(fill == null ? null : Background.fill(fill));
     }
 
+    @Override
+    protected double computePrefHeight(double width) {
+        // In virtualized mode, only the rows of the visible window are children, but the body must report the height
+        // of all rows for the scroll pane to have the correct extent
+        if (visualGridSkin.isVirtualizedBuild())
+            return visualGridSkin.virtualRows.getTotalHeight();
+        return super.computePrefHeight(width);
+    }
+
     // Layout of the grid body rows and columns
     @Override
     protected void layoutChildren() {
+        layingOutCells = true;
+        try {
+            layoutRowsAndColumns();
+        } finally {
+            layingOutCells = false;
+        }
+    }
+
+    private void layoutRowsAndColumns() {
         double width = getWidth();
-        double rowY = 0;
+        // In virtualized mode, the first row is the first row of the window, which is positioned at its virtual y
+        double windowY = visualGridSkin.getWindowY();
+        double rowY = windowY;
         int globalRowCount = appliedDataRowHeights.length;
         // TODO: see why appliedRowHeights is sometimes empty() while getBuiltRowCount() > 0
         for (int globalRowIndex = 0; globalRowIndex < globalRowCount; globalRowIndex++) {
@@ -181,12 +269,12 @@ final class GridBody extends Region {
         }
         if (visualGridSkin.isTableLayout()) {
             double x = 0;
-            if (rowY == 0)
+            if (rowY == windowY)
                 rowY = getRowMaxY(globalRowCount - 1);
-            double height = rowY;
+            double height = rowY - windowY;
             for (GridTableColumn bodyColumn : bodyTableColumns) {
                 double columnWidth = bodyColumn.getComputedWidth();
-                bodyColumn.resizeRelocate(x, 0, columnWidth, height);
+                bodyColumn.resizeRelocate(x, windowY, columnWidth, height);
                 VisualGridSkin.clipRegion(bodyColumn);
                 x += columnWidth;
             }
@@ -210,7 +298,7 @@ final class GridBody extends Region {
 
     double getRowMaxY(int globalRowIndex) {
         if (globalRowIndex < 0)
-            return 0;
+            return visualGridSkin.getWindowY();
         Pane rowNode = getRow(globalRowIndex);
         return rowNode.getLayoutY() + rowNode.getHeight();
     }
@@ -0,0 +1,83 @@
+package dev.webfx.extras.visual.controls.grid.skin;
+
+import java.util.Arrays;
+
+/**
+ * GridRowHeightCache memorizes the content height computed for each global row of the grid body (mixed group/data
+ * rows, relative to the window in virtualized mode), so the cells prefHeight() are not computed again on each layout
+ * pass. Each height is stored with the width signature it was computed with (see VisualGridSkin.rowWidthSignature()),
+ * which depends only on the widths of the columns having width-dependent content in that row (such as wrapped text).
+ * A row with no width-dependent content has a fixed height, and its cached height remains valid whatever the widths.
+ *
+ * The cached height of a row is invalidated when its content changes, but it is still kept as a stale height, which
+ * can be displayed temporarily while the row heights are recomputed over several animation frames.
+ *
+ * @author Bruno Salmon
+ */
+final class GridRowHeightCache {
+
+    private double[] heights = new double[0];          // NaN if never computed
+    private double[] widthSignatures = new double[0];  // NaN if invalidated (content changed)
+    private long[] widthDependentColumns = new long[0];
+
+    void clear() {
+        Arrays.fill(heights, Double.NaN);
+        Arrays.fill(widthSignatures, Double.NaN);
+    }
+
+    void invalidate(int globalRowIndex) {
+        if (globalRowIndex < widthSignatures.length)
+            widthSignatures[globalRowIndex] = Double.NaN;
+    }
+
+    long getWidthDependentColumns(int globalRowIndex) {
+        return globalRowIndex < widthDependentColumns.length ? widthDependentColumns[globalRowIndex] : 0;
+    }
+
+    // Returns the cached height if it has been computed with that width signature, NaN otherwise
+    double getHeight(int globalRowIndex, double widthSignature) {
+        if (globalRowIndex >= heights.length || widthSignatures[globalRowIndex] != widthSignature)
+            return Double.NaN;
+        return heights[globalRowIndex];
+    }
+
+    // Returns the last computed height, even if it is not valid anymore (NaN if never computed)
+    double getStaleHeight(int globalRowIndex) {
+        return globalRowIndex < heights.length ? heights[globalRowIndex] : Double.NaN;
+    }
+
+    void setHeight(int globalRowIndex, double height, long widthDependentColumns, double widthSignature) {
+        ensureCapacity(globalRowIndex + 1);
+        heights[globalRowIndex] = height;
+        widthSignatures[globalRowIndex] = widthSignature;
+        this.widthDependentColumns[globalRowIndex] = widthDependentColumns;
+    }
+
+    // Used when the rows are reordered (see VisualGridSkin.patchGrid())
+    void copyRow(GridRowHeightCache from, int fromGlobalRowIndex, int toGlobalRowIndex) {
+        if (fromGlobalRowIndex >= from.heights.length)
+            invalidate(toGlobalRowIndex);
+        else
+            setHeight(toGlobalRowIndex, from.heights[fromGlobalRowIndex], from.widthDependentColumns[fromGlobalRowIndex], from.widthSignatures[fromGlobalRowIndex]);
+    }
+
+    GridRowHeightCache copy() {
+        GridRowHeightCache copy = new GridRowHeightCache();
+        copy.heights = heights.clone();
+        copy.widthSignatures = widthSignatures.clone();
+        copy.widthDependentColumns = widthDependentColumns.clone();
+        return copy;
+    }
+
+    private void ensureCapacity(int capacity) {
+        int length = heights.length;
+        if (length < capacity) {
+            int newLength = Math.max(capacity, 2 * length);
+            heights = Arrays.copyOf(heights, newLength);
+            widthSignatures = Arrays.copyOf(widthSignatures, newLength);
+            widthDependentColumns = Arrays.copyOf(widthDependentColumns, newLength);
+            Arrays.fill(heights, length, newLength, Double.NaN);
+            Arrays.fill(widthSignatures, length, newLength, Double.NaN);
+        }
+    }
+}
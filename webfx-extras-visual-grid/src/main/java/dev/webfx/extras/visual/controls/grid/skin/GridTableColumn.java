@@ -2,15 +2,23 @@ package dev.webfx.extras.visual.controls.grid.skin;
 
 import dev.webfx.extras.visual.ColumnWidthAccumulator;
 import dev.webfx.extras.visual.VisualColumn;
+import dev.webfx.extras.visual.VisualResult;
+import dev.webfx.extras.visual.VisualResultDiff;
 import dev.webfx.extras.visual.VisualStyle;
 import dev.webfx.extras.visual.controls.grid.VisualGrid;
+import dev.webfx.extras.visual.controls.grid.impl.ColumnAutoSizeSampler;
 import dev.webfx.platform.util.Booleans;
+import dev.webfx.platform.util.collection.Collections;
 import javafx.geometry.HPos;
 import javafx.geometry.Insets;
 import javafx.geometry.VPos;
 import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.control.Labeled;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Pane;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
 
 /**
  * A GridColumn is a graphical representation of a VisualColumn that contains all the data cells for that column,
@@ -30,6 +38,12 @@ final class GridTableColumn extends Pane {
     private final VPos vAlignment = VPos.CENTER;
     ColumnWidthAccumulator accumulator;
     double computedWidth;
+    int rsColumnIndex = -1;
+    // Content max width estimated by the SAMPLED_ROWS column auto-size strategy for sampledResult
+    private VisualResult sampledResult;
+    private double sampledContentMaxWidth;
+    private Font sampledCellFont;
+    private boolean textColumn; // if true, the content width is estimated from the texts (see ColumnAutoSizeSampler)
 
     GridTableColumn(VisualGridSkin visualGridSkin, boolean header) {
         this.visualGridSkin = visualGridSkin;
@@ -42,6 +56,7 @@ final class GridTableColumn extends Pane {
     }
 
     void setVisualColumn(VisualColumn visualColumn) {
+        textColumn = ColumnAutoSizeSampler.isTextColumn(visualColumn);
         VisualStyle style = visualColumn.getStyle();
         if (style != null) {
             minWidth = style.getMinWidth();
@@ -101,6 +116,76 @@ final class GridTableColumn extends Pane {
         return getUpToDateAccumulator().getMaxWidth();
     }
 
+    double getOrEstimateSampledContentMaxWidth(VisualResult rs, int sampleRowCount) {
+        if (rs != sampledResult) {
+            sampledResult = rs;
+            sampledContentMaxWidth = 0;
+            if (rs != null && rsColumnIndex >= 0 && rsColumnIndex < rs.getColumnCount())
+                for (int rowIndex : ColumnAutoSizeSampler.sampleRowIndexes(rs, rsColumnIndex, sampleRowCount))
+                    accumulateSampledRow(rs, rowIndex);
+        }
+        return sampledContentMaxWidth;
+    }
+
+    // Incremental update of the sampled content max width with the inserted or updated rows. Note: the deleted rows are
+    // ignored (so the width may remain larger than necessary until the next full sampling)
+    void patchSampledContentMaxWidth(VisualResult rs, VisualResultDiff diff) {
+        if (sampledResult == null) // not yet sampled => nothing to patch (the sampling will be done on next layout)
+            return;
+        for (VisualResultDiff.Operation operation : diff.getOperations()) {
+            VisualResultDiff.OperationType type = operation.getType();
+            if (type == VisualResultDiff.OperationType.INSERT
+                || type != VisualResultDiff.OperationType.DELETE && contains(operation.getChangedColumnIndexes(), rsColumnIndex))
+                accumulateSampledRow(rs, operation.getNewRowIndex());
+        }
+        sampledResult = rs;
+    }
+
+    void invalidateSampledContentMaxWidth() {
+        sampledResult = null;
+    }
+
+    private void accumulateSampledRow(VisualResult rs, int rowIndex) {
+        Object value = rs.getValue(rowIndex, rsColumnIndex);
+        double width;
+        if (textColumn)
+            width = ColumnAutoSizeSampler.estimateTextWidth(value, getSampledCellFont());
+        else { // Not a simple text (ex: image & text) => we measure its cell (only if rendered)
+            int cellIndex = rowIndex - visualGridSkin.getWindowFirstRowIndex();
+            Node cell = cellIndex < 0 ? null : Collections.get(getChildren(), cellIndex);
+            width = cell == null ? 0 : cell.prefWidth(-1);
+        }
+        if (width > sampledContentMaxWidth)
+            sampledContentMaxWidth = width;
+    }
+
+    private Font getSampledCellFont() {
+        if (sampledCellFont == null && !getChildren().isEmpty())
+            sampledCellFont = findFont(getChildren().get(0));
+        return sampledCellFont;
+    }
+
+    private static Font findFont(Node node) {
+        if (node instanceof Text)
+            return ((Text) node).getFont();
+        if (node instanceof Labeled)
+            return ((Labeled) node).getFont();
+        if (node instanceof Parent)
+            for (Node child : ((Parent) node).getChildrenUnmodifiable()) {
+                Font font = findFont(child);
+                if (font != null)
+                    return font;
+            }
+        return null;
+    }
+
+    private static boolean contains(int[] columnIndexes, int columnIndex) {
+        for (int i : columnIndexes)
+            if (i == columnIndex)
+                return true;
+        return false;
+    }
+
     double computeMinPixelWidth(double totalWidth) {
         return computeMinPrefMaxPixelWidth(minWidth, totalWidth);
     }
@@ -120,6 +205,16 @@ final class GridTableColumn extends Pane {
     // Layout of the cells within that head or body column
     @Override
     protected void layoutChildren() {
+        GridBody gridBody = visualGridSkin.gridBody;
+        gridBody.layingOutCells = true;
+        try {
+            layoutCells();
+        } finally {
+            gridBody.layingOutCells = false;
+        }
+    }
+
+    private void layoutCells() {
         VisualGrid visualGrid = visualGridSkin.getVisualGrid();
         boolean snapToPixel = visualGrid.isSnapToPixel();
         Insets cellMargin = visualGrid.getCellMargin();
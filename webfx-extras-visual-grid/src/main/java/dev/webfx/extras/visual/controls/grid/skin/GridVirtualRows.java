@@ -0,0 +1,196 @@
+package dev.webfx.extras.visual.controls.grid.skin;
+
+import java.util.Arrays;
+
+/**
+ * GridVirtualRows is the vertical model of a virtualized grid body. It knows all the global rows (mixed group/data
+ * rows) of the visual result without materializing any node for them, and gives their (estimated or measured) heights
+ * and vertical positions, so the grid body can report its full height to the scroll pane while only the rows of the
+ * visible window are actually built.
+ *
+ * Rows have an estimated height by default (one for data rows, one for group rows), so no memory per row is needed as
+ * long as the row heights are fixed. When a materialized row is measured with a different height, the difference with
+ * the estimate is recorded in a Fenwick tree (allocated on first need), so that the y position of a row and the row at
+ * a given y position are both computed in logarithmic time.
+ *
+ * @author Bruno Salmon
+ */
+final class GridVirtualRows {
+
+    private static final int[] NO_GROUP = {};
+
+    private int dataRowCount;
+    // Sorted data row indexes that start a new group (a group row is displayed just before each of them)
+    private int[] groupStartDataRowIndexes = NO_GROUP;
+    private double estimatedDataRowHeight;
+    private double estimatedGroupRowHeight;
+    // Fenwick tree (1-based) of the differences between the measured and estimated heights, indexed by global row
+    private double[] heightDeltaTree;
+    // Measured heights (NaN if not yet measured), indexed by global row - allocated together with heightDeltaTree
+    private double[] measuredHeights;
+    private double heightDeltaTotal;
+
+    void reset(int dataRowCount, int[] groupStartDataRowIndexes, double estimatedDataRowHeight, double estimatedGroupRowHeight) {
+        this.dataRowCount = dataRowCount;
+        this.groupStartDataRowIndexes = groupStartDataRowIndexes == null ? NO_GROUP : groupStartDataRowIndexes;
+        this.estimatedDataRowHeight = estimatedDataRowHeight;
+        this.estimatedGroupRowHeight = estimatedGroupRowHeight;
+        heightDeltaTree = measuredHeights = null;
+        heightDeltaTotal = 0;
+    }
+
+    int getDataRowCount() {
+        return dataRowCount;
+    }
+
+    int getGlobalRowCount() {
+        return dataRowCount + groupStartDataRowIndexes.length;
+    }
+
+    boolean isGroupStartDataRowIndex(int dataRowIndex) {
+        return Arrays.binarySearch(groupStartDataRowIndexes, dataRowIndex) >= 0;
+    }
+
+    // Returns the global index of the first row displayed for that data row, which is its group row if it starts a group
+    int dataRowIndexToFirstGlobalRowIndex(int dataRowIndex) {
+        int globalRowIndex = dataRowIndexToGlobalRowIndex(dataRowIndex);
+        return isGroupStartDataRowIndex(dataRowIndex) ? globalRowIndex - 1 : globalRowIndex;
+    }
+
+    int dataRowIndexToGlobalRowIndex(int dataRowIndex) {
+        return dataRowIndex + countGroupsStartingAtOrBefore(dataRowIndex);
+    }
+
+    // Returns the data row index of that global row, or of the first data row of the group if it's a group row
+    int globalRowIndexToDataRowIndex(int globalRowIndex) {
+        // The global index of the group row j is groupStartDataRowIndexes[j] + j, which is strictly increasing with j
+        int low = 0, high = groupStartDataRowIndexes.length; // searching the number of group rows at or before globalRowIndex
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (groupStartDataRowIndexes[mid] + mid <= globalRowIndex)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        if (low > 0 && groupStartDataRowIndexes[low - 1] + low - 1 == globalRowIndex) // group row
+            return groupStartDataRowIndexes[low - 1];
+        return globalRowIndex - low;
+    }
+
+    private int countGroupsStartingAtOrBefore(int dataRowIndex) {
+        int low = 0, high = groupStartDataRowIndexes.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (groupStartDataRowIndexes[mid] <= dataRowIndex)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return low;
+    }
+
+    // Number of group rows among the global rows before globalRowIndex (excluded)
+    private int countGroupRowsBefore(int globalRowIndex) {
+        int low = 0, high = groupStartDataRowIndexes.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (groupStartDataRowIndexes[mid] + mid < globalRowIndex)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return low;
+    }
+
+    double getTotalHeight() {
+        return getRowY(getGlobalRowCount());
+    }
+
+    // Returns the y position of the global row (which is also the sum of the heights of all the rows before it)
+    double getRowY(int globalRowIndex) {
+        int groupRowsBefore = countGroupRowsBefore(globalRowIndex);
+        double y = (globalRowIndex - groupRowsBefore) * estimatedDataRowHeight + groupRowsBefore * estimatedGroupRowHeight;
+        if (heightDeltaTree != null)
+            y += sumHeightDeltas(globalRowIndex);
+        return y;
+    }
+
+    // Returns the global row displayed at the y position (clamped to the existing rows)
+    int getGlobalRowIndexAtY(double y) {
+        int globalRowCount = getGlobalRowCount();
+        int low = 0, high = globalRowCount; // searching the first row whose bottom is after y
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (getRowY(mid + 1) <= y)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return Math.min(low, globalRowCount - 1);
+    }
+
+    // Records the measured height of a materialized row, and returns true if the total height has changed
+    boolean setMeasuredRowHeight(int globalRowIndex, double rowHeight) {
+        if (globalRowIndex < 0 || globalRowIndex >= getGlobalRowCount())
+            return false;
+        if (measuredHeights == null) {
+            if (rowHeight == getEstimatedRowHeight(globalRowIndex))
+                return false; // no need to allocate anything while measured heights match the estimates
+            int globalRowCount = getGlobalRowCount();
+            heightDeltaTree = new double[globalRowCount + 1];
+            measuredHeights = new double[globalRowCount];
+            Arrays.fill(measuredHeights, Double.NaN);
+        }
+        double previousHeight = measuredHeights[globalRowIndex];
+        if (Double.isNaN(previousHeight))
+            previousHeight = getEstimatedRowHeight(globalRowIndex);
+        double delta = rowHeight - previousHeight;
+        measuredHeights[globalRowIndex] = rowHeight;
+        if (delta == 0)
+            return false;
+        for (int i = globalRowIndex + 1; i < heightDeltaTree.length; i += i & -i)
+            heightDeltaTree[i] += delta;
+        heightDeltaTotal += delta;
+        return true;
+    }
+
+    // Replaces the estimated heights (ex: by the average height of the first measured rows) while keeping the measured
+    // heights, and returns true if the total height has changed
+    boolean setEstimatedRowHeights(double estimatedDataRowHeight, double estimatedGroupRowHeight) {
+        if (estimatedDataRowHeight == this.estimatedDataRowHeight && estimatedGroupRowHeight == this.estimatedGroupRowHeight)
+            return false;
+        this.estimatedDataRowHeight = estimatedDataRowHeight;
+        this.estimatedGroupRowHeight = estimatedGroupRowHeight;
+        if (measuredHeights != null) { // the height deltas are relative to the estimates, so we rebuild the tree (in linear time)
+            heightDeltaTotal = 0;
+            Arrays.fill(heightDeltaTree, 0);
+            for (int globalRowIndex = 0; globalRowIndex < measuredHeights.length; globalRowIndex++) {
+                double measuredHeight = measuredHeights[globalRowIndex];
+                int i = globalRowIndex + 1;
+                if (!Double.isNaN(measuredHeight)) {
+                    double delta = measuredHeight - getEstimatedRowHeight(globalRowIndex);
+                    heightDeltaTree[i] += delta;
+                    heightDeltaTotal += delta;
+                }
+                int parent = i + (i & -i);
+                if (parent < heightDeltaTree.length)
+                    heightDeltaTree[parent] += heightDeltaTree[i];
+            }
+        }
+        return true;
+    }
+
+    private double getEstimatedRowHeight(int globalRowIndex) {
+        return countGroupRowsBefore(globalRowIndex + 1) > countGroupRowsBefore(globalRowIndex) ? estimatedGroupRowHeight : estimatedDataRowHeight;
+    }
+
+    // Sum of the height deltas of the global rows before globalRowIndex (excluded)
+    private double sumHeightDeltas(int globalRowIndex) {
+        if (globalRowIndex >= heightDeltaTree.length - 1)
+            return heightDeltaTotal;
+        double sum = 0;
+        for (int i = globalRowIndex; i > 0; i -= i & -i)
+            sum += heightDeltaTree[i];
+        return sum;
+    }
+}
@@ -1,15 +1,21 @@
 package dev.webfx.extras.visual.controls.grid.skin;
 
+import dev.webfx.extras.cell.renderer.ValueApplier;
 import dev.webfx.extras.cell.renderer.ValueRendererRegistry;
 import dev.webfx.extras.panes.LayoutPane;
 import dev.webfx.extras.panes.MonoPane;
 import dev.webfx.extras.util.control.Controls;
 import dev.webfx.extras.visual.VisualColumn;
+import dev.webfx.extras.visual.VisualResult;
+import dev.webfx.extras.visual.VisualResultDiff;
 import dev.webfx.extras.visual.VisualStyle;
 import dev.webfx.extras.visual.controls.SelectableVisualResultControlSkinBase;
+import dev.webfx.extras.visual.controls.grid.ColumnAutoSize;
 import dev.webfx.extras.visual.controls.grid.VisualGrid;
 import dev.webfx.kit.util.properties.FXProperties;
 import dev.webfx.platform.console.Console;
+import dev.webfx.platform.scheduler.Scheduled;
+import dev.webfx.platform.uischeduler.UiScheduler;
 import dev.webfx.platform.useragent.UserAgent;
 import dev.webfx.platform.util.collection.Collections;
 import javafx.beans.property.BooleanProperty;
@@ -18,6 +24,7 @@ import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleDoubleProperty;
 import javafx.geometry.HPos;
 import javafx.geometry.Insets;
+import javafx.geometry.Orientation;
 import javafx.geometry.Pos;
 import javafx.geometry.VPos;
 import javafx.scene.Node;
@@ -29,6 +36,8 @@ import javafx.scene.paint.Paint;
 import javafx.scene.shape.Rectangle;
 import javafx.scene.text.Text;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -37,6 +46,13 @@ import java.util.List;
 public final class VisualGridSkin extends SelectableVisualResultControlSkinBase<VisualGrid, Pane, Pane> {
 
     private static final boolean LOG_TIMING = false;
+    // Used in virtualized mode for the rows not yet measured, until the first rows are measured (the average height of
+    // the measured rows is then used as the estimate)
+    private static final double INITIAL_ESTIMATED_COMPUTED_ROW_HEIGHT = 24;
+    // Time budget per animation frame for computing the heights of the non-visible rows
+    private static final long ROW_HEIGHTS_FRAME_BUDGET_NANOS = 8_000_000;
+    private static final long ALL_COLUMNS = -1L; // width-dependent columns mask
+    private static final String CELL_HEIGHT_LISTENED_KEY = "grid-cell-height-listened";
 
     //private long initialBuildTimeMillis;
     private final GridTableHead gridTableHead = new GridTableHead(this);
@@ -45,7 +61,17 @@ public final class VisualGridSkin extends SelectableVisualResultControlSkinBase<
     private Region body; // = gridBody if fullHeight, bodyScrollPane otherwise
     private double headOffset;
     private final static Pane fakeCell = new Pane();
+    // Virtualized mode: vertical model of all rows, and window of the data rows that are currently materialized
+    final GridVirtualRows virtualRows = new GridVirtualRows();
+    private VisualResult virtualRowsResult;
+    private boolean virtualizedBuild;
+    private int windowFirstRowIndex, windowLastRowIndex = -1;
+    private int windowFirstGlobalRowIndex;
+    private double measuredRowHeightAverage = Double.NaN; // average height of the last measured window rows
+    private boolean estimatedRowHeightMeasured; // true once the estimate has been derived from the measured rows
     private List<Node> fakeCellChildren;
+    private int fakeCellReplaceIndex = -1; // when >= 0, the fake cell content replaces the child at that index
+    private List<List<Node>> patchingColumnsCells; // cells of the body columns while patching rows (see patchGrid())
     private final DoubleProperty tableLayoutMinWidthProperty = new SimpleDoubleProperty();
     private final BooleanProperty monoColumnLayoutProperty = new SimpleBooleanProperty(false) {
         @Override
@@ -113,6 +139,10 @@ public final class VisualGridSkin extends SelectableVisualResultControlSkinBase<
                                 headOffset = Controls.computeScrollPaneHOffset(bodyScrollPane, false);
                                 gridTableHead.relocate(-headOffset, 0);
                             }, bodyScrollPane.hvalueProperty());
+                            FXProperties.runOnPropertiesChange(() -> {
+                                if (virtualizedBuild)
+                                    updateWindow(false);
+                            }, bodyScrollPane.vvalueProperty(), bodyScrollPane.viewportBoundsProperty());
                         }
                         bodyScrollPane.setContent(gridBody);
                         body = bodyScrollPane;
@@ -122,7 +152,19 @@ public final class VisualGridSkin extends SelectableVisualResultControlSkinBase<
                     getChildren().setAll(gridTableHead, body);
                 else
                     getChildren().setAll(body);
-            }, visualControl.headerVisibleProperty(), visualControl.fullHeightProperty())
+            }, visualControl.headerVisibleProperty(), visualControl.fullHeightProperty()),
+            FXProperties.runOnPropertiesChange(() -> {
+                if (virtualizedBuild != isVirtualized())
+                    buildGrid();
+                else if (virtualizedBuild)
+                    updateWindow(true);
+            }, visualControl.virtualizedProperty(), visualControl.fullHeightProperty(), visualControl.overscanRowCountProperty()),
+            FXProperties.runOnPropertiesChange(() -> {
+                for (GridTableColumn bodyColumn : gridBody.bodyTableColumns)
+                    bodyColumn.invalidateSampledContentMaxWidth();
+                invalidateColumnWidths();
+                visualControl.requestLayout();
+            }, visualControl.columnAutoSizeProperty(), visualControl.columnAutoSizeSampleRowCountProperty())
         );
     }
 
@@ -150,16 +192,232 @@ public final class VisualGridSkin extends SelectableVisualResultControlSkinBase<
         builtRowIndex = -1;
     }
 
-    private int builtRowIndex;
+    private int builtRowIndex; // Note: relative to the window first row in virtualized mode
+
+    @Override
+    protected void buildRows() {
+        virtualizedBuild = isVirtualized();
+        if (!virtualizedBuild) {
+            windowFirstRowIndex = windowFirstGlobalRowIndex = 0;
+            windowLastRowIndex = getRowCount() - 1;
+            super.buildRows();
+        } else {
+            resetVirtualRows();
+            windowLastRowIndex = -1; // forcing the window computation
+            updateWindowRange(true);
+            buildWindowRows();
+        }
+    }
 
     @Override
     protected void buildRowCells(Pane bodyRow, int rowIndex) {
         //initialBuildTimeMillis = System.currentTimeMillis();
         super.buildRowCells(bodyRow, rowIndex);
-        builtRowIndex = rowIndex;
+        builtRowIndex = rowIndex - windowFirstRowIndex;
         invalidateRowHeight(builtRowIndex);
     }
 
+    boolean isVirtualized() {
+        // The virtualization requires the body to be in a scroll pane, so it's not possible in full height mode
+        return visualControl.isVirtualized() && !visualControl.isFullHeight();
+    }
+
+    boolean isVirtualizedBuild() {
+        return virtualizedBuild;
+    }
+
+    int getWindowFirstRowIndex() {
+        return windowFirstRowIndex;
+    }
+
+    double getWindowY() {
+        return virtualizedBuild ? virtualRows.getRowY(windowFirstGlobalRowIndex) : 0;
+    }
+
+    private void resetVirtualRows() {
+        VisualResult rs = getRs();
+        virtualRowsResult = rs;
+        int rowCount = getRowCount();
+        // Scanning the group column values (if any) to know where the group rows are, but without building any node
+        int[] groupStartRowIndexes = null;
+        int groupColumnIndex = getGroupColumnIndex();
+        if (groupColumnIndex >= 0) {
+            int[] groupStarts = new int[16];
+            int groupCount = 0;
+            Object lastGroupValue = null;
+            for (int rowIndex = 0; rowIndex < rowCount; rowIndex++) {
+                Object groupValue = ValueApplier.getApplicableValue(rs.getValue(rowIndex, groupColumnIndex));
+                if (groupValue != null && !groupValue.equals(lastGroupValue)) {
+                    if (groupCount == groupStarts.length)
+                        groupStarts = Arrays.copyOf(groupStarts, groupCount * 2);
+                    groupStarts[groupCount++] = rowIndex;
+                }
+                lastGroupValue = groupValue;
+            }
+            groupStartRowIndexes = Arrays.copyOf(groupStarts, groupCount);
+        }
+        double minRowHeight = visualControl.getMinRowHeight();
+        double prefRowHeight = visualControl.getPrefRowHeight();
+        double maxRowHeight = visualControl.getMaxRowHeight();
+        boolean requiresComputation = minRowHeight == Region.USE_COMPUTED_SIZE || prefRowHeight == Region.USE_COMPUTED_SIZE || maxRowHeight == Region.USE_COMPUTED_SIZE;
+        // With fixed row heights, the estimate is exact (group rows have the same height as data rows in that case).
+        // Otherwise, we start with the average height measured on the previous result, and the estimate will be
+        // refined on the first measured rows of this new result (see computeRowHeights()).
+        double estimatedRowHeight = !requiresComputation ? finalRowHeight(minRowHeight, prefRowHeight, maxRowHeight, 0)
+            : Double.isNaN(measuredRowHeightAverage) ? INITIAL_ESTIMATED_COMPUTED_ROW_HEIGHT : measuredRowHeightAverage;
+        estimatedRowHeightMeasured = !requiresComputation;
+        virtualRows.reset(rowCount, groupStartRowIndexes, estimatedRowHeight, estimatedRowHeight);
+    }
+
+    // Computes the data rows window to materialize from the scroll position, and returns true if it has changed
+    private boolean updateWindowRange(boolean force) {
+        int rowCount = virtualRows.getDataRowCount();
+        if (rowCount == 0) {
+            boolean changed = windowLastRowIndex != -1;
+            windowFirstRowIndex = windowFirstGlobalRowIndex = 0;
+            windowLastRowIndex = -1;
+            return changed;
+        }
+        double viewportTop = 0, viewportHeight = 0;
+        if (bodyScrollPane != null && bodyScrollPane.getContent() == gridBody) {
+            viewportTop = Controls.computeScrollPaneVTopOffset(bodyScrollPane);
+            viewportHeight = bodyScrollPane.getViewportBounds().getHeight();
+        }
+        if (viewportHeight <= 0) // happens before the first layout pass
+            viewportHeight = visualControl.getHeight();
+        int firstVisibleRowIndex = virtualRows.globalRowIndexToDataRowIndex(virtualRows.getGlobalRowIndexAtY(viewportTop));
+        int lastVisibleRowIndex = virtualRows.globalRowIndexToDataRowIndex(virtualRows.getGlobalRowIndexAtY(viewportTop + viewportHeight));
+        if (!force && firstVisibleRowIndex >= windowFirstRowIndex && lastVisibleRowIndex <= windowLastRowIndex)
+            return false; // the visible rows are still in the current window (thanks to the overscan)
+        int overscanRowCount = Math.max(0, visualControl.getOverscanRowCount());
+        int firstRowIndex = Math.max(0, firstVisibleRowIndex - overscanRowCount);
+        int lastRowIndex = Math.min(rowCount - 1, lastVisibleRowIndex + overscanRowCount);
+        if (firstRowIndex == windowFirstRowIndex && lastRowIndex == windowLastRowIndex)
+            return false;
+        windowFirstRowIndex = firstRowIndex;
+        windowLastRowIndex = lastRowIndex;
+        windowFirstGlobalRowIndex = virtualRows.dataRowIndexToFirstGlobalRowIndex(firstRowIndex);
+        return true;
+    }
+
+    private void buildWindowRows() {
+        if (windowLastRowIndex >= windowFirstRowIndex)
+            buildRows(windowFirstRowIndex, windowLastRowIndex);
+    }
+
+    private void updateWindow(boolean force) {
+        if (getRs() != virtualRowsResult) // a new result is pending, and the window will be built with the grid
+            return;
+        if (updateWindowRange(force))
+            rebuildWindow();
+    }
+
+    private void rebuildWindow() {
+        gridBody.startBuildingWindow();
+        builtRowIndex = -1;
+        buildWindowRows();
+        gridBody.endBuildingGrid();
+    }
+
+    @Override
+    protected boolean canPatchGrid() {
+        // Group rows depend on the neighbour rows, which makes patching more complex => full rebuild for now
+        return getGroupColumnIndex() < 0;
+    }
+
+    @Override
+    protected boolean patchGrid(VisualResultDiff diff) {
+        if (virtualizedBuild) {
+            // Only the window rows are materialized, so we simply rebuild that window (the other rows are virtual)
+            resetVirtualRows();
+            updateWindowRange(true);
+            rebuildWindow();
+        } else if (!diff.hasStructuralChanges()) {
+            // Only in-place updates => we patch the changed cells of the updated rows, the other nodes are untouched
+            for (VisualResultDiff.Operation operation : diff.getOperations()) {
+                int rowIndex = operation.getNewRowIndex();
+                patchBodyRow(gridBody.bodyDataRows.get(rowIndex), rowIndex, operation.getChangedColumnIndexes(), false);
+            }
+        } else {
+            // Some rows were inserted, deleted or moved => we reorder the existing rows and cells (reusing them for
+            // the rows still present), build only the inserted rows, and patch the changed cells.
+            List<Pane> oldDataRows = new ArrayList<>(gridBody.bodyDataRows);
+            List<GridTableColumn> bodyColumns = gridBody.bodyTableColumns;
+            List<List<Node>> oldColumnsCells = new ArrayList<>(bodyColumns.size());
+            patchingColumnsCells = new ArrayList<>(bodyColumns.size());
+            for (GridTableColumn bodyColumn : bodyColumns) {
+                oldColumnsCells.add(new ArrayList<>(bodyColumn.getChildren()));
+                patchingColumnsCells.add(new ArrayList<>());
+            }
+            GridRowHeightCache oldRowHeights = gridBody.rowHeightCache.copy();
+            gridBody.startPatchingRows();
+            builtRowIndex = -1;
+            int rowCount = getRowCount();
+            for (int rowIndex = 0; rowIndex < rowCount; rowIndex++) {
+                int oldRowIndex = diff.getOldRowIndex(rowIndex);
+                if (oldRowIndex < 0) // inserted row
+                    buildRow(rowIndex);
+                else { // existing row (possibly moved)
+                    Pane bodyRow = oldDataRows.get(oldRowIndex);
+                    gridBody.addBodyRow(bodyRow);
+                    gridBody.rowHeightCache.copyRow(oldRowHeights, oldRowIndex, rowIndex);
+                    if (isTableLayout())
+                        for (int i = 0; i < oldColumnsCells.size(); i++)
+                            patchingColumnsCells.get(i).add(Collections.get(oldColumnsCells.get(i), oldRowIndex));
+                    builtRowIndex = rowIndex;
+                    patchBodyRow(bodyRow, rowIndex, diff.getChangedColumnIndexes(rowIndex), oldRowIndex != rowIndex);
+                }
+            }
+            for (int i = 0; i < bodyColumns.size(); i++)
+                bodyColumns.get(i).getChildren().setAll(patchingColumnsCells.get(i));
+            patchingColumnsCells = null;
+            gridBody.endBuildingGrid();
+        }
+        if (isSampledColumnAutoSize())
+            for (GridTableColumn bodyColumn : gridBody.bodyTableColumns)
+                bodyColumn.patchSampledContentMaxWidth(getRs(), diff);
+        invalidateRowHeight(-1);
+        gridBody.requestLayout();
+        visualControl.requestLayout();
+        return true;
+    }
+
+    private void patchBodyRow(Pane bodyRow, int rowIndex, int[] changedColumnIndexes, boolean rowIndexChanged) {
+        boolean rowStyleChanged = rowIndexChanged;
+        boolean rowCellsChanged = false;
+        for (int columnIndex : changedColumnIndexes) {
+            if (columnIndex == getRowStyleColumnIndex() || columnIndex == getRowBackgroundColumnIndex())
+                rowStyleChanged = true;
+            else if (isDataColumn(columnIndex))
+                rowCellsChanged = true;
+        }
+        if (rowStyleChanged || rowCellsChanged) // Note: no group rows when patching, so the global index = data index
+            gridBody.rowHeightCache.invalidate(rowIndex - windowFirstRowIndex);
+        if (rowStyleChanged) {
+            // Resetting the row style classes before applying them again (with the possible selection) and also the
+            // mouse handler, as it is bound to the row index
+            bodyRow.getStyleClass().setAll("grid-row");
+            setUpBodyRow(bodyRow, rowIndex);
+        }
+        if (!rowCellsChanged)
+            return;
+        if (isMonoColumnLayout()) { // all cells are in the row itself in this layout, so we rebuild them all
+            bodyRow.getChildren().clear();
+            super.buildRowCells(bodyRow, rowIndex);
+        } else { // replacing only the changed cells in the table columns
+            fakeCellReplaceIndex = rowIndex - windowFirstRowIndex;
+            int columnCount = getRs().getColumnCount();
+            for (int columnIndex = 0, gridColumnIndex = 0; columnIndex < columnCount; columnIndex++) {
+                if (isDataColumn(columnIndex)) {
+                    if (Arrays.binarySearch(changedColumnIndexes, columnIndex) >= 0)
+                        fillCell(createBodyRowCell(bodyRow, rowIndex, gridColumnIndex), rowIndex, columnIndex);
+                    gridColumnIndex++;
+                }
+            }
+            fakeCellReplaceIndex = -1;
+        }
+    }
+
     int getBuiltRowCount() {
         return builtRowIndex + 1;
     }
@@ -189,6 +447,7 @@ public final class VisualGridSkin extends SelectableVisualResultControlSkinBase<
             headColumn.setVisualColumn(visualColumn);
             GridTableColumn bodyColumn = gridBody.getOrCreateBodyColumn(gridColumnIndex);
             bodyColumn.setVisualColumn(visualColumn);
+            bodyColumn.rsColumnIndex = rsColumnIndex;
             if (bodyColumn.accumulator == null)
                 bodyColumn.setAccumulator(headColumn.getAccumulator());
             super.setUpGridColumn(gridColumnIndex, rsColumnIndex, visualColumn);
@@ -208,7 +467,10 @@ public final class VisualGridSkin extends SelectableVisualResultControlSkinBase<
 
     @Override
     protected Pane getOrAddBodyRow(int rowIndex) {
-        return gridBody.createBodyRow(rowIndex);
+        // In virtualized mode, there is no row for the data rows outside the window
+        if (virtualizedBuild && (rowIndex < windowFirstRowIndex || rowIndex > windowLastRowIndex))
+            return null;
+        return gridBody.createBodyRow(rowIndex - windowFirstRowIndex);
     }
 
     @Override
@@ -222,7 +484,7 @@ public final class VisualGridSkin extends SelectableVisualResultControlSkinBase<
 
     @Override
     protected Pane createBodyRowCell(Pane bodyRow, int rowIndex, int gridColumnIndex) {
-        return gridBody.createBodyRowCell(rowIndex, gridColumnIndex);
+        return gridBody.createBodyRowCell(rowIndex - windowFirstRowIndex, gridColumnIndex);
     }
 
     @Override
@@ -236,7 +498,11 @@ public final class VisualGridSkin extends SelectableVisualResultControlSkinBase<
                 // constraint. We don't want the label to indefinitely grow in height, but want it rather to be truncated
                 // (with possible ellipsis) if all the text doesn't fit in the cell.
                 ValueRendererRegistry.removePossibleLabelAutoWrap(content);
-            getCellChildren(cell).add(content);
+            List<Node> cellChildren = getCellChildren(cell);
+            if (fakeCellReplaceIndex >= 0 && fakeCellReplaceIndex < cellChildren.size())
+                cellChildren.set(fakeCellReplaceIndex, content);
+            else
+                cellChildren.add(content);
         } else { // Mono-column layout - probably mobiles
             if (content != null) {
                 VisualStyle style = visualColumn.getStyle();
@@ -268,7 +534,8 @@ public final class VisualGridSkin extends SelectableVisualResultControlSkinBase<
     }
 
     Pane prepareFakeCell(Pane fakePane) {
-        fakeCellChildren = fakePane.getChildren();
+        int patchingColumnIndex = patchingColumnsCells == null ? -1 : gridBody.bodyTableColumns.indexOf(fakePane);
+        fakeCellChildren = patchingColumnIndex >= 0 ? patchingColumnsCells.get(patchingColumnIndex) : fakePane.getChildren();
         return fakeCell;
     }
 
@@ -304,10 +571,8 @@ public final class VisualGridSkin extends SelectableVisualResultControlSkinBase<
             double columnWidth;
             if (headColumn.prefWidth != null)
                 columnWidth = headColumn.computePrefPixelWidth(visualControl.getWidth() - leftInset - rightInset);
-            else {
-                GridTableColumn bodyColumn = bodyColumns.get(i);
-                columnWidth = bodyColumn.getOrComputeContentMaxWidth();
-            }
+            else
+                columnWidth = getColumnContentMaxWidth(i);
             columnWidth = snapSizeX(columnWidth + hMargin);
             width += columnWidth;
         }
@@ -322,7 +587,8 @@ public final class VisualGridSkin extends SelectableVisualResultControlSkinBase<
     @Override
     protected double computePrefHeight(double width, double topInset, double rightInset, double bottomInset, double leftInset) {
         updateColumnWidthsAndRowHeights(width - leftInset - rightInset, false);
-        return (isHeaderVisible() ? getHeaderHeight() : 0) + gridBody.computedRowHeightsTotal + topInset + bottomInset;
+        double rowHeightsTotal = virtualizedBuild ? virtualRows.getTotalHeight() : gridBody.computedRowHeightsTotal;
+        return (isHeaderVisible() ? getHeaderHeight() : 0) + rowHeightsTotal + topInset + bottomInset;
     }
 
     @Override
@@ -356,6 +622,7 @@ public final class VisualGridSkin extends SelectableVisualResultControlSkinBase<
 
     private double lastTotalWidth;
     private int lastComputedRowHeightsBuiltRowIndex;
+    private Scheduled rowHeightsScheduled;
     double computedTableLayoutMinWidth;
 
     private void updateColumnWidthsAndRowHeights(double totalWidth, boolean apply) {
@@ -393,10 +660,8 @@ public final class VisualGridSkin extends SelectableVisualResultControlSkinBase<
             double computedWidth;
             if (headColumn.prefWidth != null) {
                 computedWidth = headColumn.computePrefPixelWidth(totalWidth);
-            } else {
-                GridTableColumn bodyColumn = bodyColumns.get(i);
-                computedWidth = bodyColumn.getOrComputeContentMaxWidth();
-            }
+            } else
+                computedWidth = getColumnContentMaxWidth(i);
             // Step 2: Apply min/max constraints
             if (headColumn.minWidth != null) {
                 double minW = headColumn.computeMinPixelWidth(totalWidth);
@@ -472,6 +737,22 @@ public final class VisualGridSkin extends SelectableVisualResultControlSkinBase<
         }
     }
 
+    private boolean isSampledColumnAutoSize() {
+        return visualControl.getColumnAutoSize() == ColumnAutoSize.SAMPLED_ROWS;
+    }
+
+    private double getColumnContentMaxWidth(int gridColumnIndex) {
+        GridTableColumn bodyColumn = gridBody.bodyTableColumns.get(gridColumnIndex);
+        if (!isSampledColumnAutoSize()) // Measuring all the rendered cells of the column
+            return bodyColumn.getOrComputeContentMaxWidth();
+        // Estimating the width from a bounded number of sampled rows, without laying out the cells (except the header)
+        double width = bodyColumn.getOrEstimateSampledContentMaxWidth(getRs(), Math.max(1, visualControl.getColumnAutoSizeSampleRowCount()));
+        Node headCell = Collections.first(gridTableHead.headColumns.get(gridColumnIndex).getChildren());
+        if (headCell != null)
+            width = Math.max(width, headCell.prefWidth(-1));
+        return width;
+    }
+
     // Row heights computation
     private void computeRowHeights(double totalWidth) {
         long t0 = System.currentTimeMillis();
@@ -485,6 +766,7 @@ public final class VisualGridSkin extends SelectableVisualResultControlSkinBase<
         double prefRowHeight = visualControl.getPrefRowHeight();
         double maxRowHeight = visualControl.getMaxRowHeight();
         boolean requiresComputation = minRowHeight == Region.USE_COMPUTED_SIZE || prefRowHeight == Region.USE_COMPUTED_SIZE || maxRowHeight == Region.USE_COMPUTED_SIZE;
+        boolean rowHeightsPending = false;
         if (!requiresComputation) {
             double rowHeight = finalRowHeight(minRowHeight, prefRowHeight, maxRowHeight, 0);
             Collections.setAll(gridBody.computedRowHeights, java.util.Collections.nCopies(globalRowCount, rowHeight));
@@ -493,57 +775,200 @@ public final class VisualGridSkin extends SelectableVisualResultControlSkinBase<
             Insets cellMargin = visualControl.getCellMargin();
             double hMargin = cellMargin.getLeft() + cellMargin.getRight();
             double vMargin = cellMargin.getTop() + cellMargin.getBottom();
-            int dataRowCount = getBuiltRowCount(); // in case the table is not yet fully populated
-            /*if (lastComputedRowHeightsBuiltRowIndex == -1) {
-                gridBody.computedRowHeightsTotal = 0;
-            } else {
-                globalRowIndexStart = lastComputedRowHeightsBuiltRowIndex + 1;
-                globalRowIndexEnd = builtRowIndex;
-            }*/
+            int dataRowCount = getBuiltRowCount(); // in case the table is not yet fully populated (or the window in virtualized mode)
+            if (gridBody.computedRowHeights.size() != globalRowCount)
+                Collections.setAll(gridBody.computedRowHeights, java.util.Collections.nCopies(globalRowCount, 0d));
             gridBody.computedRowHeightsTotal = 0;
             int columnCount = gridTableHead.headColumns.size(); // ignored in mono-column mode
-            for (int globalRowIndex = globalRowIndexStart; globalRowIndex <= globalRowIndexEnd; globalRowIndex++) {
-                computeAndAccumulateRowHeight(globalRowIndex, totalWidth, hMargin, vMargin, columnCount, minRowHeight, prefRowHeight, maxRowHeight, dataRowCount);
+            // The rows to recompute (i.e. not in the cache) are computed in the visible rows first order, and the
+            // recomputation of the non-visible rows is spread over several animation frames if it exceeds the time
+            // budget (meanwhile, they keep their previous height).
+            int firstVisibleGlobalRowIndex = getFirstVisibleGlobalRowIndex(globalRowCount);
+            double visibleHeight = getViewportHeight(), visibleRowsHeight = 0;
+            long budgetEndNanos = System.nanoTime() + ROW_HEIGHTS_FRAME_BUDGET_NANOS;
+            for (int n = 0; n < globalRowCount; n++) {
+                int globalRowIndex = (firstVisibleGlobalRowIndex + n) % globalRowCount;
+                boolean visible = globalRowIndex >= firstVisibleGlobalRowIndex && visibleRowsHeight <= visibleHeight;
+                double contentHeight = getCachedRowContentHeight(globalRowIndex, totalWidth, hMargin);
+                if (Double.isNaN(contentHeight)) {
+                    double staleContentHeight = visible ? Double.NaN : gridBody.rowHeightCache.getStaleHeight(globalRowIndex);
+                    if (!Double.isNaN(staleContentHeight) && System.nanoTime() > budgetEndNanos) {
+                        contentHeight = staleContentHeight;
+                        rowHeightsPending = true;
+                    } else
+                        contentHeight = computeRowContentHeight(globalRowIndex, totalWidth, hMargin, columnCount, dataRowCount);
+                }
+                if (contentHeight >= 0) // negative for the data rows not yet built
+                    visibleRowsHeight += accumulateRowHeight(globalRowIndex, contentHeight + vMargin, minRowHeight, prefRowHeight, maxRowHeight);
             }
         }
 
         if (LOG_TIMING) {
             long t1 = System.currentTimeMillis();
-            Console.log("🟥 Row heights computed in " + (t1 - t0) + " ms from " + globalRowIndexStart + " to " + globalRowIndexEnd);
+            Console.log("🟥 Row heights computed in " + (t1 - t0) + " ms from " + globalRowIndexStart + " to " + globalRowIndexEnd + (rowHeightsPending ? " (pending)" : ""));
         }
 
-        lastComputedRowHeightsBuiltRowIndex = globalRowCount - 1;
+        // If some row heights are still pending, they will be computed in the next animation frame
+        lastComputedRowHeightsBuiltRowIndex = rowHeightsPending ? -1 : globalRowCount - 1;
+        if (rowHeightsPending && rowHeightsScheduled == null)
+            rowHeightsScheduled = UiScheduler.scheduleInAnimationFrame(() -> {
+                rowHeightsScheduled = null;
+                gridBody.requestLayout();
+                visualControl.requestLayout();
+            });
+
+        // In virtualized mode, the heights measured on the window rows replace their estimates in the virtual rows
+        if (virtualizedBuild) {
+            boolean totalHeightChanged = false;
+            if (requiresComputation && !rowHeightsPending) {
+                double measuredRowHeightsTotal = 0;
+                int measuredRowCount = 0;
+                for (int globalRowIndex = globalRowIndexStart; globalRowIndex <= globalRowIndexEnd; globalRowIndex++) {
+                    double rowHeight = gridBody.computedRowHeights.get(globalRowIndex);
+                    if (rowHeight > 0) {
+                        measuredRowHeightsTotal += rowHeight;
+                        measuredRowCount++;
+                    }
+                }
+                if (measuredRowCount > 0) {
+                    measuredRowHeightAverage = measuredRowHeightsTotal / measuredRowCount;
+                    // The first measured rows of a new result give the estimate for all the rows not yet measured
+                    if (!estimatedRowHeightMeasured) {
+                        estimatedRowHeightMeasured = true;
+                        if (virtualRows.setEstimatedRowHeights(measuredRowHeightAverage, measuredRowHeightAverage)) {
+                            totalHeightChanged = true;
+                            // The window range was computed with the previous estimate, so it may not cover the viewport
+                            UiScheduler.scheduleInAnimationFrame(() -> updateWindow(false));
+                        }
+                    }
+                }
+            }
+            for (int globalRowIndex = globalRowIndexStart; globalRowIndex <= globalRowIndexEnd; globalRowIndex++) {
+                double rowHeight = gridBody.computedRowHeights.get(globalRowIndex);
+                if (rowHeight > 0)
+                    totalHeightChanged |= virtualRows.setMeasuredRowHeight(windowFirstGlobalRowIndex + globalRowIndex, rowHeight);
+            }
+            if (totalHeightChanged)
+                gridBody.requestLayout();
+        }
+    }
+
+    // Returns the global row (relative to the window in virtualized mode) at the top of the viewport, based on the
+    // row heights of the previous layout pass
+    private int getFirstVisibleGlobalRowIndex(int globalRowCount) {
+        if (bodyScrollPane == null || bodyScrollPane.getContent() != gridBody)
+            return 0;
+        double viewportTop = Controls.computeScrollPaneVTopOffset(bodyScrollPane) - getWindowY();
+        double[] rowHeights = gridBody.appliedDataRowHeights;
+        if (rowHeights == null)
+            return 0;
+        double rowY = 0;
+        for (int globalRowIndex = 0, n = Math.min(globalRowCount, rowHeights.length); globalRowIndex < n; globalRowIndex++) {
+            rowY += rowHeights[globalRowIndex];
+            if (rowY > viewportTop)
+                return globalRowIndex;
+        }
+        return 0;
     }
 
-    private void computeAndAccumulateRowHeight(int globalRowIndex, double totalWidth, double hMargin, double vMargin, int columnCount, double minRowHeight, double prefRowHeight, double maxRowHeight, int dataRowCount) {
-        double computedRowHeight = 0;
+    private double getViewportHeight() {
+        double viewportHeight = bodyScrollPane != null && bodyScrollPane.getContent() == gridBody ? bodyScrollPane.getViewportBounds().getHeight() : 0;
+        if (viewportHeight <= 0) // happens before the first layout pass, or in full height mode
+            viewportHeight = visualControl.getHeight();
+        return viewportHeight;
+    }
+
+    // Returns the content height of the row if it has been cached with the current widths, NaN otherwise
+    private double getCachedRowContentHeight(int globalRowIndex, double totalWidth, double hMargin) {
+        GridRowHeightCache cache = gridBody.rowHeightCache;
+        long widthDependentColumns = cache.getWidthDependentColumns(globalRowIndex);
+        return cache.getHeight(globalRowIndex, rowWidthSignature(globalRowIndex, widthDependentColumns, totalWidth, hMargin));
+    }
+
+    // Computes the content height of the row from its cells (and stores it in the cache), or returns -1 if the row is
+    // not yet built
+    private double computeRowContentHeight(int globalRowIndex, double totalWidth, double hMargin, int columnCount, int dataRowCount) {
+        double contentHeight = 0;
+        long widthDependentColumns = 0;
         int matchingRowIndex = gridBody.globalRowIndexToMatchingRowIndex(globalRowIndex);
         if (GridBody.isMatchingRowIndexGroupRowIndex(matchingRowIndex)) { // group row
             int groupRowIndex = GridBody.matchingRowIndexToGroupRowIndex(matchingRowIndex);
             Node groupRow = gridBody.bodyGroupRows.get(groupRowIndex);
-            computedRowHeight = groupRow.prefHeight(totalWidth - hMargin);
+            contentHeight = groupRow.prefHeight(totalWidth - hMargin);
+            listenCellHeight(groupRow);
+            if (groupRow.getContentBias() == Orientation.HORIZONTAL)
+                widthDependentColumns = ALL_COLUMNS;
         } else { // data row
             int dataRowIndex = GridBody.matchingRowIndexToDataRowIndex(matchingRowIndex);
             if (dataRowIndex >= dataRowCount)
-                return;
+                return -1;
             if (isMonoColumnLayout()) {
                 Pane pane = gridBody.bodyDataRows.get(dataRowIndex);
-                computedRowHeight = pane.prefHeight(totalWidth - hMargin) + vMargin;
+                contentHeight = pane.prefHeight(totalWidth - hMargin);
+                listenCellHeight(pane);
+                if (pane.getContentBias() == Orientation.HORIZONTAL)
+                    widthDependentColumns = ALL_COLUMNS;
             } else {
                 for (int i = 0; i < columnCount; i++) {
                     GridTableColumn gridTableColumn = gridBody.bodyTableColumns.get(i);
                     Node cellNode = Collections.get(gridTableColumn.getChildren(), dataRowIndex);
-                    if (cellNode != null)
-                        computedRowHeight = Math.max(computedRowHeight, cellNode.prefHeight(gridTableColumn.getComputedWidth() - hMargin) + vMargin);
+                    if (cellNode != null) {
+                        contentHeight = Math.max(contentHeight, cellNode.prefHeight(gridTableColumn.getComputedWidth() - hMargin));
+                        listenCellHeight(cellNode);
+                        // Ex: wrapped text => the cell height depends on the column width
+                        if (cellNode.getContentBias() == Orientation.HORIZONTAL)
+                            widthDependentColumns |= columnBit(i);
+                    }
                 }
             }
         }
+        gridBody.rowHeightCache.setHeight(globalRowIndex, contentHeight, widthDependentColumns, rowWidthSignature(globalRowIndex, widthDependentColumns, totalWidth, hMargin));
+        return contentHeight;
+    }
+
+    // Installs (once per cell) a listener that invalidates the cached height of the cell row when the cell height changes
+    // outside the grid layout (ex: image loaded, or text changed after the height was computed)
+    private void listenCellHeight(Node cell) {
+        if (cell.getProperties().containsKey(CELL_HEIGHT_LISTENED_KEY))
+            return;
+        cell.getProperties().put(CELL_HEIGHT_LISTENED_KEY, Boolean.TRUE);
+        cell.layoutBoundsProperty().addListener((observable, oldBounds, newBounds) -> {
+            if (!gridBody.layingOutCells && oldBounds.getHeight() != newBounds.getHeight()) {
+                int globalRowIndex = gridBody.findCellGlobalRowIndex(cell);
+                if (globalRowIndex >= 0) {
+                    gridBody.rowHeightCache.invalidate(globalRowIndex);
+                    invalidateRowHeight(-1);
+                    gridBody.requestLayout();
+                }
+            }
+        });
+    }
+
+    private static long columnBit(int gridColumnIndex) {
+        return 1L << Math.min(gridColumnIndex, 63); // the columns after 63 share the same bit
+    }
+
+    // Returns a value identifying the widths the content height of that row depends on. A row with no width-dependent
+    // content has a fixed height, so its signature is always 0 (its cached height remains valid whatever the widths).
+    private double rowWidthSignature(int globalRowIndex, long widthDependentColumns, double totalWidth, double hMargin) {
+        if (widthDependentColumns == 0)
+            return 0;
+        if (isMonoColumnLayout() || GridBody.isMatchingRowIndexGroupRowIndex(gridBody.globalRowIndexToMatchingRowIndex(globalRowIndex)))
+            return totalWidth - hMargin;
+        double signature = hMargin;
+        List<GridTableColumn> bodyColumns = gridBody.bodyTableColumns;
+        for (int i = 0; i < bodyColumns.size(); i++)
+            if ((widthDependentColumns & columnBit(i)) != 0)
+                signature = signature * 31 + bodyColumns.get(i).getComputedWidth();
+        return signature;
+    }
+
+    private double accumulateRowHeight(int globalRowIndex, double computedRowHeight, double minRowHeight, double prefRowHeight, double maxRowHeight) {
         double finalPrefRowHeight = prefRowHeight == Region.USE_COMPUTED_SIZE ? visualControl.snapSizeY(computedRowHeight) : prefRowHeight;
         double rowHeight = finalRowHeight(minRowHeight, finalPrefRowHeight, maxRowHeight, computedRowHeight);
-        if (gridBody.computedRowHeights.isEmpty())
-            Collections.setAll(gridBody.computedRowHeights, java.util.Collections.nCopies(gridBody.globalRowsIndexes.size(), 0d));
         gridBody.computedRowHeights.set(globalRowIndex, rowHeight);
         gridBody.computedRowHeightsTotal += rowHeight;
+        return rowHeight;
     }
 
     private static double finalRowHeight(double minRowHeight, double finalPrefRowHeight, double maxRowHeight, double computedRowHeight) {
@@ -0,0 +1,87 @@
+package dev.webfx.extras.visual.controls.grid.impl;
+
+import dev.webfx.extras.cell.renderer.TextRenderer;
+import dev.webfx.extras.cell.renderer.ValueRenderer;
+import dev.webfx.extras.visual.VisualColumn;
+import dev.webfx.extras.visual.VisualResult;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Bruno Salmon
+ */
+class ColumnAutoSizeSamplerTest {
+
+    // Single column result whose texts are "x" except the ones passed as long texts, and counting the values read
+    private static final class CountingVisualResult implements VisualResult {
+        private final int rowCount;
+        private final VisualColumn column;
+        private final int[] longTextRowIndexes;
+        int readCount;
+
+        CountingVisualResult(int rowCount, VisualColumn column, int... longTextRowIndexes) {
+            this.rowCount = rowCount;
+            this.column = column;
+            this.longTextRowIndexes = longTextRowIndexes;
+        }
+
+        @Override
+        public int getRowCount() {
+            return rowCount;
+        }
+
+        @Override
+        public int getColumnCount() {
+            return 1;
+        }
+
+        @Override
+        public VisualColumn[] getColumns() {
+            return new VisualColumn[] { column };
+        }
+
+        @Override
+        public Object getValue(int rowIndex, int columnIndex) {
+            readCount++;
+            for (int i : longTextRowIndexes)
+                if (i == rowIndex)
+                    return "a much longer text";
+            return "x";
+        }
+    }
+
+    private static final ValueRenderer NON_TEXT_RENDERER = (value, context) -> null;
+
+    @Test
+    void smallResultIsFullySampled() {
+        CountingVisualResult rs = new CountingVisualResult(9, VisualColumn.create(TextRenderer.SINGLETON));
+        assertArrayEquals(new int[] { 0, 1, 2, 3, 4, 5, 6, 7, 8 }, ColumnAutoSizeSampler.sampleRowIndexes(rs, 0, 3));
+    }
+
+    @Test
+    void textColumnSamplesTheLongestTexts() {
+        // Row 12_501 is not one of the evenly spaced rows, but its long text must not be missed
+        CountingVisualResult rs = new CountingVisualResult(100_000, VisualColumn.create(TextRenderer.SINGLETON), 12_501);
+        int[] rowIndexes = ColumnAutoSizeSampler.sampleRowIndexes(rs, 0, 1);
+        assertArrayEquals(new int[] { 0, 1, 12_501, 99_999 }, rowIndexes);
+        assertEquals(99_998, rs.readCount, "The text of each middle row must be read once");
+    }
+
+    @Test
+    void nonTextColumnSamplesEvenlySpacedRowsWithoutReadingValues() {
+        CountingVisualResult rs = new CountingVisualResult(100_000, VisualColumn.create(NON_TEXT_RENDERER));
+        int[] rowIndexes = ColumnAutoSizeSampler.sampleRowIndexes(rs, 0, 4);
+        assertEquals(12, rowIndexes.length);
+        for (int i = 1; i < rowIndexes.length; i++)
+            assertTrue(rowIndexes[i] > rowIndexes[i - 1], "The row indexes must be sorted with no duplicates");
+        assertEquals(0, rs.readCount);
+    }
+
+    @Test
+    void textColumnIsDecidedByRenderer() {
+        assertTrue(ColumnAutoSizeSampler.isTextColumn(VisualColumn.create(TextRenderer.SINGLETON)));
+        assertFalse(ColumnAutoSizeSampler.isTextColumn(VisualColumn.create(NON_TEXT_RENDERER)));
+        assertFalse(ColumnAutoSizeSampler.isTextColumn(null));
+    }
+}
@@ -0,0 +1,50 @@
+package dev.webfx.extras.visual.controls.grid.skin;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Bruno Salmon
+ */
+class GridRowHeightCacheTest {
+
+    @Test
+    void heightIsValidOnlyForItsWidthSignature() {
+        GridRowHeightCache cache = new GridRowHeightCache();
+        assertTrue(Double.isNaN(cache.getHeight(3, 0)));
+        cache.setHeight(3, 42, 0b10, 120);
+        assertEquals(42, cache.getHeight(3, 120), 0);
+        assertEquals(0b10, cache.getWidthDependentColumns(3));
+        assertTrue(Double.isNaN(cache.getHeight(3, 150))); // column width changed
+        assertTrue(Double.isNaN(cache.getHeight(2, 0))); // never computed (but within capacity)
+        assertTrue(Double.isNaN(cache.getStaleHeight(2)));
+    }
+
+    @Test
+    void invalidatedHeightIsKeptAsStale() {
+        GridRowHeightCache cache = new GridRowHeightCache();
+        cache.setHeight(0, 30, 0, 0);
+        cache.invalidate(0);
+        cache.invalidate(100); // out of capacity => ignored
+        assertTrue(Double.isNaN(cache.getHeight(0, 0)));
+        assertEquals(30, cache.getStaleHeight(0), 0);
+        cache.clear();
+        assertTrue(Double.isNaN(cache.getStaleHeight(0)));
+    }
+
+    @Test
+    void copyRowFollowsReorderedRows() {
+        GridRowHeightCache cache = new GridRowHeightCache();
+        cache.setHeight(0, 20, 0, 0);
+        cache.setHeight(1, 40, 1, 99);
+        GridRowHeightCache old = cache.copy();
+        cache.copyRow(old, 1, 0); // row 1 moved to row 0
+        cache.copyRow(old, 5, 1); // unknown row => invalidated
+        assertEquals(40, cache.getHeight(0, 99), 0);
+        assertEquals(1, cache.getWidthDependentColumns(0));
+        assertTrue(Double.isNaN(cache.getHeight(1, 99)));
+        // The copy is independent
+        assertEquals(20, old.getHeight(0, 0), 0);
+    }
+}
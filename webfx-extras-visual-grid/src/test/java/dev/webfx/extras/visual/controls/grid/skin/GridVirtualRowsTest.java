@@ -0,0 +1,61 @@
+package dev.webfx.extras.visual.controls.grid.skin;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Bruno Salmon
+ */
+class GridVirtualRowsTest {
+
+    @Test
+    void rowPositionsWithEstimatedHeights() {
+        GridVirtualRows rows = new GridVirtualRows();
+        rows.reset(10, new int[] { 0, 5 }, 20, 30); // group rows before data rows 0 and 5
+        assertEquals(12, rows.getGlobalRowCount());
+        assertEquals(0, rows.getRowY(0));
+        assertEquals(30, rows.getRowY(1)); // after the first group row
+        assertEquals(30 + 5 * 20 + 30, rows.getRowY(7)); // after the 5 first data rows and the second group row
+        assertEquals(2 * 30 + 10 * 20, rows.getTotalHeight());
+        assertEquals(1, rows.getGlobalRowIndexAtY(30));
+        assertEquals(6, rows.getGlobalRowIndexAtY(131)); // second group row
+        assertEquals(5, rows.globalRowIndexToDataRowIndex(6));
+        assertEquals(6, rows.dataRowIndexToFirstGlobalRowIndex(5));
+    }
+
+    @Test
+    void measuredHeightsReplaceEstimates() {
+        GridVirtualRows rows = new GridVirtualRows();
+        rows.reset(100, null, 24, 24);
+        assertFalse(rows.setMeasuredRowHeight(3, 24)); // same as the estimate
+        assertTrue(rows.setMeasuredRowHeight(3, 40));
+        assertTrue(rows.setMeasuredRowHeight(50, 10));
+        assertEquals(3 * 24, rows.getRowY(3));
+        assertEquals(3 * 24 + 40, rows.getRowY(4));
+        assertEquals(98 * 24 + 40 + 10, rows.getTotalHeight());
+    }
+
+    @Test
+    void changingEstimateKeepsMeasuredHeights() {
+        GridVirtualRows rows = new GridVirtualRows();
+        rows.reset(100, new int[] { 10 }, 24, 24);
+        rows.setMeasuredRowHeight(0, 40);
+        rows.setMeasuredRowHeight(1, 36);
+        rows.setMeasuredRowHeight(10, 50); // group row
+        assertTrue(rows.setEstimatedRowHeights(38, 38));
+        assertFalse(rows.setEstimatedRowHeights(38, 38));
+        assertEquals(40, rows.getRowY(1));
+        assertEquals(76, rows.getRowY(2));
+        assertEquals(76 + 8 * 38, rows.getRowY(10));
+        assertEquals(76 + 8 * 38 + 50, rows.getRowY(11));
+        assertEquals(40 + 36 + 50 + 98 * 38, rows.getTotalHeight());
+        // The Fenwick tree rebuilt by setEstimatedRowHeights() must give the same positions as incremental updates
+        for (int globalRowIndex = 0; globalRowIndex <= 101; globalRowIndex++) {
+            double expectedY = 0;
+            for (int i = 0; i < globalRowIndex; i++)
+                expectedY += i == 0 ? 40 : i == 1 ? 36 : i == 10 ? 50 : 38;
+            assertEquals(expectedY, rows.getRowY(globalRowIndex), 1e-9);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package dev.webfx.extras.visual;
+
+import dev.webfx.extras.type.PrimType;
+import dev.webfx.extras.type.Types;
+import dev.webfx.extras.visual.impl.ColumnarVisualResultImpl;
+
+import java.util.Date;
+
+/**
+ * Builder of a columnar VisualResult, where the values of the primitive columns (booleans, numbers and dates) are stored
+ * in primitive arrays instead of boxed objects. This reduces the memory footprint and the garbage of large results,
+ * and allows the consumers to read the values without boxing through the unboxed accessors of VisualResult.
+ *
+ * The storage of a column is chosen from its type. If a value that doesn't exactly match that storage is set (ex: a
+ * Long in an integer column), the column falls back to an object storage, so the values are always returned unchanged
+ * by getValue().
+ *
+ * @author Bruno Salmon
+ */
+public final class ColumnarVisualResultBuilder {
+
+    private final int rowCount;
+    private final VisualColumn[] columns;
+    private final Object[] columnArrays;
+    private final PrimType[] columnStorageTypes;
+    private final long[][] columnValueBits;
+
+    public ColumnarVisualResultBuilder(int rowCount, VisualColumn... columns) {
+        this.rowCount = rowCount;
+        this.columns = columns;
+        int columnCount = columns.length;
+        columnArrays = new Object[columnCount];
+        columnStorageTypes = new PrimType[columnCount];
+        columnValueBits = new long[columnCount][];
+        for (int columnIndex = 0; columnIndex < columnCount; columnIndex++) {
+            PrimType primType = Types.getPrimType(columns[columnIndex].getType());
+            PrimType storageType = primType == PrimType.STRING ? null : primType;
+            columnStorageTypes[columnIndex] = storageType;
+            columnArrays[columnIndex] = ColumnarVisualResultImpl.newColumnArray(storageType, rowCount);
+            if (storageType != null)
+                columnValueBits[columnIndex] = new long[(rowCount + 63) >>> 6];
+        }
+    }
+
+    public ColumnarVisualResultBuilder setValue(int rowIndex, int columnIndex, Object value) {
+        PrimType storageType = columnStorageTypes[columnIndex];
+        if (storageType == null)
+            ((Object[]) columnArrays[columnIndex])[rowIndex] = value;
+        else if (value == null)
+            setNull(rowIndex, columnIndex);
+        else if (setUnboxedValue(storageType, columnArrays[columnIndex], rowIndex, value))
+            setValueBit(columnIndex, rowIndex);
+        else {
+            switchToObjectStorage(columnIndex);
+            ((Object[]) columnArrays[columnIndex])[rowIndex] = value;
+        }
+        return this;
+    }
+
+    public ColumnarVisualResultBuilder setNull(int rowIndex, int columnIndex) {
+        if (columnStorageTypes[columnIndex] == null)
+            ((Object[]) columnArrays[columnIndex])[rowIndex] = null;
+        else
+            columnValueBits[columnIndex][rowIndex >>> 6] &= ~(1L << rowIndex);
+        return this;
+    }
+
+    public ColumnarVisualResultBuilder setInt(int rowIndex, int columnIndex, int value) {
+        Object array = columnArrays[columnIndex];
+        PrimType storageType = columnStorageTypes[columnIndex];
+        if (storageType == PrimType.INTEGER)
+            ((int[]) array)[rowIndex] = value;
+        else if (storageType == PrimType.LONG)
+            ((long[]) array)[rowIndex] = value;
+        else if (storageType == PrimType.DOUBLE)
+            ((double[]) array)[rowIndex] = value;
+        else
+            return setValue(rowIndex, columnIndex, value);
+        setValueBit(columnIndex, rowIndex);
+        return this;
+    }
+
+    public ColumnarVisualResultBuilder setLong(int rowIndex, int columnIndex, long value) {
+        Object array = columnArrays[columnIndex];
+        PrimType storageType = columnStorageTypes[columnIndex];
+        if (storageType == PrimType.LONG || storageType == PrimType.DATE)
+            ((long[]) array)[rowIndex] = value;
+        else if (storageType == PrimType.DOUBLE)
+            ((double[]) array)[rowIndex] = value;
+        else
+            return setValue(rowIndex, columnIndex, value);
+        setValueBit(columnIndex, rowIndex);
+        return this;
+    }
+
+    public ColumnarVisualResultBuilder setDouble(int rowIndex, int columnIndex, double value) {
+        if (columnStorageTypes[columnIndex] != PrimType.DOUBLE)
+            return setValue(rowIndex, columnIndex, value);
+        ((double[]) columnArrays[columnIndex])[rowIndex] = value;
+        setValueBit(columnIndex, rowIndex);
+        return this;
+    }
+
+    public ColumnarVisualResultBuilder setBoolean(int rowIndex, int columnIndex, boolean value) {
+        if (columnStorageTypes[columnIndex] != PrimType.BOOLEAN)
+            return setValue(rowIndex, columnIndex, value);
+        ((boolean[]) columnArrays[columnIndex])[rowIndex] = value;
+        setValueBit(columnIndex, rowIndex);
+        return this;
+    }
+
+    public VisualResult build() {
+        return new ColumnarVisualResultImpl(rowCount, columns, columnArrays, columnStorageTypes, columnValueBits);
+    }
+
+    private void setValueBit(int columnIndex, int rowIndex) {
+        columnValueBits[columnIndex][rowIndex >>> 6] |= 1L << rowIndex;
+    }
+
+    // Boxes the values already set in that column into an object array (used when a value doesn't fit the storage)
+    private void switchToObjectStorage(int columnIndex) {
+        PrimType storageType = columnStorageTypes[columnIndex];
+        Object array = columnArrays[columnIndex];
+        long[] valueBits = columnValueBits[columnIndex];
+        Object[] values = new Object[rowCount];
+        for (int rowIndex = 0; rowIndex < rowCount; rowIndex++)
+            if (ColumnarVisualResultImpl.hasValueBit(valueBits, rowIndex))
+                values[rowIndex] = ColumnarVisualResultImpl.getBoxedValue(storageType, array, rowIndex);
+        columnArrays[columnIndex] = values;
+        columnStorageTypes[columnIndex] = null;
+        columnValueBits[columnIndex] = null;
+    }
+
+    // Stores the value in the primitive array if its class exactly matches the storage type (so getValue() returns
+    // an equal object), and returns false otherwise
+    private static boolean setUnboxedValue(PrimType storageType, Object array, int rowIndex, Object value) {
+        switch (storageType) {
+            case BOOLEAN: if (!(value instanceof Boolean)) return false; ((boolean[]) array)[rowIndex] = (Boolean) value; return true;
+            case BYTE:    if (!(value instanceof Byte))    return false; ((byte[])    array)[rowIndex] = (Byte)    value; return true;
+            case SHORT:   if (!(value instanceof Short))   return false; ((short[])   array)[rowIndex] = (Short)   value; return true;
+            case INTEGER: if (!(value instanceof Integer)) return false; ((int[])     array)[rowIndex] = (Integer) value; return true;
+            case LONG:    if (!(value instanceof Long))    return false; ((long[])    array)[rowIndex] = (Long)    value; return true;
+            case FLOAT:   if (!(value instanceof Float))   return false; ((float[])   array)[rowIndex] = (Float)   value; return true;
+            case DOUBLE:  if (!(value instanceof Double))  return false; ((double[])  array)[rowIndex] = (Double)  value; return true;
+            // Date subclasses (ex: java.sql.Timestamp) are not unboxed, as they wouldn't be restored by getValue()
+            case DATE:    if (value.getClass() != Date.class) return false; ((long[]) array)[rowIndex] = ((Date) value).getTime(); return true;
+            default:      return false;
+        }
+    }
+
+    public static ColumnarVisualResultBuilder create(int rowCount, VisualColumn... columns) {
+        return new ColumnarVisualResultBuilder(rowCount, columns);
+    }
+}
@@ -1,5 +1,9 @@
 package dev.webfx.extras.visual;
 
+import dev.webfx.platform.util.Numbers;
+
+import java.util.Date;
+
 /**
  * @author Bruno Salmon
  */
@@ -26,4 +30,50 @@ public interface VisualResult {
      * @return the value specified at row and column indexes
      */
     Object getValue(int rowIndex, int columnIndex);
+
+    /*
+     * Unboxed accessors. The default implementations rely on getValue(), but columnar implementations storing the
+     * values in primitive arrays (see ColumnarVisualResultBuilder) override them to read the values without boxing.
+     * Null values are read as 0 (or false), so isNull() should be called first when null is possible.
+     */
+
+    /**
+     * @return true if the value specified at row and column indexes is null
+     */
+    default boolean isNull(int rowIndex, int columnIndex) {
+        return getValue(rowIndex, columnIndex) == null;
+    }
+
+    default int getInt(int rowIndex, int columnIndex) {
+        return (int) getLong(rowIndex, columnIndex);
+    }
+
+    default long getLong(int rowIndex, int columnIndex) {
+        Object value = getValue(rowIndex, columnIndex);
+        if (value instanceof Number)
+            return ((Number) value).longValue();
+        if (value instanceof Date)
+            return ((Date) value).getTime();
+        if (value instanceof Boolean)
+            return (Boolean) value ? 1 : 0;
+        return 0;
+    }
+
+    default double getDouble(int rowIndex, int columnIndex) {
+        Object value = getValue(rowIndex, columnIndex);
+        if (value instanceof Number)
+            return ((Number) value).doubleValue();
+        if (value == null || value instanceof Date || value instanceof Boolean)
+            return getLong(rowIndex, columnIndex);
+        // Other values (such as numeric strings) are converted the same way as before the unboxed accessors
+        Double d = Numbers.toDouble(value);
+        return d == null ? 0 : d;
+    }
+
+    default boolean getBoolean(int rowIndex, int columnIndex) {
+        Object value = getValue(rowIndex, columnIndex);
+        if (value instanceof Boolean)
+            return (Boolean) value;
+        return getLong(rowIndex, columnIndex) != 0;
+    }
 }
@@ -0,0 +1,268 @@
+package dev.webfx.extras.visual;
+
+import java.util.*;
+
+/**
+ * The differences between an old and a new VisualResult, expressed as row operations (insert, update, delete, move),
+ * so that visual controls can patch only the affected rows and cells instead of rebuilding everything.
+ *
+ * The rows are identified by the column with the "key" role if there is one (as for the "style" or "background" roles,
+ * this column is not displayed), otherwise by their index. When the columns have changed, no row operation is computed,
+ * as the visual control will have to be completely rebuilt anyway.
+ *
+ * @author Bruno Salmon
+ */
+public final class VisualResultDiff {
+
+    public static final String KEY_ROLE = "key";
+
+    private static final int[] NO_COLUMN = {};
+
+    public enum OperationType {
+        INSERT, // new row (no old row)
+        UPDATE, // same row at the same index, but with some changed cells
+        DELETE, // old row removed (no new row)
+        MOVE    // same row at a different index, possibly with some changed cells
+    }
+
+    public static final class Operation {
+        private final OperationType type;
+        private final int oldRowIndex;
+        private final int newRowIndex;
+        private final int[] changedColumnIndexes;
+
+        private Operation(OperationType type, int oldRowIndex, int newRowIndex, int[] changedColumnIndexes) {
+            this.type = type;
+            this.oldRowIndex = oldRowIndex;
+            this.newRowIndex = newRowIndex;
+            this.changedColumnIndexes = changedColumnIndexes;
+        }
+
+        public OperationType getType() {
+            return type;
+        }
+
+        /**
+         * @return the row index in the old visual result (-1 for an insert)
+         */
+        public int getOldRowIndex() {
+            return oldRowIndex;
+        }
+
+        /**
+         * @return the row index in the new visual result (-1 for a delete)
+         */
+        public int getNewRowIndex() {
+            return newRowIndex;
+        }
+
+        /**
+         * @return the indexes of the columns whose value changed (empty for inserts, deletes and unchanged moves)
+         */
+        public int[] getChangedColumnIndexes() {
+            return changedColumnIndexes;
+        }
+
+        @Override
+        public String toString() {
+            return type + "(" + oldRowIndex + " -> " + newRowIndex + (changedColumnIndexes.length == 0 ? "" : ", columns = " + Arrays.toString(changedColumnIndexes)) + ")";
+        }
+    }
+
+    private final boolean columnsChanged;
+    private final List<Operation> operations;
+    private final int[] newToOldRowIndexes;
+    private final Operation[] newRowOperations;
+    private final boolean structuralChanges;
+
+    private VisualResultDiff(boolean columnsChanged, List<Operation> operations, int[] newToOldRowIndexes, Operation[] newRowOperations, boolean structuralChanges) {
+        this.columnsChanged = columnsChanged;
+        this.operations = operations;
+        this.newToOldRowIndexes = newToOldRowIndexes;
+        this.newRowOperations = newRowOperations;
+        this.structuralChanges = structuralChanges;
+    }
+
+    /**
+     * @return true if the columns are different, in which case there is no row operation (full rebuild required)
+     */
+    public boolean isColumnsChanged() {
+        return columnsChanged;
+    }
+
+    public List<Operation> getOperations() {
+        return operations;
+    }
+
+    /**
+     * @return true if there is no difference at all between the old and new visual results
+     */
+    public boolean isEmpty() {
+        return !columnsChanged && operations.isEmpty();
+    }
+
+    /**
+     * @return true if some rows were inserted, deleted or moved (as opposed to only updated in place)
+     */
+    public boolean hasStructuralChanges() {
+        return structuralChanges;
+    }
+
+    /**
+     * @return the index of the matching old row for that new row, or -1 if that new row was inserted
+     */
+    public int getOldRowIndex(int newRowIndex) {
+        return newToOldRowIndexes[newRowIndex];
+    }
+
+    /**
+     * @return the indexes of the columns whose value changed for that new row (empty if inserted or unchanged)
+     */
+    public int[] getChangedColumnIndexes(int newRowIndex) {
+        Operation operation = newRowOperations[newRowIndex];
+        return operation == null ? NO_COLUMN : operation.changedColumnIndexes;
+    }
+
+    public boolean hasChangedColumn(int columnIndex) {
+        for (Operation operation : operations)
+            for (int changedColumnIndex : operation.changedColumnIndexes)
+                if (changedColumnIndex == columnIndex)
+                    return true;
+        return false;
+    }
+
+    public static VisualResultDiff diff(VisualResult oldRs, VisualResult newRs) {
+        int newRowCount = newRs.getRowCount();
+        if (!sameColumns(oldRs.getColumns(), newRs.getColumns()))
+            return new VisualResultDiff(true, Collections.emptyList(), new int[newRowCount], new Operation[newRowCount], true);
+        int oldRowCount = oldRs.getRowCount();
+        int[] newToOldRowIndexes = new int[newRowCount];
+        boolean[] oldRowMatched = new boolean[oldRowCount];
+        int keyColumnIndex = getKeyColumnIndex(newRs);
+        if (keyColumnIndex < 0) { // No key => rows are identified by their index
+            for (int rowIndex = 0; rowIndex < newRowCount; rowIndex++) {
+                boolean matched = rowIndex < oldRowCount;
+                newToOldRowIndexes[rowIndex] = matched ? rowIndex : -1;
+                if (matched)
+                    oldRowMatched[rowIndex] = true;
+            }
+        } else { // Rows are identified by their key
+            Map<Object, Integer> oldKeyRowIndexes = new HashMap<>(oldRowCount * 4 / 3 + 1);
+            for (int oldRowIndex = 0; oldRowIndex < oldRowCount; oldRowIndex++)
+                oldKeyRowIndexes.putIfAbsent(oldRs.getValue(oldRowIndex, keyColumnIndex), oldRowIndex);
+            for (int newRowIndex = 0; newRowIndex < newRowCount; newRowIndex++) {
+                Integer oldRowIndex = oldKeyRowIndexes.remove(newRs.getValue(newRowIndex, keyColumnIndex)); // remove() => duplicate keys are matched once only
+                newToOldRowIndexes[newRowIndex] = oldRowIndex == null ? -1 : oldRowIndex;
+                if (oldRowIndex != null)
+                    oldRowMatched[oldRowIndex] = true;
+            }
+        }
+        // The matched rows that belong to the longest increasing subsequence of old indexes keep their relative order,
+        // so only the others need to be moved. This minimizes the number of moves.
+        boolean[] stable = computeLongestIncreasingSubsequence(newToOldRowIndexes);
+        List<Operation> operations = new ArrayList<>();
+        Operation[] newRowOperations = new Operation[newRowCount];
+        boolean structuralChanges = false;
+        for (int oldRowIndex = 0; oldRowIndex < oldRowCount; oldRowIndex++) {
+            if (!oldRowMatched[oldRowIndex]) {
+                operations.add(new Operation(OperationType.DELETE, oldRowIndex, -1, NO_COLUMN));
+                structuralChanges = true;
+            }
+        }
+        int columnCount = newRs.getColumnCount();
+        for (int newRowIndex = 0; newRowIndex < newRowCount; newRowIndex++) {
+            int oldRowIndex = newToOldRowIndexes[newRowIndex];
+            Operation operation;
+            if (oldRowIndex < 0)
+                operation = new Operation(OperationType.INSERT, -1, newRowIndex, NO_COLUMN);
+            else {
+                int[] changedColumnIndexes = computeChangedColumnIndexes(oldRs, oldRowIndex, newRs, newRowIndex, columnCount);
+                // A stable row at a different index is just shifted by the inserts and deletes, so it's not a move
+                boolean moved = !stable[newRowIndex];
+                if (moved)
+                    operation = new Operation(OperationType.MOVE, oldRowIndex, newRowIndex, changedColumnIndexes);
+                else if (changedColumnIndexes.length > 0 || oldRowIndex != newRowIndex)
+                    operation = new Operation(OperationType.UPDATE, oldRowIndex, newRowIndex, changedColumnIndexes);
+                else
+                    operation = null;
+            }
+            if (operation != null) {
+                operations.add(operation);
+                newRowOperations[newRowIndex] = operation;
+                if (operation.type != OperationType.UPDATE || operation.oldRowIndex != operation.newRowIndex)
+                    structuralChanges = true;
+            }
+        }
+        return new VisualResultDiff(false, operations, newToOldRowIndexes, newRowOperations, structuralChanges);
+    }
+
+    public static int getKeyColumnIndex(VisualResult rs) {
+        VisualColumn[] columns = rs.getColumns();
+        for (int columnIndex = 0; columnIndex < columns.length; columnIndex++)
+            if (KEY_ROLE.equals(columns[columnIndex].getRole()))
+                return columnIndex;
+        return -1;
+    }
+
+    private static boolean sameColumns(VisualColumn[] oldColumns, VisualColumn[] newColumns) {
+        if (oldColumns == newColumns)
+            return true;
+        if (oldColumns.length != newColumns.length)
+            return false;
+        for (int columnIndex = 0; columnIndex < oldColumns.length; columnIndex++) {
+            VisualColumn oldColumn = oldColumns[columnIndex], newColumn = newColumns[columnIndex];
+            if (oldColumn != newColumn && !(
+                Objects.equals(oldColumn.getName(), newColumn.getName())
+                && Objects.equals(oldColumn.getRole(), newColumn.getRole())
+                && Objects.equals(oldColumn.getType(), newColumn.getType())
+                && oldColumn.getStyle() == newColumn.getStyle()
+                && oldColumn.getValueRenderer() == newColumn.getValueRenderer()))
+                return false;
+        }
+        return true;
+    }
+
+    private static int[] computeChangedColumnIndexes(VisualResult oldRs, int oldRowIndex, VisualResult newRs, int newRowIndex, int columnCount) {
+        int[] changedColumnIndexes = null;
+        int changedCount = 0;
+        for (int columnIndex = 0; columnIndex < columnCount; columnIndex++) {
+            // deepEquals() because some renderers (ex: ImageTextRenderer) take arrays as values
+            if (!Objects.deepEquals(oldRs.getValue(oldRowIndex, columnIndex), newRs.getValue(newRowIndex, columnIndex))) {
+                if (changedColumnIndexes == null)
+                    changedColumnIndexes = new int[columnCount - columnIndex];
+                changedColumnIndexes[changedCount++] = columnIndex;
+            }
+        }
+        return changedCount == 0 ? NO_COLUMN : Arrays.copyOf(changedColumnIndexes, changedCount);
+    }
+
+    // Returns the new rows that are part of the longest increasing subsequence of their old row indexes (patience
+    // sorting in O(n log n)). Inserted rows (old index = -1) are ignored.
+    private static boolean[] computeLongestIncreasingSubsequence(int[] newToOldRowIndexes) {
+        int n = newToOldRowIndexes.length;
+        int[] tailNewRowIndexes = new int[n]; // new row index of the smallest tail of each increasing subsequence length
+        int[] predecessors = new int[n];
+        int length = 0;
+        for (int newRowIndex = 0; newRowIndex < n; newRowIndex++) {
+            int oldRowIndex = newToOldRowIndexes[newRowIndex];
+            if (oldRowIndex < 0)
+                continue;
+            int low = 0, high = length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (newToOldRowIndexes[tailNewRowIndexes[mid]] < oldRowIndex)
+                    low = mid + 1;
+                else
+                    high = mid;
+            }
+            predecessors[newRowIndex] = low > 0 ? tailNewRowIndexes[low - 1] : -1;
+            tailNewRowIndexes[low] = newRowIndex;
+            if (low == length)
+                length++;
+        }
+        boolean[] stable = new boolean[n];
+        for (int newRowIndex = length == 0 ? -1 : tailNewRowIndexes[length - 1]; newRowIndex >= 0; newRowIndex = predecessors[newRowIndex])
+            stable[newRowIndex] = true;
+        return stable;
+    }
+}
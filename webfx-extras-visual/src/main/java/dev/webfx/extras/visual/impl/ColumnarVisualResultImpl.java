@@ -0,0 +1,173 @@
+package dev.webfx.extras.visual.impl;
+
+import dev.webfx.extras.type.PrimType;
+import dev.webfx.extras.visual.VisualColumn;
+import dev.webfx.extras.visual.VisualResult;
+
+import java.util.Date;
+
+/**
+ * A VisualResult that stores its values column by column, in primitive arrays for the columns having a primitive type
+ * (booleans, numbers and dates), so these values are not boxed. The unboxed accessors (getInt(), getDouble(), etc...)
+ * read them directly without any allocation. getValue() boxes them on demand.
+ *
+ * Use ColumnarVisualResultBuilder to create instances.
+ *
+ * @author Bruno Salmon
+ */
+public final class ColumnarVisualResultImpl implements VisualResult {
+
+    private final int rowCount;
+    private final VisualColumn[] columns;
+    /**
+     * One array per column, whose type depends on the column storage type: boolean[] for BOOLEAN, byte[] for BYTE,
+     * short[] for SHORT, int[] for INTEGER, long[] for LONG and DATE (epoch millis), float[] for FLOAT, double[] for
+     * DOUBLE, and Object[] for all other columns (storage type = null).
+     */
+    private final Object[] columnArrays;
+    private final PrimType[] columnStorageTypes;
+    /**
+     * For primitive columns only, the bit set of the rows that have a value (the other rows have a null value).
+     */
+    private final long[][] columnValueBits;
+
+    public ColumnarVisualResultImpl(int rowCount, VisualColumn[] columns, Object[] columnArrays, PrimType[] columnStorageTypes, long[][] columnValueBits) {
+        this.rowCount = rowCount;
+        this.columns = columns;
+        this.columnArrays = columnArrays;
+        this.columnStorageTypes = columnStorageTypes;
+        this.columnValueBits = columnValueBits;
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    @Override
+    public VisualColumn[] getColumns() {
+        return columns;
+    }
+
+    /**
+     * @return the primitive type used to store the values of that column, or null if they are stored as objects
+     */
+    public PrimType getColumnStorageType(int columnIndex) {
+        return columnStorageTypes[columnIndex];
+    }
+
+    @Override
+    public boolean isNull(int rowIndex, int columnIndex) {
+        PrimType storageType = columnStorageTypes[columnIndex];
+        if (storageType == null)
+            return ((Object[]) columnArrays[columnIndex])[rowIndex] == null;
+        return !hasValueBit(columnValueBits[columnIndex], rowIndex);
+    }
+
+    @Override
+    public Object getValue(int rowIndex, int columnIndex) {
+        PrimType storageType = columnStorageTypes[columnIndex];
+        if (storageType != null && !hasValueBit(columnValueBits[columnIndex], rowIndex))
+            return null;
+        return getBoxedValue(storageType, columnArrays[columnIndex], rowIndex);
+    }
+
+    @Override
+    public int getInt(int rowIndex, int columnIndex) {
+        Object array = columnArrays[columnIndex];
+        PrimType storageType = columnStorageTypes[columnIndex];
+        if (storageType == null)
+            return VisualResult.super.getInt(rowIndex, columnIndex);
+        switch (storageType) {
+            case INTEGER: return ((int[]) array)[rowIndex];
+            case SHORT:   return ((short[]) array)[rowIndex];
+            case BYTE:    return ((byte[]) array)[rowIndex];
+            case BOOLEAN: return ((boolean[]) array)[rowIndex] ? 1 : 0;
+            default:      return (int) getLong(rowIndex, columnIndex);
+        }
+    }
+
+    @Override
+    public long getLong(int rowIndex, int columnIndex) {
+        Object array = columnArrays[columnIndex];
+        PrimType storageType = columnStorageTypes[columnIndex];
+        if (storageType == null)
+            return VisualResult.super.getLong(rowIndex, columnIndex);
+        switch (storageType) {
+            case LONG:
+            case DATE:    return ((long[]) array)[rowIndex];
+            case FLOAT:   return (long) ((float[]) array)[rowIndex];
+            case DOUBLE:  return (long) ((double[]) array)[rowIndex];
+            default:      return getInt(rowIndex, columnIndex);
+        }
+    }
+
+    @Override
+    public double getDouble(int rowIndex, int columnIndex) {
+        Object array = columnArrays[columnIndex];
+        PrimType storageType = columnStorageTypes[columnIndex];
+        if (storageType == null)
+            return VisualResult.super.getDouble(rowIndex, columnIndex);
+        switch (storageType) {
+            case DOUBLE:  return ((double[]) array)[rowIndex];
+            case FLOAT:   return ((float[]) array)[rowIndex];
+            case LONG:
+            case DATE:    return ((long[]) array)[rowIndex];
+            default:      return getInt(rowIndex, columnIndex);
+        }
+    }
+
+    @Override
+    public boolean getBoolean(int rowIndex, int columnIndex) {
+        if (columnStorageTypes[columnIndex] == PrimType.BOOLEAN)
+            return ((boolean[]) columnArrays[columnIndex])[rowIndex];
+        return VisualResult.super.getBoolean(rowIndex, columnIndex);
+    }
+
+    @Override
+    public String toString() {
+        return VisualResultImpl.toString(this, new StringBuilder()).toString();
+    }
+
+    public static Object newColumnArray(PrimType storageType, int rowCount) {
+        if (storageType == null)
+            return new Object[rowCount];
+        switch (storageType) {
+            case BOOLEAN: return new boolean[rowCount];
+            case BYTE:    return new byte[rowCount];
+            case SHORT:   return new short[rowCount];
+            case INTEGER: return new int[rowCount];
+            case LONG:
+            case DATE:    return new long[rowCount];
+            case FLOAT:   return new float[rowCount];
+            case DOUBLE:  return new double[rowCount];
+            default:      return new Object[rowCount];
+        }
+    }
+
+    public static Object getBoxedValue(PrimType storageType, Object array, int rowIndex) {
+        if (storageType == null)
+            return ((Object[]) array)[rowIndex];
+        switch (storageType) {
+            case BOOLEAN: return ((boolean[]) array)[rowIndex];
+            case BYTE:    return ((byte[]) array)[rowIndex];
+            case SHORT:   return ((short[]) array)[rowIndex];
+            case INTEGER: return ((int[]) array)[rowIndex];
+            case LONG:    return ((long[]) array)[rowIndex];
+            case FLOAT:   return ((float[]) array)[rowIndex];
+            case DOUBLE:  return ((double[]) array)[rowIndex];
+            case DATE:    return new Date(((long[]) array)[rowIndex]);
+            default:      return ((Object[]) array)[rowIndex];
+        }
+    }
+
+    public static boolean hasValueBit(long[] valueBits, int rowIndex) {
+        return (valueBits[rowIndex >>> 6] & (1L << rowIndex)) != 0;
+    }
+
+}
@@ -50,13 +50,18 @@ public final class VisualResultImpl implements VisualResult {
     }
 
     public StringBuilder toString(StringBuilder sb) {
+        return toString(this, sb);
+    }
+
+    static StringBuilder toString(VisualResult rs, StringBuilder sb) {
+        int rowCount = rs.getRowCount(), columnCount = rs.getColumnCount();
         sb.append('[');
-        for (VisualColumn column : columns)
+        for (VisualColumn column : rs.getColumns())
             sb.append(sb.length() == 1 ? "" : ", ").append(column.getName()).append(" (").append(column.getType()).append(')');
         for (int rowIndex = 0; rowIndex < rowCount;) {
             sb.append("\n[");
             for (int columnIndex = 0; columnIndex < columnCount; columnIndex++)
-                sb.append(columnIndex == 0 ? "" : ", ").append(getValue(rowIndex, columnIndex));
+                sb.append(columnIndex == 0 ? "" : ", ").append(rs.getValue(rowIndex, columnIndex));
             sb.append(']');
             if (++rowIndex < rowCount)
                 sb.append(',');
@@ -0,0 +1,66 @@
+package dev.webfx.extras.webtext.peers.openjfx;
+
+import dev.webfx.extras.util.LruCache;
+import javafx.scene.paint.Paint;
+import javafx.scene.text.Font;
+import javafx.util.Pair;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A bounded cache of the styled runs parsed from HTML texts, keyed by HTML text and base font & fill. The same HTML
+ * snippets are usually rendered again and again (ex: HtmlTextRenderer cells in grids, or repeated i18n HTML labels),
+ * so the runs are parsed only once and then shared (they are immutable), the rendering having only to create or
+ * recycle the Text nodes. The least recently used runs are evicted when the cache is full (see LruCache).
+ *
+ * This cache is not thread-safe, and is meant to be used in the UI thread (where the HTML texts are rendered).
+ *
+ * @author Bruno Salmon
+ */
+public final class HtmlTextRunsCache extends LruCache<HtmlTextRunsCache.Key, List<Pair<String, OpenJFXHtmlTextTextFlowPeer.HtmlStyle>>> {
+
+    private static final HtmlTextRunsCache SHARED_INSTANCE = new HtmlTextRunsCache(1024);
+
+    public static HtmlTextRunsCache getSharedInstance() {
+        return SHARED_INSTANCE;
+    }
+
+    static final class Key {
+        private final String html;
+        private final Font font;
+        private final Paint fill;
+        private final int hashCode;
+
+        private Key(String html, Font font, Paint fill) {
+            this.html = html;
+            this.font = font;
+            this.fill = fill;
+            hashCode = 31 * (31 * html.hashCode() + Objects.hashCode(font)) + Objects.hashCode(fill);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return hashCode == key.hashCode && html.equals(key.html) && Objects.equals(font, key.font) && Objects.equals(fill, key.fill);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    public HtmlTextRunsCache(int maxSize) {
+        super(maxSize);
+    }
+
+    List<Pair<String, OpenJFXHtmlTextTextFlowPeer.HtmlStyle>> getOrParseRuns(String html, Font font, Paint fill) {
+        if (html == null || html.isEmpty())
+            return Collections.emptyList();
+        return getOrCompute(new Key(html, font, fill), key -> Collections.unmodifiableList(OpenJFXHtmlTextTextFlowPeer.chopHtml(key.html, key.font, key.fill)));
+    }
+}
@@ -3,13 +3,15 @@ package dev.webfx.extras.webtext.peers.openjfx;
 import dev.webfx.extras.webtext.HtmlText;
 import dev.webfx.extras.webtext.peers.base.HtmlTextPeerBase;
 import dev.webfx.extras.webtext.peers.base.HtmlTextPeerMixin;
-import dev.webfx.extras.webtext.util.WebTextUtil;
+import dev.webfx.extras.webtext.util.HtmlTokenizer;
 import dev.webfx.kit.mapper.peers.javafxgraphics.SceneRequester;
 import dev.webfx.kit.mapper.peers.javafxgraphics.openjfx.FxLayoutMeasurable;
 import dev.webfx.kit.mapper.peers.javafxgraphics.openjfx.FxNodePeer;
 import dev.webfx.platform.util.Numbers;
+import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
 import javafx.scene.Cursor;
+import javafx.scene.Node;
 import javafx.scene.layout.Background;
 import javafx.scene.layout.Border;
 import javafx.scene.paint.Color;
@@ -19,7 +21,6 @@ import javafx.util.Pair;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * @author Bruno Salmon
@@ -147,133 +148,112 @@ public class OpenJFXHtmlTextTextFlowPeer
     /****** Static methods ******/
 
     public static void renderHtmlInTextFlow(String html, Font font, Paint fill, TextFlow textFlow) {
-        List<Pair<String, HtmlStyle>> pairs = chopHtml(html, font, fill);
-        textFlow.getChildren().setAll(
-                pairs.stream()
-                        .map(pair -> createStyledText(pair.getKey(), pair.getValue()))
-                        .collect(Collectors.toList()));
-        if (!textFlow.getChildren().isEmpty())
-            textFlow.setTextAlignment(((Text)textFlow.getChildren().get(0)).getTextAlignment());
+        // The styled runs are parsed only once per html text, font & fill (see HtmlTextRunsCache)
+        List<Pair<String, HtmlStyle>> pairs = HtmlTextRunsCache.getSharedInstance().getOrParseRuns(html, font, fill);
+        // Recycling the existing Text nodes (if any) and creating only the missing ones
+        ObservableList<Node> children = textFlow.getChildren();
+        List<Node> texts = new ArrayList<>(pairs.size());
+        for (int i = 0; i < pairs.size(); i++) {
+            Pair<String, HtmlStyle> pair = pairs.get(i);
+            Node child = i < children.size() ? children.get(i) : null;
+            Text text = child instanceof NoCssText ? (Text) child : new NoCssText();
+            applyStyledText(text, pair.getKey(), pair.getValue());
+            texts.add(text);
+        }
+        children.setAll(texts);
+        if (!children.isEmpty())
+            textFlow.setTextAlignment(((Text) children.get(0)).getTextAlignment());
     }
 
-    private static List<Pair<String, HtmlStyle>> chopHtml(String html, Font font, Paint fill) {
-        return chopHtml(html, new HtmlStyle(font, fill));
-    }
+    // Reused for all html texts (rendered in the UI thread)
+    private static final HtmlTokenizer HTML_TOKENIZER = new HtmlTokenizer(true, false);
 
-    private static List<Pair<String, HtmlStyle>> chopHtml(String html, HtmlStyle parentStyle) {
+    static List<Pair<String, HtmlStyle>> chopHtml(String html, Font font, Paint fill) {
         List<Pair<String, HtmlStyle>> list = new ArrayList<>();
-        if (html == null)
-            return list;
-        html = html.replace("\n", ""); // Ignoring \n in text (because html ignores them as well, line breaks depend on tag such as p, br, etc...)
-        html = html.replaceAll("\\s+", " ");
-        html = WebTextUtil.unescapeEntities(html);
-        if (html.isEmpty())
-            return list;
-        int pos = 0;
-        Pair<String, HtmlStyle> lineBreakPairBeforeNextText = null;
-        while (true) {
-            int openingPos = html.indexOf("<", pos);
-            if (openingPos == -1) {
-                // Adding the remaining text at the end with the style unchanged
-                if (pos < html.length()) {
-                    if (lineBreakPairBeforeNextText != null)
-                        list.add(lineBreakPairBeforeNextText);
-                    list.add(new Pair<>(html.substring(pos), parentStyle));
-                }
-                break;
-            }
-            if (lineBreakPairBeforeNextText != null) {
-                list.add(lineBreakPairBeforeNextText);
-                lineBreakPairBeforeNextText = null;
+        // Single pass over the html text, the tokenizer maintaining the stack of the styles derived from the tags
+        HTML_TOKENIZER.tokenize(html, new HtmlStyle(font, fill), new HtmlTokenizer.Listener<HtmlStyle>() {
+            private Pair<String, HtmlStyle> lineBreakPairBeforeNextText;
+
+            @Override
+            public HtmlStyle onOpeningTag(HtmlTokenizer.HtmlTag tag, HtmlStyle parentStyle) {
+                addPendingLineBreak();
+                return deriveStyle(tag, parentStyle);
             }
-            // Adding the text before the tag with the style unchanged
-            if (openingPos > pos)
-                list.add(new Pair<>(html.substring(pos, openingPos), parentStyle));
-            // Capturing the html tag
-            pos = openingPos + 1;
-            while (Character.isLetterOrDigit(html.charAt(pos)))
-                pos++;
-            String tag = html.substring(openingPos + 1, pos);
-            // Searching the end of the tag
-            pos = Math.max(pos, html.indexOf('>', pos));
-            String closingTag = "</" + tag + ">";
-            int closingPos;
-            if (html.charAt(pos - 1) == '/') {
-                closingPos = pos + 1;
-                closingTag = "";
-            } else {
-                closingPos = html.indexOf(closingTag, pos);
-                if (closingPos == -1) {
-                    closingPos = pos + 1; // html.length();
-                    closingTag = "";
-                }
-            }
-            // Deriving the style in dependence of the tag
-            HtmlStyle derivedStyle = new HtmlStyle(parentStyle);
-            String tagWithAttributes = html.substring(openingPos, pos);
-            // Capturing CSS class
-            String cssClass = captureAttribute("class", tagWithAttributes);
-            // Marking the derived style to render the expected visual effect of the HTML tag
-            switch (tag.toLowerCase()) {
-                case "a":
-                    derivedStyle.setHref(captureAttribute("href", tagWithAttributes));
-                    //derivedStyle.setFill(Color.BLUE); // Commented as this is not always wanted (ex: FX2048 About).
-                    // Instead, we just apply the 'html-link' class, and this is the responsibility of the developer to define an associated CSS rule
-                    cssClass = "html-link" + (cssClass == null ? "" : " " + cssClass);
-                    break;
-                case "u":
-                    derivedStyle.setUnderlined();
-                    break;
-                case "b":
-                case "strong":
-                    derivedStyle.setBold();
-                    break;
-                case "i":
-                    derivedStyle.setItalic();
-                    break;
-                case "center":
-                    derivedStyle.setTextAlignment(TextAlignment.CENTER);
-                    break;
-                case "br":
-                case "p":
-                case "div":
-                    derivedStyle.setLineBreak();
-                    break;
+
+            @Override
+            public void onClosingTag(String tagName, HtmlStyle style) {
+                if (style.hasLineBreak())
+                    lineBreakPairBeforeNextText = new Pair<>("\n", style);
             }
-            // Capturing color attribute
-            String color = captureAttribute("color", tagWithAttributes);
-            // Capturing style
-            String style = captureAttribute("style", tagWithAttributes);
-            if (style != null) {
-                color = captureAttribute("color", style, ':', ';');
-                String fontWeight = captureAttribute("font-weight", style, ':', ';');
-                if (fontWeight != null && fontWeight.equals("bold"))
-                    derivedStyle.setBold();
-                String fontSize = captureAttribute("font-size", style, ':', ';');
-                if (fontSize != null && fontSize.endsWith("px"))
-                    derivedStyle.setFontSize(Double.parseDouble(fontSize.substring(0, fontSize.length() - 2)));
-                String fontStyle = captureAttribute("font-style", style, ':', ';');
-                if (fontStyle != null && (fontStyle.equals("italic") || fontStyle.equals("oblique")))
-                    derivedStyle.setItalic();
+
+            @Override
+            public void onText(String text, HtmlStyle style) {
+                addPendingLineBreak();
+                list.add(new Pair<>(text, style));
             }
-            if (color != null)
-                derivedStyle.setFill(color.equalsIgnoreCase("inherit") ? null : Color.web(color));
-            derivedStyle.setCssClass(cssClass);
-            // Chopping the HTML text inside the tags (between the opening and closing tag) with the derived style
-            String insideTagText = html.substring(pos + 1, closingPos);
-            if (!insideTagText.isEmpty())
-                list.addAll(chopHtml(insideTagText, derivedStyle));
-            if (derivedStyle.hasLineBreak()) {
-                lineBreakPairBeforeNextText = new Pair<>("\n", derivedStyle);
+
+            private void addPendingLineBreak() {
+                if (lineBreakPairBeforeNextText != null) {
+                    list.add(lineBreakPairBeforeNextText);
+                    lineBreakPairBeforeNextText = null;
+                }
             }
-            // Moving forward after the closing tag for the next iteration
-            pos = closingPos + closingTag.length();
-        }
+        });
         return list;
     }
 
-    private static String captureAttribute(String attribute, String html) {
-        return captureAttribute(attribute, html, '=', null);
+    private static HtmlStyle deriveStyle(HtmlTokenizer.HtmlTag tag, HtmlStyle parentStyle) {
+        // Deriving the style in dependence of the tag
+        HtmlStyle derivedStyle = new HtmlStyle(parentStyle);
+        // Capturing CSS class
+        String cssClass = tag.getAttribute("class");
+        // Marking the derived style to render the expected visual effect of the HTML tag
+        switch (tag.getName()) {
+            case "a":
+                derivedStyle.setHref(tag.getAttribute("href"));
+                //derivedStyle.setFill(Color.BLUE); // Commented as this is not always wanted (ex: FX2048 About).
+                // Instead, we just apply the 'html-link' class, and this is the responsibility of the developer to define an associated CSS rule
+                cssClass = "html-link" + (cssClass == null ? "" : " " + cssClass);
+                break;
+            case "u":
+                derivedStyle.setUnderlined();
+                break;
+            case "b":
+            case "strong":
+                derivedStyle.setBold();
+                break;
+            case "i":
+                derivedStyle.setItalic();
+                break;
+            case "center":
+                derivedStyle.setTextAlignment(TextAlignment.CENTER);
+                break;
+            case "br":
+            case "p":
+            case "div":
+                derivedStyle.setLineBreak();
+                break;
+        }
+        // Capturing color attribute
+        String color = tag.getAttribute("color");
+        // Capturing style
+        String style = tag.getAttribute("style");
+        if (style != null) {
+            color = captureAttribute("color", style, ':', ';');
+            String fontWeight = captureAttribute("font-weight", style, ':', ';');
+            if (fontWeight != null && fontWeight.equals("bold"))
+                derivedStyle.setBold();
+            String fontSize = captureAttribute("font-size", style, ':', ';');
+            if (fontSize != null && fontSize.endsWith("px"))
+                derivedStyle.setFontSize(Double.parseDouble(fontSize.substring(0, fontSize.length() - 2)));
+            String fontStyle = captureAttribute("font-style", style, ':', ';');
+            if (fontStyle != null && (fontStyle.equals("italic") || fontStyle.equals("oblique")))
+                derivedStyle.setItalic();
+        }
+        if (color != null)
+            derivedStyle.setFill(color.equalsIgnoreCase("inherit") ? null : Color.web(color));
+        derivedStyle.setCssClass(cssClass);
+        return derivedStyle;
     }
 
     private static String captureAttribute(String attribute, String html, Character equalMark, Character endMark) {
@@ -301,27 +281,26 @@ public class OpenJFXHtmlTextTextFlowPeer
 
     private static class NoCssText extends Text {}
 
-    private static Text createStyledText(String content, HtmlStyle style) {
-        Text text = new NoCssText();
+    // Note: all properties are set (even to their default value), as the text may be recycled from a previous rendering
+    private static void applyStyledText(Text text, String content, HtmlStyle style) {
         text.setText(content);
         Font font = style.getFont();
-        if (font != null)
-            text.setFont(font);
+        text.setFont(font != null ? font : Font.getDefault());
         text.setUnderline(style.isUnderlined());
         Paint fill = style.getFill();
-        if (fill != null)
-            text.setFill(fill);
+        text.setFill(fill != null ? fill : Color.BLACK);
         text.setTextAlignment(style.getTextAlignment());
         String href = style.getHref();
-        if (href != null)
-            text.setCursor(Cursor.HAND);
+        text.setCursor(href != null ? Cursor.HAND : null);
         String cssClass = style.getCssClass();
         if (cssClass != null)
             text.getStyleClass().setAll(cssClass.split(" "));
-        return text;
+        else
+            text.getStyleClass().clear();
     }
 
-    private static class HtmlStyle {
+    // Note: immutable once parsed, as shared between renderings through HtmlTextRunsCache
+    static final class HtmlStyle {
         private final HtmlStyle parent;
         private Font font;
         private FontWeight fontWeight;
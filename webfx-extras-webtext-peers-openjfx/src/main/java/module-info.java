@@ -7,6 +7,7 @@ module webfx.extras.webtext.peers.openjfx {
     requires javafx.graphics;
     requires javafx.web;
     requires jdk.jsobject;
+    requires webfx.extras.util;
     requires webfx.extras.webtext;
     requires webfx.extras.webtext.peers.base;
     requires webfx.extras.webtext.registry;
@@ -0,0 +1,66 @@
+package dev.webfx.extras.webtext.peers.openjfx;
+
+import javafx.scene.paint.Color;
+import javafx.util.Pair;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Note: the html texts of these tests have no styling tags, and no font is passed (so no font needs to be loaded).
+ *
+ * @author Bruno Salmon
+ */
+class HtmlTextRunsCacheTest {
+
+    @Test
+    void runsAreParsedOnceAndShared() {
+        HtmlTextRunsCache cache = new HtmlTextRunsCache(10);
+        List<Pair<String, OpenJFXHtmlTextTextFlowPeer.HtmlStyle>> runs = cache.getOrParseRuns("a &lt; b", null, Color.RED);
+        assertEquals(1, runs.size());
+        assertEquals("a < b", runs.get(0).getKey());
+        assertSame(runs, cache.getOrParseRuns("a &lt; b", null, Color.RED));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(0.5, cache.getHitRate(), 0);
+        assertThrows(UnsupportedOperationException.class, () -> runs.add(null));
+    }
+
+    @Test
+    void fillIsPartOfTheKey() {
+        HtmlTextRunsCache cache = new HtmlTextRunsCache(10);
+        List<Pair<String, OpenJFXHtmlTextTextFlowPeer.HtmlStyle>> redRuns = cache.getOrParseRuns("text", null, Color.RED);
+        assertNotSame(redRuns, cache.getOrParseRuns("text", null, Color.BLUE));
+        assertSame(redRuns, cache.getOrParseRuns("text", null, Color.color(1, 0, 0))); // equal fill
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void emptyHtmlIsNotCached() {
+        HtmlTextRunsCache cache = new HtmlTextRunsCache(10);
+        assertTrue(cache.getOrParseRuns(null, null, Color.RED).isEmpty());
+        assertTrue(cache.getOrParseRuns("", null, Color.RED).isEmpty());
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getMissCount());
+    }
+
+    @Test
+    void leastRecentlyUsedRunsAreEvicted() {
+        HtmlTextRunsCache cache = new HtmlTextRunsCache(2);
+        List<Pair<String, OpenJFXHtmlTextTextFlowPeer.HtmlStyle>> aRuns = cache.getOrParseRuns("a", null, Color.RED);
+        cache.getOrParseRuns("b", null, Color.RED);
+        cache.getOrParseRuns("a", null, Color.RED); // "b" is now the least recently used
+        cache.getOrParseRuns("c", null, Color.RED);
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertSame(aRuns, cache.getOrParseRuns("a", null, Color.RED));
+        cache.setMaxSize(1);
+        assertEquals(1, cache.size());
+        assertEquals(2, cache.getEvictionCount());
+        assertSame(aRuns, cache.getOrParseRuns("a", null, Color.RED)); // "c" was evicted, not "a"
+        cache.resetStatistics();
+        assertEquals(0, cache.getHitCount() + cache.getMissCount() + cache.getEvictionCount());
+    }
+}
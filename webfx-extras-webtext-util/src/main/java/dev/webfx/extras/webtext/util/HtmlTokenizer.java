@@ -0,0 +1,280 @@
+package dev.webfx.extras.webtext.util;
+
+import java.util.Arrays;
+
+/**
+ * Single-pass streaming HTML tokenizer. It scans the HTML text only once (linear time) and reports to a listener the
+ * opening and closing tags, and the text runs between them, each text run coming with the style of its enclosing tags.
+ * The style is of any type S and is computed by the listener itself on each opening tag (from the parent style), the
+ * tokenizer maintaining the stack of the open tags and their styles.
+ *
+ * The text runs are already unescaped (HTML entities, and possibly \\uXXXX unicode escapes) and possibly with their
+ * whitespaces collapsed. The tags are not materialized: the HtmlTag passed to the listener is a view on the HTML text,
+ * and its attributes are read only on demand. The tokenizer instance reuses its internal buffers from one call to
+ * another, so it's not thread-safe, but it can be kept in a static field for a single thread usage (ex: UI thread).
+ *
+ * This tokenizer is tolerant with malformed HTML: closing tags that don't match any open tag are ignored, and open
+ * tags that are not closed are closed at the end of their parent (or of the document). A '<' that doesn't start a tag
+ * (ex: not followed by a letter, or without the closing '>' of the tag) is read as text.
+ *
+ * @author Bruno Salmon
+ */
+public final class HtmlTokenizer {
+
+    public interface Listener<S> {
+
+        /**
+         * Called on each opening tag (including self-closing and void tags such as br). Note: the tag is a transient
+         * view that is valid only during this call.
+         *
+         * @return the style to apply to the content of that tag
+         */
+        S onOpeningTag(HtmlTag tag, S parentStyle);
+
+        /**
+         * Called on each closing tag (also called just after onOpeningTag() for self-closing and void tags, and at the
+         * end of the document for the tags that were not closed), with the style returned by onOpeningTag().
+         */
+        default void onClosingTag(String tagName, S style) { }
+
+        /**
+         * Called on each text run, with the style of its enclosing tags (or the root style if none).
+         */
+        void onText(String text, S style);
+    }
+
+    // Elements that never have a content (and therefore no closing tag)
+    private static final String[] VOID_TAG_NAMES = { "area", "base", "br", "col", "embed", "hr", "img", "input", "link", "meta", "param", "source", "track", "wbr" };
+
+    private final boolean collapseWhitespaces;
+    private final boolean unescapeUnicodes;
+    private final StringBuilder text = new StringBuilder();
+    private final HtmlTag tag = new HtmlTag();
+    // Stack of the open tags (names and styles)
+    private String[] openTagNames = new String[8];
+    private Object[] openTagStyles = new Object[8];
+    private int openTagCount;
+
+    /**
+     * @param collapseWhitespaces if true, the line feeds of the text are ignored, and the other whitespace sequences are
+     *                            collapsed into a single space (line breaks in rendered HTML depend on tags such as p, br, etc...)
+     * @param unescapeUnicodes    if true, the \\uXXXX unicode escapes are also unescaped in the text
+     */
+    public HtmlTokenizer(boolean collapseWhitespaces, boolean unescapeUnicodes) {
+        this.collapseWhitespaces = collapseWhitespaces;
+        this.unescapeUnicodes = unescapeUnicodes;
+    }
+
+    public <S> void tokenize(String html, S rootStyle, Listener<S> listener) {
+        if (html == null)
+            return;
+        openTagCount = 0;
+        text.setLength(0);
+        boolean lastWasSpace = false;
+        int len = html.length();
+        // No opening tag can end after the last '>' (this avoids rescanning the rest of the text on each stray '<')
+        int lastTagEnd = html.lastIndexOf('>');
+        int i = 0;
+        while (i < len) {
+            char c = html.charAt(i);
+            if (c == '<' && i + 1 < len) {
+                char next = html.charAt(i + 1);
+                int openingTagEnd = -1;
+                if (Character.isLetter(next) && i < lastTagEnd)
+                    openingTagEnd = findOpeningTagEnd(html, i);
+                if (next == '/' || next == '!' || openingTagEnd >= 0) {
+                    flushText(rootStyle, listener);
+                    lastWasSpace = false;
+                    if (next == '!')
+                        i = skipCommentOrDeclaration(html, i);
+                    else if (next == '/')
+                        i = readClosingTag(html, i, listener);
+                    else
+                        i = readOpeningTag(html, i, openingTagEnd, rootStyle, listener);
+                    continue;
+                }
+            }
+            if (c == '&') {
+                int entityEnd = WebTextUtil.appendEntity(html, i, len, text);
+                if (entityEnd > 0) {
+                    i = entityEnd;
+                    lastWasSpace = false;
+                    continue;
+                }
+            } else if (c == '\\' && unescapeUnicodes) {
+                int unicodeEnd = WebTextUtil.appendUnicode(html, i, len, text);
+                if (unicodeEnd > 0) {
+                    i = unicodeEnd;
+                    lastWasSpace = false;
+                    continue;
+                }
+            } else if (collapseWhitespaces && Character.isWhitespace(c)) {
+                if (c != '\n' && !lastWasSpace) {
+                    text.append(' ');
+                    lastWasSpace = true;
+                }
+                i++;
+                continue;
+            }
+            text.append(c);
+            lastWasSpace = false;
+            i++;
+        }
+        flushText(rootStyle, listener);
+        while (openTagCount > 0)
+            popOpenTag(listener);
+    }
+
+    private <S> void flushText(S rootStyle, Listener<S> listener) {
+        if (text.length() > 0) {
+            listener.onText(text.toString(), openTagCount == 0 ? rootStyle : (S) openTagStyles[openTagCount - 1]);
+            text.setLength(0);
+        }
+    }
+
+    private static int skipCommentOrDeclaration(String html, int i) {
+        if (html.startsWith("<!--", i)) {
+            int end = html.indexOf("-->", i + 4);
+            return end < 0 ? html.length() : end + 3;
+        }
+        int end = html.indexOf('>', i);
+        return end < 0 ? html.length() : end + 1;
+    }
+
+    private <S> int readClosingTag(String html, int i, Listener<S> listener) {
+        int nameStart = i + 2, nameEnd = readTagNameEnd(html, nameStart);
+        int end = html.indexOf('>', nameEnd);
+        end = end < 0 ? html.length() : end + 1;
+        // Searching the matching open tag (the possible open tags above it are implicitly closed)
+        for (int t = openTagCount - 1; t >= 0; t--) {
+            String openTagName = openTagNames[t];
+            if (openTagName.length() == nameEnd - nameStart && html.regionMatches(true, nameStart, openTagName, 0, openTagName.length())) {
+                while (openTagCount > t)
+                    popOpenTag(listener);
+                break;
+            }
+        }
+        return end;
+    }
+
+    // Returns the index of the '>' ending the opening tag starting at i (ignoring the possible '>' inside the quoted
+    // attribute values), or -1 if the tag is not terminated
+    private static int findOpeningTagEnd(String html, int i) {
+        char quote = 0;
+        for (int end = readTagNameEnd(html, i + 1), len = html.length(); end < len; end++) {
+            char c = html.charAt(end);
+            if (quote != 0) {
+                if (c == quote)
+                    quote = 0;
+            } else if (c == '"' || c == '\'')
+                quote = c;
+            else if (c == '>')
+                return end;
+        }
+        return -1;
+    }
+
+    private <S> int readOpeningTag(String html, int i, int end, S rootStyle, Listener<S> listener) {
+        int nameStart = i + 1, nameEnd = readTagNameEnd(html, nameStart);
+        boolean selfClosing = end > nameEnd && html.charAt(end - 1) == '/';
+        String tagName = html.substring(nameStart, nameEnd).toLowerCase();
+        tag.set(html, tagName, nameEnd, selfClosing ? end - 1 : end);
+        S parentStyle = openTagCount == 0 ? rootStyle : (S) openTagStyles[openTagCount - 1];
+        S style = listener.onOpeningTag(tag, parentStyle);
+        if (selfClosing || Arrays.binarySearch(VOID_TAG_NAMES, tagName) >= 0)
+            listener.onClosingTag(tagName, style);
+        else
+            pushOpenTag(tagName, style);
+        return end + 1;
+    }
+
+    private static int readTagNameEnd(String html, int nameStart) {
+        int len = html.length(), nameEnd = nameStart;
+        while (nameEnd < len && (Character.isLetterOrDigit(html.charAt(nameEnd)) || html.charAt(nameEnd) == '-'))
+            nameEnd++;
+        return nameEnd;
+    }
+
+    private void pushOpenTag(String tagName, Object style) {
+        if (openTagCount == openTagNames.length) {
+            openTagNames = Arrays.copyOf(openTagNames, 2 * openTagCount);
+            openTagStyles = Arrays.copyOf(openTagStyles, 2 * openTagCount);
+        }
+        openTagNames[openTagCount] = tagName;
+        openTagStyles[openTagCount++] = style;
+    }
+
+    private <S> void popOpenTag(Listener<S> listener) {
+        openTagCount--;
+        S style = (S) openTagStyles[openTagCount];
+        openTagStyles[openTagCount] = null;
+        listener.onClosingTag(openTagNames[openTagCount], style);
+    }
+
+    /**
+     * Transient view of an opening tag in the HTML text, which reads the attributes on demand (no attribute is parsed
+     * if none is requested).
+     */
+    public static final class HtmlTag {
+
+        private String html;
+        private String name;
+        private int attributesStart, attributesEnd;
+
+        private void set(String html, String name, int attributesStart, int attributesEnd) {
+            this.html = html;
+            this.name = name;
+            this.attributesStart = attributesStart;
+            this.attributesEnd = attributesEnd;
+        }
+
+        /**
+         * @return the tag name in lower case
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return the (trimmed and unescaped) value of that attribute, or null if the tag doesn't have that attribute
+         */
+        public String getAttribute(String attributeName) {
+            int i = attributesStart, end = attributesEnd;
+            while (i < end) {
+                // Skipping whitespaces (and possible noise) before the attribute name
+                char c = html.charAt(i);
+                if (Character.isWhitespace(c) || c == '/') {
+                    i++;
+                    continue;
+                }
+                int nameStart = i;
+                while (i < end && (c = html.charAt(i)) != '=' && c != '/' && !Character.isWhitespace(c))
+                    i++;
+                int nameEnd = i;
+                while (i < end && Character.isWhitespace(html.charAt(i)))
+                    i++;
+                int valueStart = i, valueEnd = i;
+                if (i < end && html.charAt(i) == '=') {
+                    i++;
+                    while (i < end && Character.isWhitespace(html.charAt(i)))
+                        i++;
+                    char quote = i < end ? html.charAt(i) : 0;
+                    if (quote == '"' || quote == '\'') {
+                        valueStart = ++i;
+                        while (i < end && html.charAt(i) != quote)
+                            i++;
+                        valueEnd = i++;
+                    } else {
+                        valueStart = i;
+                        while (i < end && !Character.isWhitespace(html.charAt(i)))
+                            i++;
+                        valueEnd = i;
+                    }
+                }
+                if (nameEnd - nameStart == attributeName.length() && html.regionMatches(true, nameStart, attributeName, 0, nameEnd - nameStart))
+                    return WebTextUtil.unescapeEntities(html.substring(valueStart, valueEnd).trim());
+            }
+            return null;
+        }
+    }
+}
@@ -9,8 +9,22 @@ import java.util.Map;
 public final class WebTextUtil {
 
     public static String htmlToPlainText(String html) {
-        // Basic first version
-        return unescapeHtml(html).replaceAll("<[^>]*>", "");
+        if (html == null)
+            return null;
+        StringBuilder sb = new StringBuilder(html.length());
+        // Single pass over the html text: the tags are skipped, and the text runs are unescaped
+        new HtmlTokenizer(false, true).tokenize(html, null, new HtmlTokenizer.Listener<Object>() {
+            @Override
+            public Object onOpeningTag(HtmlTokenizer.HtmlTag tag, Object parentStyle) {
+                return null;
+            }
+
+            @Override
+            public void onText(String text, Object style) {
+                sb.append(text);
+            }
+        });
+        return sb.toString();
     }
 
     public static String unescapeHtml(String s) {
@@ -18,120 +32,126 @@ public final class WebTextUtil {
     }
 
     public static String unescapeUnicodes(String s) {
-        StringBuilder result;
-        int index;
-        String unicode;
-        char[] chars;
-
-        if (!s.contains("\\u"))
+        int index = s.indexOf("\\u");
+        if (index < 0)
             return s;
-
-        result = new StringBuilder();
-        while ((index = s.indexOf("\\u")) > -1) {
-            result.append(s, 0, index);
-            s = s.substring(index + 2);
-            if (s.length() >= 4) {
-                unicode = s.substring(0, 4).toUpperCase();
-                s = s.substring(4);
-                chars = Character.toChars(Integer.parseInt(unicode, 16));
-                for (char c : chars)
-                    result.append(c);
-            } else {
+        int len = s.length(), start = 0;
+        StringBuilder result = new StringBuilder(len);
+        for (; index >= 0; index = s.indexOf("\\u", index + 1)) {
+            result.append(s, start, index);
+            int unicodeEnd = appendUnicode(s, index, len, result);
+            if (unicodeEnd < 0) { // Not a valid unicode escape => kept as is
                 result.append("\\u");
+                start = index + 2;
+            } else {
+                start = unicodeEnd;
+                index = unicodeEnd - 1;
             }
         }
-        result.append(s);
-
+        result.append(s, start, len);
         return result.toString();
     }
 
+    // Appends the character of the unicode escape (\\uXXXX) starting at backslashIndex, and returns the index after
+    // that escape, or -1 if this is not a valid unicode escape (in which case nothing is appended)
+    static int appendUnicode(String input, int backslashIndex, int end, StringBuilder out) {
+        int hexStart = backslashIndex + 2, hexEnd = hexStart + 4;
+        if (hexEnd > end || input.charAt(backslashIndex + 1) != 'u')
+            return -1;
+        int codePoint = 0;
+        for (int i = hexStart; i < hexEnd; i++) {
+            int digit = Character.digit(input.charAt(i), 16);
+            if (digit < 0)
+                return -1;
+            codePoint = codePoint * 16 + digit;
+        }
+        out.append((char) codePoint);
+        return hexEnd;
+    }
+
     public static String unescapeEntities(String input) { // modified version of https://gist.github.com/MarkJeronimus/798c452582e64410db769933ec71cfb7
         StringBuilder result = null;
-
-        int len      = input.length();
-        int start    = 0;
-        int escStart = 0;
-        while (true) {
-            // Look for '&'
-            while (escStart < len && input.charAt(escStart) != '&')
-                escStart++;
-
-            if (escStart == len)
-                break;
-
-            escStart++;
-
-            // Found '&'. Look for ';'
-            int escEnd = escStart;
-            while (escEnd < len && escEnd - escStart < MAX_ESCAPE + 1 && input.charAt(escEnd) != ';')
-                escEnd++;
-
-            if (escEnd == len)
-                break;
-
-            // Bail if this is not a potential HTML entity.
-            if (escEnd - escStart < MIN_ESCAPE || escEnd - escStart == MAX_ESCAPE + 1) {
-                escStart++;
-                continue;
+        int len   = input.length();
+        int start = 0;
+        for (int ampIndex = input.indexOf('&'); ampIndex >= 0; ampIndex = input.indexOf('&', ampIndex + 1)) {
+            if (result == null)
+                result = new StringBuilder(len);
+            // The text since the previous entity is appended only if this is an HTML entity (otherwise it will be
+            // appended with the next text), so each character is appended only once
+            int entityEnd = appendEntity(input, start, ampIndex, len, result);
+            if (entityEnd >= 0) {
+                start = entityEnd;
+                ampIndex = entityEnd - 1;
             }
+        }
 
-            // Check the kind of entity
-            if (input.charAt(escStart) == '#') {
-                // Numeric entity
-                int numStart = escStart + 1;
-                int radix;
-
-                char firstChar = input.charAt(numStart);
-                if (firstChar == 'x' || firstChar == 'X') {
-                    numStart++;
-                    radix = 16;
-                } else {
-                    radix = 10;
-                }
-
-                try {
-                    int entityValue = Integer.parseInt(input.substring(numStart, escEnd), radix);
+        if (start > 0) {
+            result.append(input, start, len);
+            return result.toString();
+        }
 
-                    if (result == null)
-                        result = new StringBuilder(input.length());
+        return input;
+    }
 
-                    result.append(input, start, escStart - 1);
+    // Appends the character(s) of the HTML entity starting at ampIndex, and returns the index after that entity, or -1
+    // if this is not an HTML entity (in which case nothing is appended)
+    static int appendEntity(String input, int ampIndex, int end, StringBuilder out) {
+        return appendEntity(input, ampIndex, ampIndex, end, out);
+    }
 
-                    if (entityValue > 0xFFFF)
-                        result.append(Character.toChars(entityValue));
-                    else
-                        result.append((char)entityValue);
-                } catch (NumberFormatException ignored) {
-                    escStart++;
-                    continue;
-                }
+    // Same as above, but also appends the text between textStart and ampIndex before the entity character(s) (also only
+    // if this is an HTML entity)
+    private static int appendEntity(String input, int textStart, int ampIndex, int end, StringBuilder out) {
+        int escStart = ampIndex + 1;
+
+        // Look for ';'
+        int escEnd = escStart;
+        while (escEnd < end && escEnd - escStart < MAX_ESCAPE + 1 && input.charAt(escEnd) != ';')
+            escEnd++;
+
+        // Bail if this is not a potential HTML entity.
+        if (escEnd == end || escEnd - escStart < MIN_ESCAPE || escEnd - escStart == MAX_ESCAPE + 1)
+            return -1;
+
+        // Check the kind of entity
+        if (input.charAt(escStart) == '#') {
+            // Numeric entity
+            int numStart = escStart + 1;
+            int radix;
+
+            char firstChar = input.charAt(numStart);
+            if (firstChar == 'x' || firstChar == 'X') {
+                numStart++;
+                radix = 16;
             } else {
-                // Named entity
-                int[] codePoints = LOOKUP_MAP.get(input.substring(escStart, escEnd));
-                if (codePoints == null) {
-                    escStart++;
-                    continue;
-                }
-
-                if (result == null)
-                    result = new StringBuilder(input.length());
-
-                result.append(input, start, escStart - 1);
-                for (int codePoint : codePoints)
-                    result.appendCodePoint(codePoint);
+                radix = 10;
             }
 
-            // Skip escape
-            start = escEnd + 1;
-            escStart = start;
-        }
+            int entityValue;
+            try {
+                entityValue = Integer.parseInt(input.substring(numStart, escEnd), radix);
+            } catch (NumberFormatException ignored) {
+                return -1;
+            }
 
-        if (result != null) {
-            result.append(input, start, len);
-            return result.toString();
+            out.append(input, textStart, ampIndex);
+            if (entityValue > 0xFFFF)
+                out.append(Character.toChars(entityValue));
+            else
+                out.append((char)entityValue);
+        } else {
+            // Named entity
+            int[] codePoints = LOOKUP_MAP.get(input.substring(escStart, escEnd));
+            if (codePoints == null)
+                return -1;
+
+            out.append(input, textStart, ampIndex);
+            for (int codePoint : codePoints)
+                out.appendCodePoint(codePoint);
         }
 
-        return input;
+        // Skip escape
+        return escEnd + 1;
     }
 
     // Tables optimized for smallest .class size (without resorting to compression)
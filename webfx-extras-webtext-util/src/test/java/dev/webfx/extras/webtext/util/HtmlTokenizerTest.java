@@ -0,0 +1,85 @@
+package dev.webfx.extras.webtext.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Bruno Salmon
+ */
+class HtmlTokenizerTest {
+
+    // Listener recording the tokens as a string, the style being the path of the open tags (ex: "/p/b")
+    private static String tokenize(HtmlTokenizer tokenizer, String html) {
+        StringBuilder sb = new StringBuilder();
+        tokenizer.tokenize(html, "", new HtmlTokenizer.Listener<String>() {
+            @Override
+            public String onOpeningTag(HtmlTokenizer.HtmlTag tag, String parentStyle) {
+                sb.append('<').append(tag.getName());
+                String color = tag.getAttribute("color");
+                if (color != null)
+                    sb.append(" color=").append(color);
+                sb.append('>');
+                return parentStyle + "/" + tag.getName();
+            }
+
+            @Override
+            public void onClosingTag(String tagName, String style) {
+                sb.append("</").append(tagName).append('>');
+            }
+
+            @Override
+            public void onText(String text, String style) {
+                sb.append('[').append(text).append('@').append(style).append(']');
+            }
+        });
+        return sb.toString();
+    }
+
+    @Test
+    void textRunsHaveTheStyleOfTheirEnclosingTags() {
+        HtmlTokenizer tokenizer = new HtmlTokenizer(false, false);
+        assertEquals("[a@]<b>[b@/b]<i>[c@/b/i]</i></b>[d@]", tokenize(tokenizer, "a<b>b<i>c</i></b>d"));
+    }
+
+    @Test
+    void voidAndSelfClosingTagsAreClosedImmediately() {
+        HtmlTokenizer tokenizer = new HtmlTokenizer(false, false);
+        assertEquals("[a@]<br></br>[b@]<span></span>[c@]", tokenize(tokenizer, "a<br>b<span/>c"));
+    }
+
+    @Test
+    void malformedHtmlIsTolerated() {
+        HtmlTokenizer tokenizer = new HtmlTokenizer(false, false);
+        // Unmatched closing tag ignored
+        assertEquals("[a@]<b>[b@/b]</b>", tokenize(tokenizer, "a</i><b>b</b>"));
+        // Unclosed tag applies to the following text, and is closed at the end of its parent or document
+        assertEquals("<p><b>[a@/p/b]</b></p>[b@]<i>[c@/i]</i>", tokenize(tokenizer, "<p><b>a</p>b<i>c"));
+        // A '<' that doesn't start a tag is text
+        assertEquals("[1 < 2 <@]", tokenize(tokenizer, "1 < 2 <"));
+    }
+
+    @Test
+    void unterminatedOpeningTagIsText() {
+        HtmlTokenizer tokenizer = new HtmlTokenizer(false, false);
+        // No '>' at all after the '<'
+        assertEquals("[x<y and more@]", tokenize(tokenizer, "x<y and more"));
+        // Some tags after, but not for that '<'
+        assertEquals("<b>[x@/b]</b>[<y and more@]", tokenize(tokenizer, "<b>x</b><y and more"));
+        assertEquals("[a<b c=\"d>e@]", tokenize(tokenizer, "a<b c=\"d>e"));
+    }
+
+    @Test
+    void attributesAreReadWithQuotesAndEntities() {
+        HtmlTokenizer tokenizer = new HtmlTokenizer(false, false);
+        assertEquals("<font color=red></font>", tokenize(tokenizer, "<font size=2 color='red'></font>"));
+        assertEquals("<font color=a>b></font>", tokenize(tokenizer, "<font color=\"a>b\"></font>"));
+        assertEquals("<font color=&></font>", tokenize(tokenizer, "<font color=\" &amp; \"></font>"));
+    }
+
+    @Test
+    void commentsAreSkippedAndTextIsUnescaped() {
+        HtmlTokenizer tokenizer = new HtmlTokenizer(true, true);
+        assertEquals("[a @][ b < \u00e9 & c@]", tokenize(tokenizer, "a <!-- <b>x</b> -->\n  b &lt; \\u00e9 & c"));
+    }
+}
@@ -0,0 +1,52 @@
+package dev.webfx.extras.webtext.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Bruno Salmon
+ */
+class WebTextUtilTest {
+
+    @Test
+    void unescapeEntities() {
+        assertEquals("a < b & \"c\"", WebTextUtil.unescapeEntities("a &lt; b &amp; &quot;c&quot;"));
+        assertEquals("A\u00e9\u20ac", WebTextUtil.unescapeEntities("&#65;&eacute;&#x20AC;"));
+        assertEquals("\uD83D\uDE00", WebTextUtil.unescapeEntities("&#x1F600;"));
+    }
+
+    @Test
+    void bareAmpersandsAreKept() {
+        String noEntity = "Tom & Jerry";
+        assertSame(noEntity, WebTextUtil.unescapeEntities(noEntity)); // no copy if nothing to unescape
+        assertEquals("Tom & Jerry <", WebTextUtil.unescapeEntities("Tom & Jerry &lt;"));
+        assertEquals("& &unknown; &#xZZ; &", WebTextUtil.unescapeEntities("& &unknown; &#xZZ; &amp;"));
+        assertEquals("&", WebTextUtil.unescapeEntities("&"));
+        assertEquals("x&amp&", WebTextUtil.unescapeEntities("x&amp&")); // no semicolon => not an entity
+    }
+
+    @Test
+    void manyBareAmpersandsAreUnescapedInLinearTime() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 200_000; i++)
+            sb.append("a&");
+        String input = sb.append("&lt;").toString();
+        String output = WebTextUtil.unescapeEntities(input);
+        assertEquals(input.length() - 3, output.length());
+        assertTrue(output.endsWith("a&<"));
+    }
+
+    @Test
+    void unescapeUnicodes() {
+        assertEquals("caf\u00e9", WebTextUtil.unescapeUnicodes("caf\\u00e9"));
+        assertEquals("\\u00g9 \\u12", WebTextUtil.unescapeUnicodes("\\u00g9 \\u12")); // invalid escapes kept as is
+        assertEquals("\u00e9\u00e8", WebTextUtil.unescapeUnicodes("\\u00e9\\u00e8"));
+    }
+
+    @Test
+    void htmlToPlainText() {
+        assertEquals("Hello world & co", WebTextUtil.htmlToPlainText("<p>Hello <b>world</b> &amp; co</p>"));
+        assertNull(WebTextUtil.htmlToPlainText(null));
+    }
+}